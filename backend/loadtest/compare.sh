@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Compares platform-thread and virtual-thread mode at 200/2000/10000 concurrent clients.
+# Needs k6, a built jar (./mvnw package) and the usual SM_DB_URL / MYSQL_DB_* / SM_JWT_SECRET env,
+# plus ADMIN_EMAIL / ADMIN_PASSWORD of an existing admin. Results go to loadtest/results.csv.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=$(ls target/*.jar | grep -v plain | head -n 1)
+PORT=${SERVER_PORT:-8080}
+CLIENTS=${CLIENTS:-"200 2000 10000"}
+RESULTS=loadtest/results.csv
+
+echo "mode,vus,req_per_s,p99_ms,error_rate" > "$RESULTS"
+
+for mode in platform vthreads; do
+  profile=""
+  if [ "$mode" = "vthreads" ]; then
+    profile="--spring.profiles.active=vthreads"
+  fi
+
+  java -Djdk.tracePinnedThreads=short -jar "$JAR" $profile > "loadtest/app-$mode.log" 2>&1 &
+  app=$!
+  trap 'kill $app 2>/dev/null || true' EXIT
+  until curl -s -o /dev/null "http://localhost:$PORT/api/admins/login"; do sleep 1; done
+
+  for vus in $CLIENTS; do
+    k6 run --quiet -e BASE_URL="http://localhost:$PORT" -e VUS="$vus" -e MODE="$mode" \
+      -e ADMIN_EMAIL="$ADMIN_EMAIL" -e ADMIN_PASSWORD="$ADMIN_PASSWORD" \
+      loadtest/students.js | tail -n 1 >> "$RESULTS"
+  done
+
+  kill $app
+  wait $app 2>/dev/null || true
+done
+
+column -s, -t "$RESULTS"
@@ -0,0 +1,52 @@
+// k6 load test: admin token, then a mix of student listing and name search.
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=2000 -e ADMIN_EMAIL=... -e ADMIN_PASSWORD=... students.js
+import http from "k6/http";
+import { check } from "k6";
+
+const BASE_URL = __ENV.BASE_URL || "http://localhost:8080";
+const VUS = Number(__ENV.VUS || 200);
+const DURATION = __ENV.DURATION || "60s";
+const MODE = __ENV.MODE || "unknown";
+
+export const options = {
+  scenarios: {
+    clients: {
+      executor: "constant-vus",
+      vus: VUS,
+      duration: DURATION,
+    },
+  },
+  summaryTrendStats: ["avg", "p(50)", "p(95)", "p(99)", "max"],
+};
+
+export function setup() {
+  const res = http.post(
+    `${BASE_URL}/api/admins/login`,
+    JSON.stringify({ email: __ENV.ADMIN_EMAIL, password: __ENV.ADMIN_PASSWORD }),
+    { headers: { "Content-Type": "application/json" } },
+  );
+  check(res, { "login ok": (r) => r.status === 200 });
+  return { token: res.json("data.token") };
+}
+
+export default function (data) {
+  const params = { headers: { Authorization: `Bearer ${data.token}` } };
+  const res =
+    Math.random() < 0.8
+      ? http.get(`${BASE_URL}/api/students?page=0&size=20&sort=name,asc`, params)
+      : http.get(`${BASE_URL}/api/students/search?name=an&page=0&size=20`, params);
+  check(res, { "status 200": (r) => r.status === 200 });
+}
+
+// One CSV line per run: mode,vus,requests/s,p99 ms,error rate
+export function handleSummary(data) {
+  const m = data.metrics;
+  const line = [
+    MODE,
+    VUS,
+    m.http_reqs.values.rate.toFixed(1),
+    m.http_req_duration.values["p(99)"].toFixed(1),
+    m.http_req_failed.values.rate.toFixed(4),
+  ].join(",");
+  return { stdout: line + "\n" };
+}
@@ -0,0 +1,81 @@
+package com.example.StudentMangamentBackEnd.benchmarks;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentResponseDTO;
+import com.example.StudentMangamentBackEnd.response.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+// Serialization of a student listing response, with the mapper configured as in the application
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+  @Param({"20", "100"})
+  private int pageSize;
+
+  private ObjectMapper objectMapper;
+  private ApiResponse<Page<StudentResponseDTO>> response;
+
+  @Setup
+  public void setUp() {
+    objectMapper =
+        Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    List<StudentResponseDTO> students = new ArrayList<>(pageSize);
+    for (long i = 0; i < pageSize; i++) {
+      students.add(
+          new StudentResponseDTO(
+              i,
+              "Student " + i,
+              "student" + i + "@school.test",
+              "S" + i,
+              "5550100" + (100 + i),
+              i + " Main Street",
+              "Science",
+              LocalDate.of(2024, 9, 1),
+              19,
+              "A",
+              7L,
+              "Ada Lovelace",
+              0L,
+              0L));
+    }
+    response =
+        new ApiResponse<>(
+            200,
+            "Students fetched successfully",
+            new PageImpl<>(students, PageRequest.of(0, pageSize), 10_000),
+            LocalDateTime.of(2025, 1, 1, 12, 0));
+  }
+
+  @Benchmark
+  public byte[] serialize() throws Exception {
+    return objectMapper.writeValueAsBytes(response);
+  }
+}
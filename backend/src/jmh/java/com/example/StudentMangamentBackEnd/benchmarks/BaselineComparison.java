@@ -0,0 +1,89 @@
+package com.example.StudentMangamentBackEnd.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Compares a JMH JSON result with a baseline result and fails when any benchmark regressed by more
+// than the threshold percentage (plus the combined score error, so noise is not a regression).
+//   args: <baseline.json> <current.json> [threshold percent, default 10]
+public final class BaselineComparison {
+
+  private record Score(String mode, double score, double error, String unit) {}
+
+  private BaselineComparison() {}
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("usage: BaselineComparison <baseline.json> <current.json> [threshold %]");
+      System.exit(2);
+    }
+    Map<String, Score> baseline = read(new File(args[0]));
+    Map<String, Score> current = read(new File(args[1]));
+    double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+    int regressions = 0;
+    for (Map.Entry<String, Score> entry : new TreeMap<>(current).entrySet()) {
+      Score now = entry.getValue();
+      Score before = baseline.get(entry.getKey());
+      if (before == null) {
+        System.out.printf("NEW        %s %.3f %s%n", entry.getKey(), now.score(), now.unit());
+        continue;
+      }
+
+      // Positive change = slower, whichever direction the mode counts in
+      boolean higherIsBetter = now.mode().equals("thrpt");
+      double change = (now.score() - before.score()) / before.score() * 100.0;
+      double slowdown = higherIsBetter ? -change : change;
+      double noise = (now.error() + before.error()) / before.score() * 100.0;
+      boolean regressed = slowdown > threshold + noise;
+      if (regressed) {
+        regressions++;
+      }
+      System.out.printf(
+          "%-10s %s %.3f -> %.3f %s (%+.1f%%, noise +/-%.1f%%)%n",
+          regressed ? "REGRESSION" : "ok",
+          entry.getKey(),
+          before.score(),
+          now.score(),
+          now.unit(),
+          slowdown,
+          noise);
+    }
+
+    if (regressions > 0) {
+      System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+      System.exit(1);
+    }
+  }
+
+  private static Map<String, Score> read(File file) throws IOException {
+    Map<String, Score> scores = new LinkedHashMap<>();
+    for (JsonNode result : new ObjectMapper().readTree(file)) {
+      StringBuilder key = new StringBuilder(result.get("benchmark").asText());
+      JsonNode params = result.get("params");
+      if (params != null) {
+        Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+        while (fields.hasNext()) {
+          Map.Entry<String, JsonNode> param = fields.next();
+          key.append(':').append(param.getKey()).append('=').append(param.getValue().asText());
+        }
+      }
+      JsonNode metric = result.get("primaryMetric");
+      double error = metric.get("scoreError").asDouble();
+      scores.put(
+          key.toString(),
+          new Score(
+              result.get("mode").asText(),
+              metric.get("score").asDouble(),
+              Double.isNaN(error) ? 0.0 : error,
+              metric.get("scoreUnit").asText()));
+    }
+    return scores;
+  }
+}
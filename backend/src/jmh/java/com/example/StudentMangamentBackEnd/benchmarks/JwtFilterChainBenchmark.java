@@ -0,0 +1,114 @@
+package com.example.StudentMangamentBackEnd.benchmarks;
+
+import com.example.StudentMangamentBackEnd.StudentMangamentBackEndApplication;
+import com.example.StudentMangamentBackEnd.model.Admin;
+import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.repository.AdminRepository;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.security.JwtUtil;
+import jakarta.servlet.Filter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.ConfigurableWebApplicationContext;
+
+// A full authenticated request (security filter chain, JWT filter, controller, H2 query and JSON)
+// against the application started with the test configuration's in-memory database. The response
+// cache is turned off, or every call after the first would only replay the cached page.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterChainBenchmark {
+
+  private static final int STUDENTS = 100;
+
+  // false loads the user from the database on every request
+  @Param({"true", "false"})
+  private boolean stateless;
+
+  private ConfigurableWebApplicationContext context;
+  private MockMvc mockMvc;
+  private String authorization;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        (ConfigurableWebApplicationContext)
+            new SpringApplicationBuilder(StudentMangamentBackEndApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                    "server.port=0",
+                    "security.jwt.stateless=" + stateless,
+                    "cache.responses.max-size=0",
+                    "spring.jpa.properties.hibernate.generate_statistics=false",
+                    "logging.level.root=WARN")
+                .run();
+
+    Admin admin = new Admin();
+    admin.setName("Bench Admin");
+    admin.setEmail("bench@school.test");
+    admin.setPassword("unused");
+    context.getBean(AdminRepository.class).save(admin);
+
+    List<Student> students = new ArrayList<>();
+    for (int i = 0; i < STUDENTS; i++) {
+      Student student = new Student();
+      student.setName("Student " + i);
+      student.setEmail("student" + i + "@school.test");
+      student.setStudentId("S" + i);
+      student.setDepartment("Science");
+      students.add(student);
+    }
+    context.getBean(StudentRepository.class).saveAll(students);
+
+    mockMvc =
+        MockMvcBuilders.webAppContextSetup(context)
+            .addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+            .build();
+    authorization =
+        "Bearer " + context.getBean(JwtUtil.class).generateToken("bench@school.test", "ADMIN", 0);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public int listStudents() throws Exception {
+    int status =
+        mockMvc
+            .perform(
+                MockMvcRequestBuilders.get("/api/students?page=0&size=20&sort=name,asc")
+                    .header(HttpHeaders.AUTHORIZATION, authorization))
+            .andReturn()
+            .getResponse()
+            .getStatus();
+    if (status != 200) {
+      throw new IllegalStateException("Unexpected status " + status);
+    }
+    return status;
+  }
+}
@@ -0,0 +1,47 @@
+package com.example.StudentMangamentBackEnd.benchmarks;
+
+import com.example.StudentMangamentBackEnd.security.JwtUtil;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Token issue and verification; cacheSize 0 measures the uncached signature check
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+  @Param({"0", "10000"})
+  private long cacheSize;
+
+  private JwtUtil jwtUtil;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtUtil = new JwtUtil(cacheSize);
+    token = jwtUtil.generateToken("admin@school.test", "ADMIN", 0);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return jwtUtil.generateToken("admin@school.test", "ADMIN", 0);
+  }
+
+  @Benchmark
+  public String extractEmail() {
+    return jwtUtil.extractEmail(token);
+  }
+}
@@ -0,0 +1,105 @@
+package com.example.StudentMangamentBackEnd.benchmarks;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentResponseDTO;
+import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherResponseDTO;
+import com.example.StudentMangamentBackEnd.Services.student.StudentServiceImpl;
+import com.example.StudentMangamentBackEnd.Services.teacher.TeacherServiceImpl;
+import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.model.Teacher;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Entity -> DTO mapping of the services; the mappers are private, so they are called through
+// method handles resolved once (constant-folded by the JIT like a direct call).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+  private static final MethodHandle STUDENT_MAPPER;
+  private static final MethodHandle TEACHER_MAPPER;
+
+  static {
+    try {
+      STUDENT_MAPPER =
+          MethodHandles.privateLookupIn(StudentServiceImpl.class, MethodHandles.lookup())
+              .findVirtual(
+                  StudentServiceImpl.class,
+                  "mapToResponse",
+                  MethodType.methodType(StudentResponseDTO.class, Student.class));
+      TEACHER_MAPPER =
+          MethodHandles.privateLookupIn(TeacherServiceImpl.class, MethodHandles.lookup())
+              .findVirtual(
+                  TeacherServiceImpl.class,
+                  "mapToResponse",
+                  MethodType.methodType(TeacherResponseDTO.class, Teacher.class, List.class));
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private StudentServiceImpl studentService;
+  private TeacherServiceImpl teacherService;
+  private Student student;
+  private Teacher teacher;
+  private List<Long> studentIds;
+
+  @Setup
+  public void setUp() {
+    // The mappers touch no collaborators
+    studentService = new StudentServiceImpl(null, null, null, null, null, null, null, null, null);
+    teacherService =
+        new TeacherServiceImpl(null, null, null, null, null, null, null, null, null, null, null);
+
+    teacher = new Teacher();
+    teacher.setId(7L);
+    teacher.setName("Ada Lovelace");
+    teacher.setEmail("ada@school.test");
+    teacher.setSubject("Math");
+    teacher.setDepartment("Science");
+    teacher.setAge(36);
+    teacher.setPhone("5550100200");
+
+    student = new Student();
+    student.setId(42L);
+    student.setName("Alice Smith");
+    student.setEmail("alice@school.test");
+    student.setStudentId("S42");
+    student.setPhone("5550100300");
+    student.setAddress("1 Main Street");
+    student.setDepartment("Science");
+    student.setEnrollmentDate(LocalDate.of(2024, 9, 1));
+    student.setAge(19);
+    student.setGrade("A");
+    student.setTeacher(teacher);
+
+    studentIds = List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+  }
+
+  @Benchmark
+  public StudentResponseDTO studentToResponse() throws Throwable {
+    return (StudentResponseDTO) STUDENT_MAPPER.invokeExact(studentService, student);
+  }
+
+  @Benchmark
+  public TeacherResponseDTO teacherToResponse() throws Throwable {
+    return (TeacherResponseDTO) TEACHER_MAPPER.invokeExact(teacherService, teacher, studentIds);
+  }
+}
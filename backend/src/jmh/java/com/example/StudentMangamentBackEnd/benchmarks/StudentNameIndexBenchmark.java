@@ -0,0 +1,72 @@
+package com.example.StudentMangamentBackEnd.benchmarks;
+
+import com.example.StudentMangamentBackEnd.search.StudentNameIndex;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+// The third page of 20 search hits over a million names, for one and two character queries
+// (gram postings), a trigram, and longer queries verified against their rarest trigram
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class StudentNameIndexBenchmark {
+
+  private static final int NAMES = 1_000_000;
+
+  private static final String[] FIRST_NAMES = {
+    "Ada", "Alan", "Anna", "Barbara", "Brian", "Carol", "Charles", "Dennis", "Donald", "Edsger",
+    "Frances", "Grace", "Hannah", "Ivan", "Jean", "John", "Joanna", "Ken", "Leslie", "Linus",
+    "Margaret", "Niklaus", "Olga", "Radia", "Shafi", "Sophie", "Tim", "Ursula", "Whitfield",
+        "Yukihiro"
+  };
+
+  private static final String[] LAST_NAMES = {
+    "Allen", "Backus", "Berners-Lee", "Cerf", "Dijkstra", "Engelbart", "Goldwasser", "Hamilton",
+    "Hopper", "Knuth", "Lamport", "Liskov", "Lovelace", "McCarthy", "Matsumoto", "Perlman",
+    "Ritchie", "Smith", "Stroustrup", "Sutherland", "Thompson", "Torvalds", "Turing", "Wirth"
+  };
+
+  @Param({"a", "an", "ann", "smith", "anna smi"})
+  private String query;
+
+  @Param({"id", "name", "relevance"})
+  private String sort;
+
+  private StudentNameIndex index;
+  private Sort order;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    // Outside a transaction puts apply at once; the repository is only read by rebuild()
+    index = new StudentNameIndex(null, true, Duration.ofMinutes(5));
+    Random random = new Random(42);
+    for (long id = 1; id <= NAMES; id++) {
+      String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+      String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+      index.put(id, first + " " + last);
+    }
+    order = Sort.by(sort);
+  }
+
+  @Benchmark
+  public StudentNameIndex.Matches thirdPage() {
+    return index.search(query, order, 40, 20);
+  }
+}
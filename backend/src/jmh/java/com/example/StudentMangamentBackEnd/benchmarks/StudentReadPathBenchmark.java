@@ -0,0 +1,155 @@
+package com.example.StudentMangamentBackEnd.benchmarks;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentFilterDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentResponseDTO;
+import com.example.StudentMangamentBackEnd.Services.student.StudentServiceImpl;
+import com.example.StudentMangamentBackEnd.StudentMangamentBackEndApplication;
+import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.model.Teacher;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.StudentSpecifications;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// One page of student responses read through the join-fetched DTO projection (the path the
+// listings use) and through managed entities mapped by StudentServiceImpl.mapToResponse (the
+// path they replaced, including the count query findAll(Pageable) runs), each in a read-only
+// transaction against the test configuration's H2 database. Run with -prof gc for the
+// allocation per page:
+//   mvn -Pjmh verify -DskipTests -Djmh.args="StudentReadPath -prof gc"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentReadPathBenchmark {
+
+  private static final int TEACHERS = 20;
+  private static final int STUDENTS = 2_000;
+
+  private static final MethodHandle STUDENT_MAPPER;
+
+  static {
+    try {
+      STUDENT_MAPPER =
+          MethodHandles.privateLookupIn(StudentServiceImpl.class, MethodHandles.lookup())
+              .findVirtual(
+                  StudentServiceImpl.class,
+                  "mapToResponse",
+                  MethodType.methodType(StudentResponseDTO.class, Student.class));
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  @Param({"20", "100"})
+  private int pageSize;
+
+  private ConfigurableApplicationContext context;
+  private StudentRepository studentRepository;
+  private StudentServiceImpl mapper;
+  private TransactionTemplate readOnly;
+  private Specification<Student> everyStudent;
+  private Pageable page;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(StudentMangamentBackEndApplication.class)
+            .web(WebApplicationType.SERVLET)
+            .properties(
+                "server.port=0",
+                "spring.jpa.properties.hibernate.generate_statistics=false",
+                "logging.level.root=WARN")
+            .run();
+    studentRepository = context.getBean(StudentRepository.class);
+
+    List<Teacher> teachers = new ArrayList<>();
+    for (int t = 0; t < TEACHERS; t++) {
+      Teacher teacher = new Teacher();
+      teacher.setName("Teacher " + t);
+      teacher.setEmail("teacher" + t + "@school.test");
+      teacher.setSubject("Math");
+      teacher.setDepartment("Science");
+      teacher.setPassword("unused");
+      teachers.add(teacher);
+    }
+    teachers = context.getBean(TeacherRepository.class).saveAll(teachers);
+
+    List<Student> students = new ArrayList<>();
+    for (int i = 0; i < STUDENTS; i++) {
+      Student student = new Student();
+      student.setName("Student " + i);
+      student.setEmail("student" + i + "@school.test");
+      student.setStudentId("S" + i);
+      student.setDepartment("Science");
+      student.setEnrollmentDate(LocalDate.of(2024, 9, 1));
+      student.setAge(19);
+      student.setGrade("A");
+      student.setTeacher(teachers.get(i % TEACHERS));
+      students.add(student);
+    }
+    studentRepository.saveAll(students);
+
+    // The mapper touches no collaborators
+    mapper = new StudentServiceImpl(null, null, null, null, null, null, null, null, null);
+    readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    readOnly.setReadOnly(true);
+    everyStudent = StudentSpecifications.matching(new StudentFilterDTO());
+    page = PageRequest.of(1, pageSize, Sort.by("id"));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<StudentResponseDTO> projection() {
+    return readOnly.execute(
+        status -> studentRepository.findResponses(everyStudent, page).getContent());
+  }
+
+  @Benchmark
+  public List<StudentResponseDTO> entitiesMapped() {
+    return readOnly.execute(
+        status -> studentRepository.findAll(page).map(this::toResponse).getContent());
+  }
+
+  private StudentResponseDTO toResponse(Student student) {
+    try {
+      return (StudentResponseDTO) STUDENT_MAPPER.invokeExact(mapper, student);
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -7,22 +7,30 @@ import com.example.StudentMangamentBackEnd.DTO.admin.AdminResponseDTO;
 import com.example.StudentMangamentBackEnd.DTO.admin.AdminUpdateDTO;
 import com.example.StudentMangamentBackEnd.Services.admin.AdminService;
 import com.example.StudentMangamentBackEnd.response.ApiResponse;
+import com.example.StudentMangamentBackEnd.response.ETags;
+import com.example.StudentMangamentBackEnd.security.LoginExecutor;
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
-import org.springframework.data.domain.Page;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/admins")
 public class AdminController {
 
   private final AdminService adminService;
+  private final LoginExecutor loginExecutor;
 
-  public AdminController(AdminService adminService) {
+  public AdminController(AdminService adminService, LoginExecutor loginExecutor) {
     this.adminService = adminService;
+    this.loginExecutor = loginExecutor;
   }
 
   // Api response is used for better presentation and front end mostly reads objects "data "
@@ -34,40 +42,62 @@ public class AdminController {
   }
 
   @PostMapping("/login")
-  public ApiResponse<AdminLoginResponseDTO> loginAdmin(@Valid @RequestBody AdminLoginDTO dto) {
-
-    AdminLoginResponseDTO response = adminService.loginAdmin(dto);
-
-    return new ApiResponse<>(200, "Login successful", response, LocalDateTime.now());
+  public CompletableFuture<ApiResponse<AdminLoginResponseDTO>> loginAdmin(
+      @Valid @RequestBody AdminLoginDTO dto) {
+
+    // Runs on the bounded login executor, away from the request threads
+    return loginExecutor.submit(
+        () ->
+            new ApiResponse<>(
+                200, "Login successful", adminService.loginAdmin(dto), LocalDateTime.now()));
   }
 
+  // total=false skips the count and only reports whether another page follows
   @GetMapping
-  public ApiResponse<Object> getAllAdmins(
+  public ResponseEntity<ApiResponse<Object>> getAllAdmins(
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "10") int size,
-      @RequestParam(defaultValue = "id,asc") String sort) {
+      @RequestParam(defaultValue = "id,asc") String sort,
+      @RequestParam(defaultValue = "true") boolean total) {
 
     String[] sortParams = sort.split(",");
     Sort.Direction direction = Sort.Direction.fromString(sortParams[1].toUpperCase());
     Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortParams[0]));
-    Page<AdminResponseDTO> response = adminService.getAllAdmins(pageable);
+    Slice<AdminResponseDTO> response =
+        total ? adminService.getAllAdmins(pageable) : adminService.getAdminSlice(pageable);
 
-    return new ApiResponse<>(200, "Admins fetched successfully", response, LocalDateTime.now());
+    return ETags.ok(
+        ETags.ofSlice(response, AdminResponseDTO::etag),
+        new ApiResponse<>(200, "Admins fetched successfully", response, LocalDateTime.now()));
   }
 
   @GetMapping("/{id}")
-  public ApiResponse<AdminResponseDTO> getAdminById(@PathVariable Long id) {
-
-    return new ApiResponse<>(
-        200, "Admin fetched successfully", adminService.getAdminById(id), LocalDateTime.now());
+  public ResponseEntity<ApiResponse<AdminResponseDTO>> getAdminById(
+      @PathVariable Long id, WebRequest request) {
+
+    // If-None-Match is answered from the version column without loading the admin
+    if (ETags.notModified(request, () -> adminService.getAdminEtag(id))) {
+      return null;
+    }
+    AdminResponseDTO admin = adminService.getAdminById(id);
+
+    return ETags.ok(
+        admin.etag(),
+        new ApiResponse<>(200, "Admin fetched successfully", admin, LocalDateTime.now()));
   }
 
+  // If-Match (optional) rejects the update with 412 when the admin changed since it was read
   @PutMapping("/{id}")
   public ApiResponse<AdminResponseDTO> updateAdmin(
-      @PathVariable Long id, @Valid @RequestBody AdminUpdateDTO dto) {
+      @PathVariable Long id,
+      @Valid @RequestBody AdminUpdateDTO dto,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
     return new ApiResponse<>(
-        200, "Admin updated successfully", adminService.updateAdmin(id, dto), LocalDateTime.now());
+        200,
+        "Admin updated successfully",
+        adminService.updateAdmin(id, dto, ifMatch),
+        LocalDateTime.now());
   }
 
   @DeleteMapping("/{id}")
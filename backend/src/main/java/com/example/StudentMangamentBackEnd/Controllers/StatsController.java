@@ -0,0 +1,27 @@
+package com.example.StudentMangamentBackEnd.Controllers;
+
+import com.example.StudentMangamentBackEnd.DTO.stats.StatsResponseDTO;
+import com.example.StudentMangamentBackEnd.Services.stats.StatsService;
+import com.example.StudentMangamentBackEnd.response.ApiResponse;
+import java.time.LocalDateTime;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+  private final StatsService statsService;
+
+  public StatsController(StatsService statsService) {
+    this.statsService = statsService;
+  }
+
+  @GetMapping
+  public ApiResponse<StatsResponseDTO> getStats() {
+
+    return new ApiResponse<>(
+        200, "Statistics fetched successfully", statsService.getStats(), LocalDateTime.now());
+  }
+}
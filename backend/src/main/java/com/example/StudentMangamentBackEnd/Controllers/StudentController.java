@@ -1,25 +1,52 @@
 package com.example.StudentMangamentBackEnd.Controllers;
 
+import com.example.StudentMangamentBackEnd.DTO.student.StudentBatchGetDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentDeletionResultDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentFilterDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentImportResultDTO;
 import com.example.StudentMangamentBackEnd.DTO.student.StudentRequestDTO;
 import com.example.StudentMangamentBackEnd.DTO.student.StudentResponseDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentSelectionDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentSuggestionDTO;
+import com.example.StudentMangamentBackEnd.Services.student.StudentImportFormat;
+import com.example.StudentMangamentBackEnd.Services.student.StudentImportService;
 import com.example.StudentMangamentBackEnd.Services.student.StudentService;
+import com.example.StudentMangamentBackEnd.cache.ResponseCache;
+import com.example.StudentMangamentBackEnd.export.ExportFormat;
 import com.example.StudentMangamentBackEnd.response.ApiResponse;
+import com.example.StudentMangamentBackEnd.response.BatchResult;
+import com.example.StudentMangamentBackEnd.response.CursorPage;
+import com.example.StudentMangamentBackEnd.response.ETags;
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.time.LocalDateTime;
-import org.springframework.data.domain.Page;
+import java.util.List;
+import java.util.Locale;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/students")
 public class StudentController {
   // Api response is used for better presentation and front end mostly reads objects "data "
   private final StudentService studentService;
+  private final StudentImportService studentImportService;
+  private final ResponseCache responseCache;
 
-  public StudentController(StudentService studentService) {
+  public StudentController(
+      StudentService studentService,
+      StudentImportService studentImportService,
+      ResponseCache responseCache) {
     this.studentService = studentService;
+    this.studentImportService = studentImportService;
+    this.responseCache = responseCache;
   }
 
   @PostMapping
@@ -32,54 +59,182 @@ public class StudentController {
         LocalDateTime.now());
   }
 
+  // Streams NDJSON or CSV rows into chunked batch inserts and reports per-row errors
+  @PostMapping(
+      value = "/bulk",
+      consumes = {StudentImportFormat.NDJSON_VALUE, StudentImportFormat.CSV_VALUE})
+  public ApiResponse<StudentImportResultDTO> importStudents(
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+
+    StudentImportResultDTO result =
+        studentImportService.importStudents(body, StudentImportFormat.fromContentType(contentType));
+
+    return new ApiResponse<>(200, "Student import completed", result, LocalDateTime.now());
+  }
+
+  // If-Match (optional) rejects the update with 412 when the student changed since it was read.
+  // The response is tagged with the updated version, ready for the next If-Match.
   @PutMapping("/{id}")
-  public ApiResponse<StudentResponseDTO> updateStudent(
-      @PathVariable long id, @Valid @RequestBody StudentRequestDTO dto) {
+  public ResponseEntity<ApiResponse<StudentResponseDTO>> updateStudent(
+      @PathVariable long id,
+      @Valid @RequestBody StudentRequestDTO dto,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+    StudentResponseDTO student = studentService.updateStudent(id, dto, ifMatch);
+
+    return ETags.ok(
+        student.etag(),
+        new ApiResponse<>(200, "Student updated successfully", student, LocalDateTime.now()));
+  }
+
+  // Several students by id in one request, e.g. a teacher's roster: ?ids=3,1,2. Found students
+  // come back in the order asked for, unknown ids are listed in missingIds.
+  @GetMapping(params = "ids")
+  public ApiResponse<BatchResult<StudentResponseDTO>> getStudentsByIds(
+      @RequestParam List<Long> ids) {
 
     return new ApiResponse<>(
         200,
-        "Student updated successfully",
-        studentService.updateStudent(id, dto),
+        "Students fetched successfully",
+        studentService.getStudentsByIds(ids),
         LocalDateTime.now());
   }
 
-  @GetMapping("/{id}")
-  public ApiResponse<StudentResponseDTO> getStudentById(@PathVariable long id) {
+  // The same for id lists too long for a query string
+  @PostMapping("/batch-get")
+  public ApiResponse<BatchResult<StudentResponseDTO>> batchGetStudents(
+      @Valid @RequestBody StudentBatchGetDTO dto) {
 
     return new ApiResponse<>(
         200,
-        "Student fetched successfully",
-        studentService.getStudentById(id),
+        "Students fetched successfully",
+        studentService.getStudentsByIds(dto.getIds()),
         LocalDateTime.now());
   }
 
+  @GetMapping("/{id}")
+  public ResponseEntity<ApiResponse<StudentResponseDTO>> getStudentById(
+      @PathVariable long id, WebRequest request) {
+
+    // If-None-Match is answered from the version columns without loading the student
+    if (ETags.notModified(request, () -> studentService.getStudentEtag(id))) {
+      return null;
+    }
+    StudentResponseDTO student = studentService.getStudentById(id);
+
+    return ETags.ok(
+        student.etag(),
+        new ApiResponse<>(200, "Student fetched successfully", student, LocalDateTime.now()));
+  }
+
+  // Passing "after" or "limit" switches to keyset (cursor) pagination without a count query;
+  // total=false keeps offset pages but drops their total for a hasNext-only slice. department,
+  // grade, teacherId and enrolledFrom/To filter the students; sort fields are limited to indexed
+  // ones. Pages are served from the response cache until a student or teacher changes.
   @GetMapping
-  public ApiResponse<Object> getAllStudents(
+  public ResponseEntity<byte[]> getAllStudents(
+      StudentFilterDTO filter,
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "10") int size,
-      @RequestParam(defaultValue = "id,asc") String sort) {
+      @RequestParam(defaultValue = "id,asc") String sort,
+      @RequestParam(required = false) String after,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(defaultValue = "true") boolean total) {
 
     String[] sortParams = sort.split(",");
     Sort.Direction direction = Sort.Direction.fromString(sortParams[1].toUpperCase());
-    Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortParams[0]));
-    Page<StudentResponseDTO> response = studentService.getAllStudents(pageable);
 
-    return new ApiResponse<>(200, "Students fetched successfully", response, LocalDateTime.now());
+    if (after != null || limit != null) {
+      int pageSize = limit == null ? size : limit;
+      return responseCache.get(
+          ResponseCache.key("students/after", filter, after, pageSize, sortParams[0], direction),
+          () -> {
+            CursorPage<StudentResponseDTO> response =
+                studentService.getStudentsAfter(filter, after, pageSize, sortParams[0], direction);
+            return ETags.ok(
+                ETags.ofCursorPage(response, StudentResponseDTO::etag),
+                new ApiResponse<>(
+                    200, "Students fetched successfully", response, LocalDateTime.now()));
+          });
+    }
+
+    // A matching If-None-Match gets a 304 without the page being sent
+    return responseCache.get(
+        ResponseCache.key("students", filter, page, size, sortParams[0], direction, total),
+        () -> {
+          Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortParams[0]));
+          Slice<StudentResponseDTO> response =
+              total
+                  ? studentService.getAllStudents(filter, pageable)
+                  : studentService.getStudentSlice(filter, pageable);
+          return ETags.ok(
+              ETags.ofSlice(response, StudentResponseDTO::etag),
+              new ApiResponse<>(
+                  200, "Students fetched successfully", response, LocalDateTime.now()));
+        });
   }
 
+  // sort=relevance ranks exact, prefix and word-prefix matches first
   @GetMapping("/search")
-  public ApiResponse<Object> searchStudents(
+  public ResponseEntity<byte[]> searchStudents(
       @RequestParam String name,
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "10") int size,
-      @RequestParam(defaultValue = "id,asc") String sort) {
+      @RequestParam(defaultValue = "id,asc") String sort,
+      @RequestParam(defaultValue = "true") boolean total) {
 
     String[] sortParams = sort.split(",");
-    Sort.Direction direction = Sort.Direction.fromString(sortParams[1].toUpperCase());
-    Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortParams[0]));
-    Page<StudentResponseDTO> response = studentService.searchStudentByName(name, pageable);
+    Sort.Direction direction =
+        Sort.Direction.fromString(sortParams.length > 1 ? sortParams[1].toUpperCase() : "ASC");
 
-    return new ApiResponse<>(200, "Students searched successfully", response, LocalDateTime.now());
+    // Name matching ignores case, so "Ann" and "ann" share an entry
+    return responseCache.get(
+        ResponseCache.key(
+            "students/search",
+            name.toLowerCase(Locale.ROOT),
+            page,
+            size,
+            sortParams[0],
+            direction,
+            total),
+        () -> {
+          Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortParams[0]));
+          Slice<StudentResponseDTO> response =
+              total
+                  ? studentService.searchStudentByName(name, pageable)
+                  : studentService.searchStudentSliceByName(name, pageable);
+          return ETags.ok(
+              ETags.ofSlice(response, StudentResponseDTO::etag),
+              new ApiResponse<>(
+                  200, "Students searched successfully", response, LocalDateTime.now()));
+        });
+  }
+
+  @GetMapping("/suggest")
+  public ApiResponse<List<StudentSuggestionDTO>> suggestStudents(
+      @RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+
+    return new ApiResponse<>(
+        200,
+        "Student suggestions fetched successfully",
+        studentService.suggestStudents(prefix, limit),
+        LocalDateTime.now());
+  }
+
+  // EXPORT ALL STUDENTS (streamed as the rows are read, never buffered)
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportStudents(
+      @RequestParam(defaultValue = "ndjson") String format) {
+
+    ExportFormat exportFormat = ExportFormat.fromParameter(format);
+    StreamingResponseBody body = out -> studentService.exportStudents(out, exportFormat);
+
+    return ResponseEntity.ok()
+        .contentType(exportFormat.mediaType())
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"" + exportFormat.fileName("students") + "\"")
+        .body(body);
   }
 
   @DeleteMapping("/{id}")
@@ -90,6 +245,18 @@ public class StudentController {
     return new ApiResponse<>(200, "Student deleted successfully", null, LocalDateTime.now());
   }
 
+  // Deletes by id list or department/grade filter without loading the students
+  @DeleteMapping
+  public ApiResponse<StudentDeletionResultDTO> deleteStudents(
+      @Valid @RequestBody StudentSelectionDTO dto) {
+
+    return new ApiResponse<>(
+        200,
+        "Students deleted successfully",
+        studentService.deleteStudents(dto),
+        LocalDateTime.now());
+  }
+
   @PutMapping("/{studentId}/teacher/{teacherId}")
   public ApiResponse<StudentResponseDTO> assignTeacher(
       @PathVariable long studentId, @PathVariable long teacherId) {
@@ -1,33 +1,63 @@
 package com.example.StudentMangamentBackEnd.Controllers;
 
+import com.example.StudentMangamentBackEnd.DTO.student.StudentAssignmentResultDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentResponseDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentSelectionDTO;
+import com.example.StudentMangamentBackEnd.DTO.teacher.RosterView;
+import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherBatchGetDTO;
 import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherLoginDTO;
 import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherLoginResponseDTO;
 import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherRequestDTO;
 import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherResponseDTO;
+import com.example.StudentMangamentBackEnd.Services.student.StudentService;
 import com.example.StudentMangamentBackEnd.Services.teacher.TeacherService;
+import com.example.StudentMangamentBackEnd.cache.ResponseCache;
+import com.example.StudentMangamentBackEnd.export.ExportFormat;
 import com.example.StudentMangamentBackEnd.response.ApiResponse;
+import com.example.StudentMangamentBackEnd.response.BatchResult;
+import com.example.StudentMangamentBackEnd.response.CursorPage;
+import com.example.StudentMangamentBackEnd.response.ETags;
+import com.example.StudentMangamentBackEnd.security.LoginExecutor;
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
-import org.springframework.data.domain.Page;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/teachers")
 public class TeacherController {
   // Api response is used for better presentation and front end mostly reads objects "data "
   private final TeacherService teacherService;
+  private final StudentService studentService;
+  private final LoginExecutor loginExecutor;
+  private final ResponseCache responseCache;
 
-  public TeacherController(TeacherService teacherService) {
+  public TeacherController(
+      TeacherService teacherService,
+      StudentService studentService,
+      LoginExecutor loginExecutor,
+      ResponseCache responseCache) {
     this.teacherService = teacherService;
+    this.studentService = studentService;
+    this.loginExecutor = loginExecutor;
+    this.responseCache = responseCache;
   }
 
-  // TEACHER Login
+  // TEACHER Login (runs on the bounded login executor)
   @PostMapping("/login")
-  public TeacherLoginResponseDTO loginTeacher(@Valid @RequestBody TeacherLoginDTO dto) {
-    return teacherService.loginTeacher(dto);
+  public CompletableFuture<TeacherLoginResponseDTO> loginTeacher(
+      @Valid @RequestBody TeacherLoginDTO dto) {
+    return loginExecutor.submit(() -> teacherService.loginTeacher(dto));
   }
 
   // CREATE TEACHER
@@ -41,58 +71,191 @@ public class TeacherController {
         LocalDateTime.now());
   }
 
-  // UPDATE TEACHER
+  // UPDATE TEACHER (a stale If-Match is rejected with 412; the response carries the new tag)
   @PutMapping("/{id}")
-  public ApiResponse<TeacherResponseDTO> updateTeacher(
-      @PathVariable long id, @Valid @RequestBody TeacherRequestDTO dto) {
+  public ResponseEntity<ApiResponse<TeacherResponseDTO>> updateTeacher(
+      @PathVariable long id,
+      @Valid @RequestBody TeacherRequestDTO dto,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+    TeacherResponseDTO teacher = teacherService.updateTeacher(id, dto, ifMatch);
+
+    return ETags.ok(
+        teacher.etag(),
+        new ApiResponse<>(200, "Teacher updated successfully", teacher, LocalDateTime.now()));
+  }
+
+  // ASSIGN STUDENTS TO TEACHER (by ids or department/grade, as bulk updates)
+  @PutMapping("/{teacherId}/students")
+  public ApiResponse<StudentAssignmentResultDTO> assignStudents(
+      @PathVariable long teacherId, @Valid @RequestBody StudentSelectionDTO dto) {
 
     return new ApiResponse<>(
         200,
-        "Teacher updated successfully",
-        teacherService.updateTeacher(id, dto),
+        "Students assigned successfully",
+        studentService.assignTeacherToStudents(teacherId, dto),
         LocalDateTime.now());
   }
 
-  // GET TEACHER BY ID
-  @GetMapping("/{id}")
-  public ApiResponse<TeacherResponseDTO> getTeacherById(@PathVariable long id) {
+  // GET A TEACHER'S STUDENTS (keyset pages in id order; "after" is the previous nextCursor)
+  @GetMapping("/{teacherId}/students")
+  public ResponseEntity<byte[]> getTeacherStudents(
+      @PathVariable long teacherId,
+      @RequestParam(required = false) String after,
+      @RequestParam(defaultValue = "50") int limit) {
+
+    return responseCache.get(
+        ResponseCache.key("teachers/students", teacherId, after, limit),
+        () -> {
+          CursorPage<StudentResponseDTO> response =
+              studentService.getStudentsOfTeacher(teacherId, after, limit);
+          return ETags.ok(
+              ETags.ofCursorPage(response, StudentResponseDTO::etag),
+              new ApiResponse<>(
+                  200, "Students fetched successfully", response, LocalDateTime.now()));
+        });
+  }
+
+  // GET TEACHERS BY IDS (?ids=3,1,2, in that order; unknown ids are listed in missingIds)
+  @GetMapping(params = "ids")
+  public ApiResponse<BatchResult<TeacherResponseDTO>> getTeachersByIds(
+      @RequestParam List<Long> ids, @RequestParam(defaultValue = "ids") String students) {
+
+    return new ApiResponse<>(
+        200,
+        "Teachers fetched successfully",
+        teacherService.getTeachersByIds(ids, RosterView.fromParameter(students)),
+        LocalDateTime.now());
+  }
+
+  // BATCH GET TEACHERS (the same for id lists too long for a query string)
+  @PostMapping("/batch-get")
+  public ApiResponse<BatchResult<TeacherResponseDTO>> batchGetTeachers(
+      @Valid @RequestBody TeacherBatchGetDTO dto,
+      @RequestParam(defaultValue = "ids") String students) {
 
     return new ApiResponse<>(
         200,
-        "Teacher fetched successfully",
-        teacherService.getTeacherById(id),
+        "Teachers fetched successfully",
+        teacherService.getTeachersByIds(dto.getIds(), RosterView.fromParameter(students)),
         LocalDateTime.now());
   }
 
-  // GET ALL TEACHERS
+  // GET TEACHER BY ID (If-None-Match is answered without loading the teacher). Teacher responses
+  // list every student id; students=count returns only studentCount, whatever the roster size.
+  @GetMapping("/{id}")
+  public ResponseEntity<ApiResponse<TeacherResponseDTO>> getTeacherById(
+      @PathVariable long id,
+      @RequestParam(defaultValue = "ids") String students,
+      WebRequest request) {
+
+    RosterView view = RosterView.fromParameter(students);
+    if (ETags.notModified(request, () -> teacherService.getTeacherEtag(id, view))) {
+      return null;
+    }
+    TeacherResponseDTO teacher = teacherService.getTeacherById(id, view);
+
+    return ETags.ok(
+        teacher.etag(),
+        new ApiResponse<>(200, "Teacher fetched successfully", teacher, LocalDateTime.now()));
+  }
+
+  // GET ALL TEACHERS ("after" or "limit" switches to keyset pagination, total=false drops the
+  // total of offset pages, pages are cached)
   @GetMapping
-  public ApiResponse<Object> getAllTeachers(
+  public ResponseEntity<byte[]> getAllTeachers(
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "10") int size,
-      @RequestParam(defaultValue = "id,asc") String sort) {
+      @RequestParam(defaultValue = "id,asc") String sort,
+      @RequestParam(required = false) String after,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(defaultValue = "true") boolean total,
+      @RequestParam(defaultValue = "ids") String students) {
 
     String[] sortParams = sort.split(",");
     Sort.Direction direction = Sort.Direction.fromString(sortParams[1].toUpperCase());
-    Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortParams[0]));
-    Page<TeacherResponseDTO> response = teacherService.getAllTeachers(pageable);
+    RosterView view = RosterView.fromParameter(students);
+
+    if (after != null || limit != null) {
+      int pageSize = limit == null ? size : limit;
+      return responseCache.get(
+          ResponseCache.key("teachers/after", after, pageSize, sortParams[0], direction, view),
+          () -> {
+            CursorPage<TeacherResponseDTO> response =
+                teacherService.getTeachersAfter(after, pageSize, sortParams[0], direction, view);
+            return ETags.ok(
+                ETags.ofCursorPage(response, TeacherResponseDTO::etag),
+                new ApiResponse<>(
+                    200, "Teachers fetched successfully", response, LocalDateTime.now()));
+          });
+    }
 
-    return new ApiResponse<>(200, "Teachers fetched successfully", response, LocalDateTime.now());
+    return responseCache.get(
+        ResponseCache.key("teachers", page, size, sortParams[0], direction, total, view),
+        () -> {
+          Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortParams[0]));
+          Slice<TeacherResponseDTO> response =
+              total
+                  ? teacherService.getAllTeachers(pageable, view)
+                  : teacherService.getTeacherSlice(pageable, view);
+          return ETags.ok(
+              ETags.ofSlice(response, TeacherResponseDTO::etag),
+              new ApiResponse<>(
+                  200, "Teachers fetched successfully", response, LocalDateTime.now()));
+        });
   }
 
-  // SEARCH TEACHER BY NAME
+  // SEARCH TEACHER BY NAME (case-insensitive, so the cache key is too)
   @GetMapping("/search")
-  public ApiResponse<Object> searchTeacher(
+  public ResponseEntity<byte[]> searchTeacher(
       @RequestParam String name,
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "10") int size,
-      @RequestParam(defaultValue = "id,asc") String sort) {
+      @RequestParam(defaultValue = "id,asc") String sort,
+      @RequestParam(defaultValue = "true") boolean total,
+      @RequestParam(defaultValue = "ids") String students) {
 
     String[] sortParams = sort.split(",");
     Sort.Direction direction = Sort.Direction.fromString(sortParams[1].toUpperCase());
-    Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortParams[0]));
-    Page<TeacherResponseDTO> response = teacherService.searchTeacherByName(name, pageable);
+    RosterView view = RosterView.fromParameter(students);
+
+    return responseCache.get(
+        ResponseCache.key(
+            "teachers/search",
+            name.toLowerCase(Locale.ROOT),
+            page,
+            size,
+            sortParams[0],
+            direction,
+            total,
+            view),
+        () -> {
+          Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortParams[0]));
+          Slice<TeacherResponseDTO> response =
+              total
+                  ? teacherService.searchTeacherByName(name, pageable, view)
+                  : teacherService.searchTeacherSliceByName(name, pageable, view);
+          return ETags.ok(
+              ETags.ofSlice(response, TeacherResponseDTO::etag),
+              new ApiResponse<>(
+                  200, "Teachers searched successfully", response, LocalDateTime.now()));
+        });
+  }
+
+  // EXPORT ALL TEACHERS (streamed as the rows are read, never buffered)
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportTeachers(
+      @RequestParam(defaultValue = "ndjson") String format) {
+
+    ExportFormat exportFormat = ExportFormat.fromParameter(format);
+    StreamingResponseBody body = out -> teacherService.exportTeachers(out, exportFormat);
 
-    return new ApiResponse<>(200, "Teachers searched successfully", response, LocalDateTime.now());
+    return ResponseEntity.ok()
+        .contentType(exportFormat.mediaType())
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"" + exportFormat.fileName("teachers") + "\"")
+        .body(body);
   }
 
   // DELETE TEACHER
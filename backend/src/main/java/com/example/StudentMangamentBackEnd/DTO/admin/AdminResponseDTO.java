@@ -1,5 +1,6 @@
 package com.example.StudentMangamentBackEnd.DTO.admin;
 
+import com.example.StudentMangamentBackEnd.response.ETags;
 import lombok.Data;
 
 @Data
@@ -8,4 +9,10 @@ public class AdminResponseDTO {
   private Long id;
   private String name;
   private String email;
+
+  private Long version;
+
+  public String etag() {
+    return ETags.of(version);
+  }
 }
@@ -0,0 +1,21 @@
+package com.example.StudentMangamentBackEnd.DTO.stats;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsResponseDTO {
+
+  private long students;
+  private long teachers;
+  private long unassignedStudents;
+  private Map<String, Long> studentsByDepartment;
+  private Map<String, Long> studentsByGrade;
+  private Map<Long, Long> studentsByTeacher;
+  private LocalDateTime reconciledAt; // last time the counters were checked against the database
+}
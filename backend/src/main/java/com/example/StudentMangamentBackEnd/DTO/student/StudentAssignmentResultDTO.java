@@ -0,0 +1,15 @@
+package com.example.StudentMangamentBackEnd.DTO.student;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentAssignmentResultDTO {
+
+  private Long teacherId;
+  private long matched; // students selected by the ids or the filter
+  private long updated; // matched students that were not already with this teacher
+}
@@ -0,0 +1,13 @@
+package com.example.StudentMangamentBackEnd.DTO.student;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentDeletionResultDTO {
+
+  private long deleted;
+}
@@ -0,0 +1,23 @@
+package com.example.StudentMangamentBackEnd.DTO.student;
+
+import java.time.LocalDate;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+// Optional filters of GET /api/students; blank or missing fields match every student
+@Data
+public class StudentFilterDTO {
+
+  private String department;
+
+  private String grade;
+
+  private Long teacherId;
+
+  // Inclusive enrollment date range (yyyy-MM-dd)
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+  private LocalDate enrolledFrom;
+
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+  private LocalDate enrolledTo;
+}
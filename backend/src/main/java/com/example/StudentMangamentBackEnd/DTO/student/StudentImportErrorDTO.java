@@ -0,0 +1,16 @@
+package com.example.StudentMangamentBackEnd.DTO.student;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportErrorDTO {
+
+  private long line; // line number in the uploaded body
+  private String studentId;
+  private List<String> errors;
+}
@@ -0,0 +1,15 @@
+package com.example.StudentMangamentBackEnd.DTO.student;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class StudentImportResultDTO {
+
+  private long totalRows;
+  private long imported;
+  private long failed;
+  private boolean errorsTruncated;
+  private List<StudentImportErrorDTO> errors = new ArrayList<>();
+}
@@ -1,9 +1,15 @@
 package com.example.StudentMangamentBackEnd.DTO.student;
 
+import com.example.StudentMangamentBackEnd.response.ETags;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDate;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class StudentResponseDTO {
 
   private Long id;
@@ -19,4 +25,13 @@ public class StudentResponseDTO {
 
   private Long teacherId;
   private String teacherName;
+
+  private Long version;
+
+  @JsonIgnore private Long teacherVersion;
+
+  // teacherName comes from the teacher row, so its version is part of the tag
+  public String etag() {
+    return ETags.of(version, teacherVersion);
+  }
 }
@@ -0,0 +1,17 @@
+package com.example.StudentMangamentBackEnd.DTO.student;
+
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+
+// Either studentIds or a department/grade filter selects the students of a bulk operation
+@Data
+public class StudentSelectionDTO {
+
+  @Size(max = 10000, message = "At most 10000 student ids per request")
+  private List<Long> studentIds;
+
+  private String department;
+
+  private String grade;
+}
@@ -0,0 +1,14 @@
+package com.example.StudentMangamentBackEnd.DTO.student;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSuggestionDTO {
+
+  private Long id;
+  private String name;
+}
@@ -0,0 +1,20 @@
+package com.example.StudentMangamentBackEnd.DTO.teacher;
+
+import com.example.StudentMangamentBackEnd.exception.BadRequestException;
+import java.util.Locale;
+
+// How a teacher response describes its students: every student id, or only how many there are.
+// COUNT keeps the payload the same size however large the roster; the students themselves are
+// paged through /api/teachers/{id}/students.
+public enum RosterView {
+  IDS,
+  COUNT;
+
+  public static RosterView fromParameter(String view) {
+    try {
+      return valueOf(view.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Unsupported students view: " + view);
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.example.StudentMangamentBackEnd.DTO.teacher;
+
+import com.example.StudentMangamentBackEnd.response.BatchResult;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+
+// Body of POST /api/teachers/batch-get, for id lists too long for a query string
+@Data
+public class TeacherBatchGetDTO {
+
+  @NotEmpty(message = "At least one id is required")
+  @Size(max = BatchResult.MAX_IDS, message = "At most 5000 ids per request")
+  private List<Long> ids;
+}
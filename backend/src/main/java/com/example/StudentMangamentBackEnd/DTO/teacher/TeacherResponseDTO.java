@@ -1,5 +1,7 @@
 package com.example.StudentMangamentBackEnd.DTO.teacher;
 
+import com.example.StudentMangamentBackEnd.response.ETags;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 import lombok.Data;
 
@@ -15,5 +17,23 @@ public class TeacherResponseDTO {
   private Integer age;
   private String phone;
 
+  // Left out of count-only responses (RosterView.COUNT)
+  @JsonInclude(JsonInclude.Include.NON_NULL)
   private List<Long> studentIds;
+
+  private long studentCount;
+
+  private Long version;
+
+  // Students join and leave through Student.teacher without touching the teacher's version
+  public String etag() {
+    return studentIds == null
+        ? ETags.of(version, countTag(studentCount))
+        : ETags.of(version, ETags.digest(studentIds));
+  }
+
+  // Stands in for the digest of the ids; "n" is not a hex digit, so the two never collide
+  public static String countTag(long studentCount) {
+    return "n" + studentCount;
+  }
 }
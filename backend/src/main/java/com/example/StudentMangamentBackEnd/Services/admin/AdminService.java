@@ -4,6 +4,7 @@ import com.example.StudentMangamentBackEnd.DTO.admin.*;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface AdminService {
 
@@ -15,9 +16,18 @@ public interface AdminService {
 
   Page<AdminResponseDTO> getAllAdmins(Pageable pageable);
 
+  // Like getAllAdmins, but only tells whether another page follows, without counting
+  Slice<AdminResponseDTO> getAdminSlice(Pageable pageable);
+
   AdminResponseDTO getAdminById(Long id);
 
   AdminResponseDTO updateAdmin(Long id, AdminUpdateDTO dto);
 
+  // Fails with 412 unless ifMatch (when given) matches the admin's current ETag
+  AdminResponseDTO updateAdmin(Long id, AdminUpdateDTO dto, String ifMatch);
+
+  // Current ETag from the version column, without loading the admin
+  String getAdminEtag(Long id);
+
   void deleteAdmin(Long id);
 }
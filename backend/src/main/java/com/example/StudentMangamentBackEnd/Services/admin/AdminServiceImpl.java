@@ -1,18 +1,23 @@
 package com.example.StudentMangamentBackEnd.Services.admin;
 
 import com.example.StudentMangamentBackEnd.DTO.admin.*;
+import com.example.StudentMangamentBackEnd.cache.CountCache;
 import com.example.StudentMangamentBackEnd.exception.BadRequestException;
 import com.example.StudentMangamentBackEnd.exception.ResourceNotFoundException;
 import com.example.StudentMangamentBackEnd.model.Admin;
 import com.example.StudentMangamentBackEnd.repository.AdminRepository;
+import com.example.StudentMangamentBackEnd.response.ETags;
 import com.example.StudentMangamentBackEnd.security.JwtUtil;
+import com.example.StudentMangamentBackEnd.security.TokenVersionRegistry;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -21,16 +26,25 @@ public class AdminServiceImpl implements AdminService {
   private final AdminRepository adminRepository;
   private final PasswordEncoder passwordEncoder;
   private final JwtUtil jwtUtil;
+  private final TokenVersionRegistry tokenVersionRegistry;
+  private final CountCache countCache;
 
   public AdminServiceImpl(
-      AdminRepository adminRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+      AdminRepository adminRepository,
+      PasswordEncoder passwordEncoder,
+      JwtUtil jwtUtil,
+      TokenVersionRegistry tokenVersionRegistry,
+      CountCache countCache) {
 
     this.adminRepository = adminRepository;
     this.passwordEncoder = passwordEncoder;
     this.jwtUtil = jwtUtil;
+    this.tokenVersionRegistry = tokenVersionRegistry;
+    this.countCache = countCache;
   }
 
   @Override
+  @Transactional
   public AdminResponseDTO createAdmin(AdminRequestDTO dto) {
     log.info("Creating admin with email: {}", dto.getEmail());
 
@@ -46,7 +60,10 @@ public class AdminServiceImpl implements AdminService {
     admin.setEmail(dto.getEmail());
     admin.setPassword(passwordEncoder.encode(dto.getPassword()));
 
-    AdminResponseDTO response = mapToResponse(adminRepository.save(admin));
+    Admin saved = adminRepository.save(admin);
+    countCache.added(CountCache.ADMINS, saved);
+    tokenVersionRegistry.changed("ADMIN", saved.getEmail());
+    AdminResponseDTO response = mapToResponse(saved);
     log.info("Admin created successfully with ID: {}", response.getId());
     return response;
   }
@@ -65,12 +82,19 @@ public class AdminServiceImpl implements AdminService {
       throw new ResourceNotFoundException("Invalid password");
     }
 
-    String token = jwtUtil.generateToken(admin.getEmail(), "ADMIN");
+    // Rehash with the configured BCrypt strength when the stored hash is weaker
+    if (passwordEncoder.upgradeEncoding(admin.getPassword())) {
+      adminRepository.updatePassword(admin.getId(), passwordEncoder.encode(dto.getPassword()));
+      log.info("Upgraded password hash for admin: {}", dto.getEmail());
+    }
+
+    String token = jwtUtil.generateToken(admin.getEmail(), "ADMIN", admin.getTokenVersion());
     log.info("Admin logged in successfully: {}", dto.getEmail());
     return new AdminLoginResponseDTO(token);
   }
 
   @Override
+  @Transactional(readOnly = true)
   public List<AdminResponseDTO> getAllAdmins() {
     log.info("Fetching all admins");
     List<AdminResponseDTO> admins =
@@ -80,22 +104,45 @@ public class AdminServiceImpl implements AdminService {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public Page<AdminResponseDTO> getAllAdmins(Pageable pageable) {
     log.info(
         "Fetching all admins with pagination - page: {}, size: {}",
         pageable.getPageNumber(),
         pageable.getPageSize());
-    Page<Admin> adminPage = adminRepository.findAll(pageable);
-    Page<AdminResponseDTO> response = adminPage.map(this::mapToResponse);
+    Page<AdminResponseDTO> response =
+        countCache.page(
+            adminRepository.findAllBy(pageable).map(this::mapToResponse),
+            CountCache.ADMINS,
+            CountCache.ALL,
+            admin -> true,
+            adminRepository::count);
     log.info(
         "Fetched {} admins from page {} of {}",
         response.getNumberOfElements(),
         pageable.getPageNumber(),
-        adminPage.getTotalPages());
+        response.getTotalPages());
+    return response;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Slice<AdminResponseDTO> getAdminSlice(Pageable pageable) {
+    log.info(
+        "Fetching admins without a total - page: {}, size: {}",
+        pageable.getPageNumber(),
+        pageable.getPageSize());
+    Slice<AdminResponseDTO> response = adminRepository.findAllBy(pageable).map(this::mapToResponse);
+    log.info(
+        "Fetched {} admins from page {}, has next: {}",
+        response.getNumberOfElements(),
+        pageable.getPageNumber(),
+        response.hasNext());
     return response;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public AdminResponseDTO getAdminById(Long id) {
     log.info("Fetching admin with ID: {}", id);
     AdminResponseDTO response =
@@ -108,13 +155,30 @@ public class AdminServiceImpl implements AdminService {
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public String getAdminEtag(Long id) {
+    return ETags.of(
+        adminRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Admin not found")));
+  }
+
+  @Override
+  @Transactional
   public AdminResponseDTO updateAdmin(Long id, AdminUpdateDTO dto) {
+    return updateAdmin(id, dto, null);
+  }
+
+  @Override
+  @Transactional
+  public AdminResponseDTO updateAdmin(Long id, AdminUpdateDTO dto, String ifMatch) {
     log.info("Updating admin with ID: {}", id);
 
     Admin admin =
         adminRepository
             .findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
+    ETags.requireMatch(ifMatch, ETags.of(admin.getVersion()), "Admin");
 
     if (!admin.getEmail().equalsIgnoreCase(dto.getEmail())) {
       adminRepository
@@ -125,19 +189,33 @@ public class AdminServiceImpl implements AdminService {
               });
     }
 
+    String previousEmail = admin.getEmail();
+    boolean passwordChanged = dto.getPassword() != null && !dto.getPassword().isBlank();
+    boolean revokeTokens = passwordChanged || !previousEmail.equalsIgnoreCase(dto.getEmail());
+
     admin.setName(dto.getName());
     admin.setEmail(dto.getEmail());
 
-    if (dto.getPassword() != null && !dto.getPassword().isBlank()) {
+    if (passwordChanged) {
       admin.setPassword(passwordEncoder.encode(dto.getPassword()));
     }
+    // Saved with the rest of the update, so a failed save revokes nothing
+    if (revokeTokens) {
+      admin.setTokenVersion(admin.getTokenVersion() + 1);
+    }
 
-    AdminResponseDTO response = mapToResponse(adminRepository.save(admin));
+    // Flushed so the response carries the version this update wrote
+    AdminResponseDTO response = mapToResponse(adminRepository.saveAndFlush(admin));
+
+    if (revokeTokens) {
+      tokenVersionRegistry.changed("ADMIN", previousEmail);
+    }
     log.info("Admin updated successfully with ID: {}", response.getId());
     return response;
   }
 
   @Override
+  @Transactional
   public void deleteAdmin(Long id) {
     log.info("Deleting admin with ID: {}", id);
     Admin admin =
@@ -145,6 +223,8 @@ public class AdminServiceImpl implements AdminService {
             .findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
     adminRepository.delete(admin);
+    countCache.removed(CountCache.ADMINS, admin);
+    tokenVersionRegistry.changed("ADMIN", admin.getEmail());
     log.info("Admin deleted successfully with ID: {}", id);
   }
 
@@ -153,6 +233,7 @@ public class AdminServiceImpl implements AdminService {
     dto.setId(admin.getId());
     dto.setName(admin.getName());
     dto.setEmail(admin.getEmail());
+    dto.setVersion(admin.getVersion());
     return dto;
   }
 }
@@ -0,0 +1,9 @@
+package com.example.StudentMangamentBackEnd.Services.stats;
+
+import com.example.StudentMangamentBackEnd.DTO.stats.StatsResponseDTO;
+
+public interface StatsService {
+
+  // Served from in-memory counters; does not query the database
+  StatsResponseDTO getStats();
+}
@@ -0,0 +1,22 @@
+package com.example.StudentMangamentBackEnd.Services.stats;
+
+import com.example.StudentMangamentBackEnd.DTO.stats.StatsResponseDTO;
+import com.example.StudentMangamentBackEnd.stats.StudentStatistics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class StatsServiceImpl implements StatsService {
+
+  private final StudentStatistics studentStatistics;
+
+  public StatsServiceImpl(StudentStatistics studentStatistics) {
+    this.studentStatistics = studentStatistics;
+  }
+
+  @Override
+  public StatsResponseDTO getStats() {
+    return studentStatistics.snapshot();
+  }
+}
@@ -0,0 +1,23 @@
+package com.example.StudentMangamentBackEnd.Services.student;
+
+import com.example.StudentMangamentBackEnd.exception.BadRequestException;
+import org.springframework.http.MediaType;
+
+public enum StudentImportFormat {
+  NDJSON,
+  CSV;
+
+  public static final String NDJSON_VALUE = "application/x-ndjson";
+  public static final String CSV_VALUE = "text/csv";
+
+  public static StudentImportFormat fromContentType(String contentType) {
+    MediaType mediaType = MediaType.parseMediaType(contentType);
+    if (mediaType.isCompatibleWith(MediaType.parseMediaType(NDJSON_VALUE))) {
+      return NDJSON;
+    }
+    if (mediaType.isCompatibleWith(MediaType.parseMediaType(CSV_VALUE))) {
+      return CSV;
+    }
+    throw new BadRequestException("Unsupported import format: " + contentType);
+  }
+}
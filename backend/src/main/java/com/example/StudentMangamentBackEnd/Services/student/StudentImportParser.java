@@ -0,0 +1,168 @@
+package com.example.StudentMangamentBackEnd.Services.student;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentRequestDTO;
+import com.example.StudentMangamentBackEnd.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Reads an NDJSON or CSV import body one line at a time; the body is never held in memory.
+final class StudentImportParser {
+
+  record Row(long line, StudentRequestDTO dto, List<String> errors) {}
+
+  private final BufferedReader reader;
+  private final StudentImportFormat format;
+  private final ObjectMapper objectMapper;
+  private List<String> columns;
+  private long line;
+
+  StudentImportParser(InputStream body, StudentImportFormat format, ObjectMapper objectMapper)
+      throws IOException {
+    this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    this.format = format;
+    this.objectMapper = objectMapper;
+
+    if (format == StudentImportFormat.CSV) {
+      String header = nextLine();
+      if (header == null) {
+        throw new BadRequestException("CSV header row is missing");
+      }
+      columns = splitCsv(header).stream().map(StudentImportParser::normalize).toList();
+      for (String column : columns) {
+        if (!isKnownColumn(column)) {
+          throw new BadRequestException("Unknown CSV column: " + column);
+        }
+      }
+    }
+  }
+
+  // Next non-blank row, or null at the end of the body
+  Row next() throws IOException {
+    String text = nextLine();
+    if (text == null) {
+      return null;
+    }
+    return format == StudentImportFormat.CSV ? parseCsv(text) : parseJson(text);
+  }
+
+  private String nextLine() throws IOException {
+    String text;
+    do {
+      text = reader.readLine();
+      line++;
+    } while (text != null && text.isBlank());
+    return text;
+  }
+
+  private Row parseJson(String text) {
+    try {
+      // "null", arrays and scalars parse fine but are not a student
+      JsonNode node = objectMapper.readTree(text);
+      if (node == null || !node.isObject()) {
+        return new Row(line, null, List.of("Expected a JSON object"));
+      }
+      return new Row(line, objectMapper.treeToValue(node, StudentRequestDTO.class), List.of());
+    } catch (JsonProcessingException e) {
+      return new Row(line, null, List.of("Malformed JSON: " + e.getOriginalMessage()));
+    }
+  }
+
+  private Row parseCsv(String text) {
+    List<String> values = splitCsv(text);
+    if (values.size() != columns.size()) {
+      return new Row(
+          line, null, List.of("Expected " + columns.size() + " columns, found " + values.size()));
+    }
+
+    StudentRequestDTO dto = new StudentRequestDTO();
+    List<String> errors = new ArrayList<>();
+    for (int i = 0; i < values.size(); i++) {
+      String value = values.get(i).isBlank() ? null : values.get(i).trim();
+      try {
+        apply(dto, columns.get(i), value);
+      } catch (NumberFormatException | DateTimeParseException e) {
+        errors.add(columns.get(i) + ": invalid value '" + value + "'");
+      }
+    }
+    return new Row(line, dto, errors);
+  }
+
+  private static void apply(StudentRequestDTO dto, String column, String value) {
+    switch (column) {
+      case "name" -> dto.setName(value);
+      case "email" -> dto.setEmail(value);
+      case "studentid" -> dto.setStudentId(value);
+      case "phone" -> dto.setPhone(value);
+      case "address" -> dto.setAddress(value);
+      case "department" -> dto.setDepartment(value);
+      case "enrollmentdate" -> dto.setEnrollmentDate(value == null ? null : LocalDate.parse(value));
+      case "age" -> dto.setAge(value == null ? null : Integer.valueOf(value));
+      case "grade" -> dto.setGrade(value);
+      case "teacherid" -> dto.setTeacherId(value == null ? null : Long.valueOf(value));
+      default -> throw new IllegalStateException("Unknown column " + column);
+    }
+  }
+
+  private static boolean isKnownColumn(String column) {
+    return switch (column) {
+      case "name",
+              "email",
+              "studentid",
+              "phone",
+              "address",
+              "department",
+              "enrollmentdate",
+              "age",
+              "grade",
+              "teacherid" ->
+          true;
+      default -> false;
+    };
+  }
+
+  // "Student_ID", "studentId" and "student id" all name the same column
+  private static String normalize(String column) {
+    return column.trim().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", "");
+  }
+
+  // RFC 4180 fields on a single line: quoted fields may contain commas and doubled quotes
+  static List<String> splitCsv(String text) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          field.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+}
@@ -0,0 +1,9 @@
+package com.example.StudentMangamentBackEnd.Services.student;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentImportResultDTO;
+import java.io.InputStream;
+
+public interface StudentImportService {
+
+  StudentImportResultDTO importStudents(InputStream body, StudentImportFormat format);
+}
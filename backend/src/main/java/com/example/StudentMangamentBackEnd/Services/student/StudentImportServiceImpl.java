@@ -0,0 +1,265 @@
+package com.example.StudentMangamentBackEnd.Services.student;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentImportErrorDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentImportResultDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentRequestDTO;
+import com.example.StudentMangamentBackEnd.cache.CountCache;
+import com.example.StudentMangamentBackEnd.cache.ResponseCache;
+import com.example.StudentMangamentBackEnd.cache.TeacherRosterCache;
+import com.example.StudentMangamentBackEnd.exception.BadRequestException;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import com.example.StudentMangamentBackEnd.repository.projection.StudentNameRow;
+import com.example.StudentMangamentBackEnd.search.StudentNameIndex;
+import com.example.StudentMangamentBackEnd.stats.StudentStatistics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Date;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Bulk import: rows are parsed as a stream, validated, and written in chunks. Each chunk is one
+// transaction and one JDBC batch. Plain JDBC is used because Hibernate cannot batch inserts of
+// IDENTITY-keyed entities.
+@Slf4j
+@Service
+public class StudentImportServiceImpl implements StudentImportService {
+
+  private static final String INSERT_SQL =
+      "insert into students (name, email, student_id, phone, address, department,"
+          + " enrollment_date, age, grade, teacher_id, version)"
+          + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final StudentRepository studentRepository;
+  private final TeacherRepository teacherRepository;
+  private final StudentNameIndex studentNameIndex;
+  private final TeacherRosterCache teacherRosterCache;
+  private final StudentStatistics studentStatistics;
+  private final ResponseCache responseCache;
+  private final CountCache countCache;
+  private final Validator validator;
+  private final ObjectMapper objectMapper;
+  private final int chunkSize;
+  private final int maxErrors;
+
+  public StudentImportServiceImpl(
+      JdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate,
+      StudentRepository studentRepository,
+      TeacherRepository teacherRepository,
+      StudentNameIndex studentNameIndex,
+      TeacherRosterCache teacherRosterCache,
+      StudentStatistics studentStatistics,
+      ResponseCache responseCache,
+      CountCache countCache,
+      Validator validator,
+      ObjectMapper objectMapper,
+      @Value("${students.import.chunk-size:1000}") int chunkSize,
+      @Value("${students.import.max-errors:1000}") int maxErrors) {
+
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.studentRepository = studentRepository;
+    this.teacherRepository = teacherRepository;
+    this.studentNameIndex = studentNameIndex;
+    this.teacherRosterCache = teacherRosterCache;
+    this.studentStatistics = studentStatistics;
+    this.responseCache = responseCache;
+    this.countCache = countCache;
+    this.validator = validator;
+    this.objectMapper = objectMapper;
+    this.chunkSize = chunkSize;
+    this.maxErrors = maxErrors;
+  }
+
+  @Override
+  public StudentImportResultDTO importStudents(InputStream body, StudentImportFormat format) {
+    log.info("Importing students from {} body with chunk size {}", format, chunkSize);
+    long started = System.nanoTime();
+    StudentImportResultDTO result = new StudentImportResultDTO();
+
+    try {
+      StudentImportParser parser = new StudentImportParser(body, format, objectMapper);
+      List<StudentImportParser.Row> chunk = new ArrayList<>(chunkSize);
+      StudentImportParser.Row row;
+      while ((row = parser.next()) != null) {
+        chunk.add(row);
+        if (chunk.size() == chunkSize) {
+          writeChunk(chunk, result);
+          chunk.clear();
+        }
+      }
+      if (!chunk.isEmpty()) {
+        writeChunk(chunk, result);
+      }
+    } catch (IOException e) {
+      throw new BadRequestException("Could not read import body");
+    }
+
+    log.info(
+        "Imported {} of {} students ({} failed) in {} ms",
+        result.getImported(),
+        result.getTotalRows(),
+        result.getFailed(),
+        (System.nanoTime() - started) / 1_000_000);
+    return result;
+  }
+
+  private void writeChunk(List<StudentImportParser.Row> chunk, StudentImportResultDTO result) {
+    result.setTotalRows(result.getTotalRows() + chunk.size());
+
+    List<StudentImportParser.Row> valid = new ArrayList<>(chunk.size());
+    for (StudentImportParser.Row row : chunk) {
+      List<String> errors = new ArrayList<>(row.errors());
+      if (row.dto() != null) {
+        for (ConstraintViolation<StudentRequestDTO> violation : validator.validate(row.dto())) {
+          errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+      }
+      if (errors.isEmpty()) {
+        valid.add(row);
+      } else {
+        reject(result, row, errors);
+      }
+    }
+
+    valid = rejectConflicts(valid, result);
+    if (valid.isEmpty()) {
+      return;
+    }
+
+    List<StudentImportParser.Row> batch = valid;
+    try {
+      transactionTemplate.executeWithoutResult(
+          status ->
+              jdbcTemplate.batchUpdate(
+                  INSERT_SQL,
+                  batch,
+                  batch.size(),
+                  (ps, row) -> {
+                    StudentRequestDTO dto = row.dto();
+                    ps.setString(1, dto.getName());
+                    ps.setString(2, dto.getEmail());
+                    ps.setString(3, dto.getStudentId());
+                    ps.setString(4, dto.getPhone());
+                    ps.setString(5, dto.getAddress());
+                    ps.setString(6, dto.getDepartment());
+                    ps.setObject(
+                        7,
+                        dto.getEnrollmentDate() == null
+                            ? null
+                            : Date.valueOf(dto.getEnrollmentDate()),
+                        Types.DATE);
+                    ps.setObject(8, dto.getAge(), Types.INTEGER);
+                    ps.setString(9, dto.getGrade());
+                    ps.setObject(10, dto.getTeacherId(), Types.BIGINT);
+                  }));
+    } catch (DataAccessException e) {
+      log.warn("Import chunk of {} rows rejected by the database", batch.size(), e);
+      batch.forEach(
+          row -> reject(result, row, List.of("Chunk rejected by the database; retry these rows")));
+      return;
+    }
+
+    result.setImported(result.getImported() + batch.size());
+    // The JDBC insert bypasses Hibernate, so cached rosters of these teachers are stale
+    teacherRosterCache.evict(
+        batch.stream().map(r -> r.dto().getTeacherId()).distinct().toArray(Long[]::new));
+    for (StudentNameRow row :
+        studentRepository.findNamesByStudentIdIn(
+            batch.stream().map(r -> r.dto().getStudentId()).toList())) {
+      studentNameIndex.put(row.id(), row.name());
+    }
+    for (StudentImportParser.Row row : batch) {
+      StudentRequestDTO dto = row.dto();
+      studentStatistics.studentAdded(
+          new StudentStatistics.Facts(dto.getDepartment(), dto.getGrade(), dto.getTeacherId()));
+    }
+    responseCache.studentsChanged();
+    countCache.rowsAdded(CountCache.STUDENTS, batch.size());
+  }
+
+  // Duplicates inside the chunk, rows clashing with stored students, and unknown teachers
+  private List<StudentImportParser.Row> rejectConflicts(
+      List<StudentImportParser.Row> rows, StudentImportResultDTO result) {
+
+    Set<String> existingEmails =
+        lowerCase(
+            studentRepository.findExistingEmails(
+                rows.stream().map(r -> r.dto().getEmail()).toList()));
+    Set<String> existingStudentIds =
+        new HashSet<>(
+            studentRepository.findExistingStudentIds(
+                rows.stream().map(r -> r.dto().getStudentId()).toList()));
+    List<Long> teacherIds =
+        rows.stream().map(r -> r.dto().getTeacherId()).filter(Objects::nonNull).toList();
+    Set<Long> existingTeachers =
+        teacherIds.isEmpty()
+            ? Set.of()
+            : new HashSet<>(teacherRepository.findExistingIds(teacherIds));
+
+    Set<String> chunkEmails = new HashSet<>();
+    Set<String> chunkStudentIds = new HashSet<>();
+    List<StudentImportParser.Row> accepted = new ArrayList<>(rows.size());
+
+    for (StudentImportParser.Row row : rows) {
+      StudentRequestDTO dto = row.dto();
+      String email = dto.getEmail().toLowerCase(Locale.ROOT);
+      List<String> errors = new ArrayList<>();
+
+      if (existingEmails.contains(email) || !chunkEmails.add(email)) {
+        errors.add("email: already exists");
+      }
+      if (existingStudentIds.contains(dto.getStudentId())
+          || !chunkStudentIds.add(dto.getStudentId())) {
+        errors.add("studentId: already exists");
+      }
+      if (dto.getTeacherId() != null && !existingTeachers.contains(dto.getTeacherId())) {
+        errors.add("teacherId: teacher not found");
+      }
+
+      if (errors.isEmpty()) {
+        accepted.add(row);
+      } else {
+        reject(result, row, errors);
+      }
+    }
+    return accepted;
+  }
+
+  private void reject(
+      StudentImportResultDTO result, StudentImportParser.Row row, List<String> errors) {
+    result.setFailed(result.getFailed() + 1);
+    if (result.getErrors().size() < maxErrors) {
+      result
+          .getErrors()
+          .add(
+              new StudentImportErrorDTO(
+                  row.line(), row.dto() == null ? null : row.dto().getStudentId(), errors));
+    } else {
+      result.setErrorsTruncated(true);
+    }
+  }
+
+  private static Set<String> lowerCase(List<String> values) {
+    Set<String> lower = new HashSet<>();
+    values.forEach(v -> lower.add(v.toLowerCase(Locale.ROOT)));
+    return lower;
+  }
+}
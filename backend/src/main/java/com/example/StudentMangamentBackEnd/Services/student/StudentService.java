@@ -1,9 +1,16 @@
 package com.example.StudentMangamentBackEnd.Services.student;
 
 import com.example.StudentMangamentBackEnd.DTO.student.*;
+import com.example.StudentMangamentBackEnd.export.ExportFormat;
+import com.example.StudentMangamentBackEnd.response.BatchResult;
+import com.example.StudentMangamentBackEnd.response.CursorPage;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 public interface StudentService {
 
@@ -11,22 +18,60 @@ public interface StudentService {
 
   StudentResponseDTO updateStudent(Long id, StudentRequestDTO dto);
 
+  // Fails with 412 unless ifMatch (when given) matches the student's current ETag
+  StudentResponseDTO updateStudent(Long id, StudentRequestDTO dto, String ifMatch);
+
+  // Current ETag from the version columns, without loading the student
+  String getStudentEtag(Long id);
+
   StudentResponseDTO getStudentById(Long id);
 
+  // Found students in the order of the ids, plus the ids that do not exist
+  BatchResult<StudentResponseDTO> getStudentsByIds(List<Long> ids);
+
   List<StudentResponseDTO> getAllStudents();
 
   Page<StudentResponseDTO> getAllStudents(Pageable pageable);
 
+  // Sort fields are limited to SortWhitelist.STUDENT_SORT_FIELDS
+  Page<StudentResponseDTO> getAllStudents(StudentFilterDTO filter, Pageable pageable);
+
+  // Like getAllStudents, but only tells whether another page follows, without counting
+  Slice<StudentResponseDTO> getStudentSlice(StudentFilterDTO filter, Pageable pageable);
+
+  long exportStudents(OutputStream out, ExportFormat format) throws IOException;
+
+  CursorPage<StudentResponseDTO> getStudentsAfter(
+      String after, int limit, String sortField, Sort.Direction direction);
+
+  // The filter is not part of the cursor; every page must be requested with the same filter
+  CursorPage<StudentResponseDTO> getStudentsAfter(
+      StudentFilterDTO filter, String after, int limit, String sortField, Sort.Direction direction);
+
+  // A teacher's roster in id order, one keyset page at a time; 404 for an unknown teacher
+  CursorPage<StudentResponseDTO> getStudentsOfTeacher(Long teacherId, String after, int limit);
+
   List<StudentResponseDTO> searchStudentByName(String name);
 
+  // Sort fields are limited to SortWhitelist.STUDENT_SEARCH_SORT_FIELDS
   Page<StudentResponseDTO> searchStudentByName(String name, Pageable pageable);
 
+  Slice<StudentResponseDTO> searchStudentSliceByName(String name, Pageable pageable);
+
+  List<StudentSuggestionDTO> suggestStudents(String prefix, int limit);
+
   StudentResponseDTO assignTeacher(Long studentId, Long teacherId);
 
   StudentResponseDTO removeTeacher(Long studentId);
 
+  // Moves every selected student to the teacher with set-based updates
+  StudentAssignmentResultDTO assignTeacherToStudents(Long teacherId, StudentSelectionDTO dto);
+
   void deleteStudent(Long id);
 
+  // Deletes the selected students with set-based deletes, without loading them
+  StudentDeletionResultDTO deleteStudents(StudentSelectionDTO dto);
+
   // Method aliases for controller compatibility
   StudentResponseDTO assignTeacherToStudent(Long studentId, Long teacherId);
 
@@ -1,17 +1,52 @@
 package com.example.StudentMangamentBackEnd.Services.student;
 
 import com.example.StudentMangamentBackEnd.DTO.student.*;
+import com.example.StudentMangamentBackEnd.cache.CountCache;
+import com.example.StudentMangamentBackEnd.cache.DetailCache;
+import com.example.StudentMangamentBackEnd.cache.ResponseCache;
+import com.example.StudentMangamentBackEnd.cache.TeacherRosterCache;
+import com.example.StudentMangamentBackEnd.exception.BadRequestException;
 import com.example.StudentMangamentBackEnd.exception.ResourceNotFoundException;
+import com.example.StudentMangamentBackEnd.export.ExportFormat;
+import com.example.StudentMangamentBackEnd.export.ExportWriter;
 import com.example.StudentMangamentBackEnd.model.Student;
 import com.example.StudentMangamentBackEnd.model.Teacher;
+import com.example.StudentMangamentBackEnd.pagination.Keyset;
+import com.example.StudentMangamentBackEnd.pagination.KeysetCursor;
+import com.example.StudentMangamentBackEnd.pagination.SortWhitelist;
 import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.StudentSpecifications;
 import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import com.example.StudentMangamentBackEnd.repository.projection.StudentVersion;
+import com.example.StudentMangamentBackEnd.repository.projection.TeacherStudentId;
+import com.example.StudentMangamentBackEnd.response.BatchResult;
+import com.example.StudentMangamentBackEnd.response.CursorPage;
+import com.example.StudentMangamentBackEnd.response.ETags;
+import com.example.StudentMangamentBackEnd.search.StudentNameIndex;
+import com.example.StudentMangamentBackEnd.stats.StudentStatistics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -19,15 +54,56 @@ public class StudentServiceImpl implements StudentService {
 
   private final StudentRepository studentRepository;
   private final TeacherRepository teacherRepository;
+  private final StudentNameIndex studentNameIndex;
+  private final TeacherRosterCache teacherRosterCache;
+  private final DetailCache<StudentResponseDTO> studentDetailCache;
+  private final StudentStatistics studentStatistics;
+  private final ResponseCache responseCache;
+  private final CountCache countCache;
+  private final ObjectMapper objectMapper;
+
+  private static final int ID_CHUNK_SIZE = 1000;
+  private static final int MAX_SUGGESTIONS = 50;
+
+  private static final List<ExportWriter.Column<StudentResponseDTO>> EXPORT_COLUMNS =
+      List.of(
+          new ExportWriter.Column<>("id", StudentResponseDTO::getId),
+          new ExportWriter.Column<>("name", StudentResponseDTO::getName),
+          new ExportWriter.Column<>("email", StudentResponseDTO::getEmail),
+          new ExportWriter.Column<>("studentId", StudentResponseDTO::getStudentId),
+          new ExportWriter.Column<>("phone", StudentResponseDTO::getPhone),
+          new ExportWriter.Column<>("address", StudentResponseDTO::getAddress),
+          new ExportWriter.Column<>("department", StudentResponseDTO::getDepartment),
+          new ExportWriter.Column<>("enrollmentDate", StudentResponseDTO::getEnrollmentDate),
+          new ExportWriter.Column<>("age", StudentResponseDTO::getAge),
+          new ExportWriter.Column<>("grade", StudentResponseDTO::getGrade),
+          new ExportWriter.Column<>("teacherId", StudentResponseDTO::getTeacherId),
+          new ExportWriter.Column<>("teacherName", StudentResponseDTO::getTeacherName));
 
   public StudentServiceImpl(
-      StudentRepository studentRepository, TeacherRepository teacherRepository) {
+      StudentRepository studentRepository,
+      TeacherRepository teacherRepository,
+      StudentNameIndex studentNameIndex,
+      TeacherRosterCache teacherRosterCache,
+      DetailCache<StudentResponseDTO> studentDetailCache,
+      StudentStatistics studentStatistics,
+      ResponseCache responseCache,
+      CountCache countCache,
+      ObjectMapper objectMapper) {
 
     this.studentRepository = studentRepository;
     this.teacherRepository = teacherRepository;
+    this.studentNameIndex = studentNameIndex;
+    this.teacherRosterCache = teacherRosterCache;
+    this.studentDetailCache = studentDetailCache;
+    this.studentStatistics = studentStatistics;
+    this.responseCache = responseCache;
+    this.countCache = countCache;
+    this.objectMapper = objectMapper;
   }
 
   @Override
+  @Transactional
   public StudentResponseDTO createStudent(StudentRequestDTO dto) {
     log.info("Creating student with email: {}", dto.getEmail());
 
@@ -39,21 +115,41 @@ public class StudentServiceImpl implements StudentService {
               .findById(dto.getTeacherId())
               .orElseThrow(() -> new ResourceNotFoundException("Teacher not found"));
       student.setTeacher(teacher);
+      teacherRosterCache.evict(teacher.getId());
     }
 
-    StudentResponseDTO response = mapToResponse(studentRepository.save(student));
+    Student saved = studentRepository.save(student);
+    studentNameIndex.put(saved.getId(), saved.getName());
+    studentStatistics.studentAdded(StudentStatistics.Facts.of(saved));
+    responseCache.studentsChanged();
+    countCache.added(CountCache.STUDENTS, saved);
+    StudentResponseDTO response = mapToResponse(saved);
     log.info("Student created successfully with ID: {}", response.getId());
     return response;
   }
 
   @Override
+  @Transactional
   public StudentResponseDTO updateStudent(Long id, StudentRequestDTO dto) {
+    return updateStudent(id, dto, null);
+  }
+
+  @Override
+  @Transactional
+  public StudentResponseDTO updateStudent(Long id, StudentRequestDTO dto, String ifMatch) {
     log.info("Updating student with ID: {}", id);
 
     Student student =
         studentRepository
             .findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+    ETags.requireMatch(
+        ifMatch,
+        ETags.of(
+            student.getVersion(),
+            student.getTeacher() == null ? null : student.getTeacher().getVersion()),
+        "Student");
+    StudentStatistics.Facts before = StudentStatistics.Facts.of(student);
 
     student.setName(dto.getName());
     student.setEmail(dto.getEmail());
@@ -70,60 +166,196 @@ public class StudentServiceImpl implements StudentService {
           teacherRepository
               .findById(dto.getTeacherId())
               .orElseThrow(() -> new ResourceNotFoundException("Teacher not found"));
+      teacherRosterCache.evict(teacherIdOf(student), teacher.getId());
       student.setTeacher(teacher);
     }
 
-    StudentResponseDTO response = mapToResponse(studentRepository.save(student));
+    // Flushed so the response carries the version this update wrote
+    Student saved = studentRepository.saveAndFlush(student);
+    studentNameIndex.put(saved.getId(), saved.getName());
+    studentDetailCache.evict(id);
+    studentStatistics.studentChanged(before, StudentStatistics.Facts.of(saved));
+    responseCache.studentsChanged();
+    countCache.changed(CountCache.STUDENTS);
+    StudentResponseDTO response = mapToResponse(saved);
     log.info("Student updated successfully with ID: {}", id);
     return response;
   }
 
+  @Override
+  public BatchResult<StudentResponseDTO> getStudentsByIds(List<Long> ids) {
+    List<Long> requested = BatchResult.requireValidIds(ids);
+    log.info("Fetching {} students by id", requested.size());
+    // Only the ids missing from the detail cache are read
+    BatchResult<StudentResponseDTO> response =
+        BatchResult.of(requested, studentDetailCache.getAll(requested, this::findResponsesById));
+    log.info(
+        "Fetched {} students, {} missing",
+        response.getContent().size(),
+        response.getMissingIds().size());
+    return response;
+  }
+
   @Override
   public StudentResponseDTO getStudentById(Long id) {
     log.info("Fetching student with ID: {}", id);
     StudentResponseDTO response =
-        mapToResponse(
-            studentRepository
-                .findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found")));
+        studentDetailCache.get(
+            id,
+            key ->
+                studentRepository
+                    .findResponseById(key)
+                    .orElseThrow(() -> new ResourceNotFoundException("Student not found")));
     log.info("Student fetched successfully with ID: {}", id);
     return response;
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public String getStudentEtag(Long id) {
+    StudentVersion version =
+        studentRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+    return ETags.of(version.version(), version.teacherVersion());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
   public List<StudentResponseDTO> getAllStudents() {
     log.info("Fetching all students");
-    List<StudentResponseDTO> students =
-        studentRepository.findAll().stream().map(this::mapToResponse).collect(Collectors.toList());
+    List<StudentResponseDTO> students = studentRepository.findAllResponses();
     log.info("Fetched {} students", students.size());
     return students;
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public long exportStudents(OutputStream out, ExportFormat format) throws IOException {
+    log.info("Exporting all students as {}", format);
+
+    ExportWriter<StudentResponseDTO> writer =
+        new ExportWriter<>(out, format, objectMapper, StudentResponseDTO.class, EXPORT_COLUMNS);
+    try (Stream<StudentResponseDTO> students = studentRepository.streamAllResponses()) {
+      students.forEach(writer::write);
+    }
+
+    long exported = writer.finish();
+    log.info("Exported {} students", exported);
+    return exported;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
   public Page<StudentResponseDTO> getAllStudents(Pageable pageable) {
+    return getAllStudents(new StudentFilterDTO(), pageable);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Page<StudentResponseDTO> getAllStudents(StudentFilterDTO filter, Pageable pageable) {
     log.info(
-        "Fetching all students with pagination - page: {}, size: {}",
+        "Fetching students matching {} with pagination - page: {}, size: {}",
+        filter,
         pageable.getPageNumber(),
         pageable.getPageSize());
-    Page<Student> studentPage = studentRepository.findAll(pageable);
-    Page<StudentResponseDTO> response = studentPage.map(this::mapToResponse);
+    Page<StudentResponseDTO> response =
+        countCache.page(
+            findStudents(filter, pageable),
+            CountCache.STUDENTS,
+            countKey(filter),
+            StudentSpecifications.matcher(filter),
+            () -> studentRepository.countMatching(StudentSpecifications.matching(filter)));
     log.info(
         "Fetched {} students from page {} of {}",
         response.getNumberOfElements(),
         pageable.getPageNumber(),
-        studentPage.getTotalPages());
+        response.getTotalPages());
     return response;
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public Slice<StudentResponseDTO> getStudentSlice(StudentFilterDTO filter, Pageable pageable) {
+    log.info(
+        "Fetching students matching {} without a total - page: {}, size: {}",
+        filter,
+        pageable.getPageNumber(),
+        pageable.getPageSize());
+    Slice<StudentResponseDTO> response = findStudents(filter, pageable);
+    log.info(
+        "Fetched {} students from page {}, has next: {}",
+        response.getNumberOfElements(),
+        pageable.getPageNumber(),
+        response.hasNext());
+    return response;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPage<StudentResponseDTO> getStudentsAfter(
+      String after, int limit, String sortField, Sort.Direction direction) {
+    return getStudentsAfter(new StudentFilterDTO(), after, limit, sortField, direction);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPage<StudentResponseDTO> getStudentsAfter(
+      StudentFilterDTO filter,
+      String after,
+      int limit,
+      String sortField,
+      Sort.Direction direction) {
+    log.info(
+        "Fetching students matching {} after cursor - sort: {}, limit: {}",
+        filter,
+        sortField,
+        limit);
+    Keyset.requireValidLimit(limit);
+
+    KeysetCursor cursor = after == null ? null : KeysetCursor.decode(after);
+    String field = cursor == null ? sortField : cursor.field();
+    Sort.Direction order = cursor == null ? direction : cursor.direction();
+    SortWhitelist.requireAllowed(SortWhitelist.STUDENT_KEYSET_FIELDS, field);
+
+    CursorPage<StudentResponseDTO> response =
+        Keyset.toPage(
+            studentRepository.findResponsesAfter(
+                StudentSpecifications.matching(filter), cursor, field, order, limit + 1),
+            limit,
+            last -> new KeysetCursor(field, order, sortValue(last, field), last.getId()));
+    log.info(
+        "Fetched {} students, has next: {}", response.getContent().size(), response.isHasNext());
+    return response;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPage<StudentResponseDTO> getStudentsOfTeacher(
+      Long teacherId, String after, int limit) {
+    StudentFilterDTO filter = new StudentFilterDTO();
+    filter.setTeacherId(teacherId);
+    CursorPage<StudentResponseDTO> response =
+        getStudentsAfter(filter, after, limit, "id", Sort.Direction.ASC);
+    // Only an empty first page has to tell an unknown teacher from one without students
+    if (after == null
+        && response.getContent().isEmpty()
+        && !teacherRepository.existsById(teacherId)) {
+      throw new ResourceNotFoundException("Teacher not found");
+    }
+    return response;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
   public List<StudentResponseDTO> searchStudentByName(String name) {
 
     log.info("Searching students by name: {}", name);
 
+    List<Long> ids =
+        studentNameIndex.isReady() ? studentNameIndex.search(name, Sort.by("id")) : null;
     List<StudentResponseDTO> students =
-        studentRepository.findByNameContainingIgnoreCase(name).stream()
-            .map(this::mapToResponse)
-            .collect(Collectors.toList());
+        ids == null ? studentRepository.searchResponsesByName(name) : findResponsesInOrder(ids);
 
     log.info("Found {} students matching name: {}", students.size(), name);
 
@@ -131,24 +363,72 @@ public class StudentServiceImpl implements StudentService {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public Page<StudentResponseDTO> searchStudentByName(String name, Pageable pageable) {
     log.info(
         "Searching students by name: {} with pagination - page: {}, size: {}",
         name,
         pageable.getPageNumber(),
         pageable.getPageSize());
-    Page<Student> studentPage = studentRepository.findByNameContainingIgnoreCase(name, pageable);
-    Page<StudentResponseDTO> response = studentPage.map(this::mapToResponse);
+    SortWhitelist.requireAllowed(SortWhitelist.STUDENT_SEARCH_SORT_FIELDS, pageable.getSort());
+    StudentNameIndex.Matches matches = searchNameIndex(name, pageable);
+    // The name index already knows every match, so only the database fallback needs a count
+    Page<StudentResponseDTO> response =
+        matches == null
+            ? countCache.page(
+                studentRepository.searchResponsesByName(name, withoutRelevance(pageable)),
+                CountCache.STUDENTS,
+                "name=" + name.toLowerCase(Locale.ROOT),
+                nameMatcher(name),
+                () -> studentRepository.countByName(name))
+            : pageOf(matches, pageable);
     log.info(
         "Found {} students matching name: {} on page {} of {}",
         response.getNumberOfElements(),
         name,
         pageable.getPageNumber(),
-        studentPage.getTotalPages());
+        response.getTotalPages());
     return response;
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public Slice<StudentResponseDTO> searchStudentSliceByName(String name, Pageable pageable) {
+    log.info(
+        "Searching students by name: {} without a total - page: {}, size: {}",
+        name,
+        pageable.getPageNumber(),
+        pageable.getPageSize());
+    SortWhitelist.requireAllowed(SortWhitelist.STUDENT_SEARCH_SORT_FIELDS, pageable.getSort());
+    StudentNameIndex.Matches matches = searchNameIndex(name, pageable);
+    Slice<StudentResponseDTO> response =
+        matches == null
+            ? studentRepository.searchResponsesByName(name, withoutRelevance(pageable))
+            : pageOf(matches, pageable);
+    log.info(
+        "Found {} students matching name: {} on page {}, has next: {}",
+        response.getNumberOfElements(),
+        name,
+        pageable.getPageNumber(),
+        response.hasNext());
+    return response;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<StudentSuggestionDTO> suggestStudents(String prefix, int limit) {
+    log.info("Suggesting students for prefix: {}", prefix);
+    int max = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+    List<StudentSuggestionDTO> suggestions =
+        studentNameIndex.isReady()
+            ? studentNameIndex.suggest(prefix, max)
+            : studentRepository.suggestByPrefix(prefix, PageRequest.of(0, max));
+    log.info("Found {} suggestions for prefix: {}", suggestions.size(), prefix);
+    return suggestions;
+  }
+
+  @Override
+  @Transactional
   public StudentResponseDTO assignTeacher(Long studentId, Long teacherId) {
     log.info("Assigning teacher ID: {} to student ID: {}", teacherId, studentId);
 
@@ -162,13 +442,94 @@ public class StudentServiceImpl implements StudentService {
             .findById(teacherId)
             .orElseThrow(() -> new ResourceNotFoundException("Teacher not found"));
 
+    teacherRosterCache.evict(teacherIdOf(student), teacherId);
+    studentDetailCache.evict(studentId);
+    StudentStatistics.Facts before = StudentStatistics.Facts.of(student);
     student.setTeacher(teacher);
-    StudentResponseDTO response = mapToResponse(studentRepository.save(student));
+    studentStatistics.studentChanged(before, StudentStatistics.Facts.of(student));
+    responseCache.studentsChanged();
+    countCache.changed(CountCache.STUDENTS);
+    // Flushed so the response carries the version this update wrote
+    StudentResponseDTO response = mapToResponse(studentRepository.saveAndFlush(student));
     log.info("Teacher assigned successfully to student ID: {}", studentId);
     return response;
   }
 
   @Override
+  @Transactional
+  public StudentAssignmentResultDTO assignTeacherToStudents(
+      Long teacherId, StudentSelectionDTO dto) {
+    log.info("Bulk assigning students to teacher ID: {}", teacherId);
+
+    Teacher teacher =
+        teacherRepository
+            .findById(teacherId)
+            .orElseThrow(() -> new ResourceNotFoundException("Teacher not found"));
+    List<TeacherStudentId> matched = selectStudents(dto, true);
+
+    List<Long> moving = new ArrayList<>();
+    List<Long> previousTeachers = new ArrayList<>();
+    Set<Long> affectedTeachers = new HashSet<>();
+    affectedTeachers.add(teacherId);
+    for (TeacherStudentId row : matched) {
+      if (!teacherId.equals(row.getTeacherId())) {
+        moving.add(row.getStudentId());
+        previousTeachers.add(row.getTeacherId());
+        affectedTeachers.add(row.getTeacherId());
+      }
+    }
+
+    int updated = 0;
+    for (int i = 0; i < moving.size(); i += ID_CHUNK_SIZE) {
+      updated +=
+          studentRepository.assignTeacher(
+              moving.subList(i, Math.min(i + ID_CHUNK_SIZE, moving.size())), teacher);
+    }
+
+    // The bulk update already evicted the second-level student and roster regions
+    if (updated > 0) {
+      teacherRosterCache.evict(affectedTeachers.toArray(Long[]::new));
+      studentDetailCache.evict(moving);
+      studentStatistics.studentsMoved(previousTeachers, teacherId);
+      responseCache.studentsChanged();
+      countCache.changed(CountCache.STUDENTS);
+    }
+    log.info(
+        "Assigned {} of {} matched students to teacher ID: {}", updated, matched.size(), teacherId);
+    return new StudentAssignmentResultDTO(teacherId, matched.size(), updated);
+  }
+
+  @Override
+  @Transactional
+  public StudentDeletionResultDTO deleteStudents(StudentSelectionDTO dto) {
+    log.info("Bulk deleting students");
+
+    // Ids that no longer exist are skipped, so a retried delete succeeds
+    List<TeacherStudentId> matched = selectStudents(dto, false);
+    List<Long> ids = matched.stream().map(TeacherStudentId::getStudentId).toList();
+
+    int deleted = 0;
+    for (int i = 0; i < ids.size(); i += ID_CHUNK_SIZE) {
+      deleted +=
+          studentRepository.deleteByIdIn(ids.subList(i, Math.min(i + ID_CHUNK_SIZE, ids.size())));
+    }
+
+    if (deleted > 0) {
+      teacherRosterCache.evict(
+          matched.stream().map(TeacherStudentId::getTeacherId).toArray(Long[]::new));
+      studentDetailCache.evict(ids);
+      studentNameIndex.removeAll(ids);
+      // Only ids were selected, so the counters are rebuilt rather than adjusted
+      studentStatistics.reconcileAfterCommit();
+      responseCache.studentsChanged();
+      countCache.rowsRemoved(CountCache.STUDENTS, deleted);
+    }
+    log.info("Deleted {} students", deleted);
+    return new StudentDeletionResultDTO(deleted);
+  }
+
+  @Override
+  @Transactional
   public StudentResponseDTO removeTeacher(Long studentId) {
     log.info("Removing teacher from student ID: {}", studentId);
 
@@ -177,33 +538,155 @@ public class StudentServiceImpl implements StudentService {
             .findById(studentId)
             .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
 
+    teacherRosterCache.evict(teacherIdOf(student));
+    studentDetailCache.evict(studentId);
+    StudentStatistics.Facts before = StudentStatistics.Facts.of(student);
     student.setTeacher(null);
-    StudentResponseDTO response = mapToResponse(studentRepository.save(student));
+    studentStatistics.studentChanged(before, StudentStatistics.Facts.of(student));
+    responseCache.studentsChanged();
+    countCache.changed(CountCache.STUDENTS);
+    // Flushed so the response carries the version this update wrote
+    StudentResponseDTO response = mapToResponse(studentRepository.saveAndFlush(student));
     log.info("Teacher removed successfully from student ID: {}", studentId);
     return response;
   }
 
   @Override
+  @Transactional
   public void deleteStudent(Long id) {
     log.info("Deleting student with ID: {}", id);
     Student student =
         studentRepository
             .findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+    teacherRosterCache.evict(teacherIdOf(student));
     studentRepository.delete(student);
+    studentNameIndex.remove(id);
+    studentDetailCache.evict(id);
+    studentStatistics.studentRemoved(StudentStatistics.Facts.of(student));
+    responseCache.studentsChanged();
+    countCache.removed(CountCache.STUDENTS, student);
     log.info("Student deleted successfully with ID: {}", id);
   }
 
   @Override
+  @Transactional
   public StudentResponseDTO assignTeacherToStudent(Long studentId, Long teacherId) {
     return assignTeacher(studentId, teacherId);
   }
 
   @Override
+  @Transactional
   public StudentResponseDTO removeTeacherFromStudent(Long studentId) {
     return removeTeacher(studentId);
   }
 
+  // Reading the id of the lazy teacher proxy does not load the teacher
+  private static Long teacherIdOf(Student student) {
+    return student.getTeacher() == null ? null : student.getTeacher().getId();
+  }
+
+  // Null when the index is not built yet or cannot apply the sort
+  private StudentNameIndex.Matches searchNameIndex(String name, Pageable pageable) {
+    return studentNameIndex.isReady()
+        ? studentNameIndex.search(
+            name, pageable.getSort(), pageable.getOffset(), pageable.getPageSize())
+        : null;
+  }
+
+  // Ids whose rows are gone (deleted on another instance and not reconciled yet) are left out of
+  // the content, so such a page comes up short. The total is the index's count, except on the
+  // last page, where PageImpl replaces it with the offset plus the students actually found.
+  private Page<StudentResponseDTO> pageOf(StudentNameIndex.Matches matches, Pageable pageable) {
+    return new PageImpl<>(findResponsesInOrder(matches.ids()), pageable, matches.total());
+  }
+
+  // Loads the given students and keeps the order of the ids
+  private List<StudentResponseDTO> findResponsesInOrder(List<Long> ids) {
+    Map<Long, StudentResponseDTO> byId = findResponsesById(ids);
+    return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+  }
+
+  // Chunked IN queries, so any number of ids stays within the database's parameter limits
+  private Map<Long, StudentResponseDTO> findResponsesById(Collection<Long> ids) {
+    List<Long> list = List.copyOf(ids);
+    Map<Long, StudentResponseDTO> byId = new HashMap<>();
+    for (int i = 0; i < list.size(); i += ID_CHUNK_SIZE) {
+      studentRepository
+          .findResponsesByIdIn(list.subList(i, Math.min(i + ID_CHUNK_SIZE, list.size())))
+          .forEach(dto -> byId.put(dto.getId(), dto));
+    }
+    return byId;
+  }
+
+  // Students picked by a bulk operation, with their current teacher (or null)
+  private List<TeacherStudentId> selectStudents(StudentSelectionDTO dto, boolean requireAll) {
+    boolean byIds = dto.getStudentIds() != null && !dto.getStudentIds().isEmpty();
+    boolean byFilter = dto.getDepartment() != null || dto.getGrade() != null;
+    if (byIds == byFilter) {
+      throw new BadRequestException("Provide either studentIds or a department/grade filter");
+    }
+    if (byFilter) {
+      return studentRepository.findTeacherIdsByFilter(dto.getDepartment(), dto.getGrade());
+    }
+
+    List<TeacherStudentId> matched = findTeacherIdsInChunks(dto.getStudentIds());
+    if (requireAll) {
+      Set<Long> missing = new HashSet<>(dto.getStudentIds());
+      matched.forEach(row -> missing.remove(row.getStudentId()));
+      if (!missing.isEmpty()) {
+        throw new BadRequestException(
+            "Unknown student ids: " + missing.stream().sorted().limit(20).toList());
+      }
+    }
+    return matched;
+  }
+
+  private List<TeacherStudentId> findTeacherIdsInChunks(List<Long> ids) {
+    List<Long> distinct = ids.stream().distinct().toList();
+    List<TeacherStudentId> rows = new ArrayList<>(distinct.size());
+    for (int i = 0; i < distinct.size(); i += ID_CHUNK_SIZE) {
+      rows.addAll(
+          studentRepository.findTeacherIdsByStudentIdIn(
+              distinct.subList(i, Math.min(i + ID_CHUNK_SIZE, distinct.size()))));
+    }
+    return rows;
+  }
+
+  private Slice<StudentResponseDTO> findStudents(StudentFilterDTO filter, Pageable pageable) {
+    SortWhitelist.requireAllowed(SortWhitelist.STUDENT_SORT_FIELDS, pageable.getSort());
+    return studentRepository.findResponses(StudentSpecifications.matching(filter), pageable);
+  }
+
+  // The unfiltered listing shares its count with the adjustments made by bulk writes
+  private static String countKey(StudentFilterDTO filter) {
+    return filter.equals(new StudentFilterDTO()) ? CountCache.ALL : filter.toString();
+  }
+
+  // In-memory twin of NAME_FILTER, for adjusting cached search counts
+  private static Predicate<Student> nameMatcher(String name) {
+    String needle = name.toLowerCase(Locale.ROOT);
+    return student ->
+        student.getName() != null && student.getName().toLowerCase(Locale.ROOT).contains(needle);
+  }
+
+  // "relevance" is only known to the name index; the database fallback orders by name instead
+  private static Pageable withoutRelevance(Pageable pageable) {
+    if (pageable.getSort().getOrderFor("relevance") == null) {
+      return pageable;
+    }
+    return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("name"));
+  }
+
+  private static String sortValue(StudentResponseDTO dto, String field) {
+    return switch (field) {
+      case "name" -> dto.getName();
+      case "email" -> dto.getEmail();
+      case "studentId" -> dto.getStudentId();
+      default -> null;
+    };
+  }
+
   private Student mapToEntity(StudentRequestDTO dto) {
     Student student = new Student();
     student.setName(dto.getName());
@@ -232,9 +715,12 @@ public class StudentServiceImpl implements StudentService {
     dto.setAge(student.getAge());
     dto.setGrade(student.getGrade());
 
+    dto.setVersion(student.getVersion());
+
     if (student.getTeacher() != null) {
       dto.setTeacherId(student.getTeacher().getId());
       dto.setTeacherName(student.getTeacher().getName());
+      dto.setTeacherVersion(student.getTeacher().getVersion());
     }
     return dto;
   }
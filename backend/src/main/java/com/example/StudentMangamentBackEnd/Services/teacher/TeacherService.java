@@ -1,9 +1,16 @@
 package com.example.StudentMangamentBackEnd.Services.teacher;
 
 import com.example.StudentMangamentBackEnd.DTO.teacher.*;
+import com.example.StudentMangamentBackEnd.export.ExportFormat;
+import com.example.StudentMangamentBackEnd.response.BatchResult;
+import com.example.StudentMangamentBackEnd.response.CursorPage;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 public interface TeacherService {
 
@@ -13,15 +20,39 @@ public interface TeacherService {
 
   TeacherResponseDTO updateTeacher(Long id, TeacherRequestDTO dto);
 
+  // Fails with 412 unless ifMatch (when given) matches the teacher's current ETag
+  TeacherResponseDTO updateTeacher(Long id, TeacherRequestDTO dto, String ifMatch);
+
+  // Current ETag of the teacher as the given view renders it, without loading the teacher
+  String getTeacherEtag(Long id, RosterView view);
+
   TeacherResponseDTO getTeacherById(Long id);
 
+  // COUNT responses are not cached; they cost the teacher row and one count query
+  TeacherResponseDTO getTeacherById(Long id, RosterView view);
+
+  // Found teachers in the order of the ids, plus the ids that do not exist
+  BatchResult<TeacherResponseDTO> getTeachersByIds(List<Long> ids, RosterView view);
+
   List<TeacherResponseDTO> getAllTeachers();
 
-  Page<TeacherResponseDTO> getAllTeachers(Pageable pageable);
+  // Sort fields of offset pages and searches are limited to SortWhitelist.TEACHER_SORT_FIELDS
+  Page<TeacherResponseDTO> getAllTeachers(Pageable pageable, RosterView view);
+
+  // Like getAllTeachers, but only tells whether another page follows, without counting
+  Slice<TeacherResponseDTO> getTeacherSlice(Pageable pageable, RosterView view);
+
+  long exportTeachers(OutputStream out, ExportFormat format) throws IOException;
+
+  CursorPage<TeacherResponseDTO> getTeachersAfter(
+      String after, int limit, String sortField, Sort.Direction direction, RosterView view);
 
   List<TeacherResponseDTO> searchTeacherByName(String name);
 
-  Page<TeacherResponseDTO> searchTeacherByName(String name, Pageable pageable);
+  Page<TeacherResponseDTO> searchTeacherByName(String name, Pageable pageable, RosterView view);
+
+  Slice<TeacherResponseDTO> searchTeacherSliceByName(
+      String name, Pageable pageable, RosterView view);
 
   void deleteTeacher(Long id);
 }
@@ -1,34 +1,108 @@
 package com.example.StudentMangamentBackEnd.Services.teacher;
 
+import com.example.StudentMangamentBackEnd.DTO.student.StudentResponseDTO;
 import com.example.StudentMangamentBackEnd.DTO.teacher.*;
+import com.example.StudentMangamentBackEnd.cache.CountCache;
+import com.example.StudentMangamentBackEnd.cache.DetailCache;
+import com.example.StudentMangamentBackEnd.cache.ResponseCache;
 import com.example.StudentMangamentBackEnd.exception.BadRequestException;
 import com.example.StudentMangamentBackEnd.exception.ResourceNotFoundException;
-import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.export.ExportFormat;
+import com.example.StudentMangamentBackEnd.export.ExportWriter;
 import com.example.StudentMangamentBackEnd.model.Teacher;
+import com.example.StudentMangamentBackEnd.pagination.Keyset;
+import com.example.StudentMangamentBackEnd.pagination.KeysetCursor;
+import com.example.StudentMangamentBackEnd.pagination.SortWhitelist;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
 import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import com.example.StudentMangamentBackEnd.repository.projection.TeacherCount;
+import com.example.StudentMangamentBackEnd.repository.projection.TeacherRow;
+import com.example.StudentMangamentBackEnd.repository.projection.TeacherStudentId;
+import com.example.StudentMangamentBackEnd.response.BatchResult;
+import com.example.StudentMangamentBackEnd.response.CursorPage;
+import com.example.StudentMangamentBackEnd.response.ETags;
 import com.example.StudentMangamentBackEnd.security.JwtUtil;
+import com.example.StudentMangamentBackEnd.security.TokenVersionRegistry;
+import com.example.StudentMangamentBackEnd.stats.StudentStatistics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
 public class TeacherServiceImpl implements TeacherService {
 
   private final TeacherRepository teacherRepository;
+  private final StudentRepository studentRepository;
   private final PasswordEncoder passwordEncoder;
   private final JwtUtil jwtUtil;
+  private final TokenVersionRegistry tokenVersionRegistry;
+  private final DetailCache<TeacherResponseDTO> teacherDetailCache;
+  private final DetailCache<StudentResponseDTO> studentDetailCache;
+  private final StudentStatistics studentStatistics;
+  private final ResponseCache responseCache;
+  private final CountCache countCache;
+  private final ObjectMapper objectMapper;
+
+  // Teachers whose student ids are resolved together while exporting
+  private static final int EXPORT_BATCH_SIZE = 500;
+
+  // Ids per IN query of a batch fetch
+  private static final int ID_CHUNK_SIZE = 1000;
+
+  private static final List<ExportWriter.Column<TeacherResponseDTO>> EXPORT_COLUMNS =
+      List.of(
+          new ExportWriter.Column<>("id", TeacherResponseDTO::getId),
+          new ExportWriter.Column<>("name", TeacherResponseDTO::getName),
+          new ExportWriter.Column<>("email", TeacherResponseDTO::getEmail),
+          new ExportWriter.Column<>("subject", TeacherResponseDTO::getSubject),
+          new ExportWriter.Column<>("address", TeacherResponseDTO::getAddress),
+          new ExportWriter.Column<>("department", TeacherResponseDTO::getDepartment),
+          new ExportWriter.Column<>("age", TeacherResponseDTO::getAge),
+          new ExportWriter.Column<>("phone", TeacherResponseDTO::getPhone),
+          new ExportWriter.Column<>("studentIds", TeacherResponseDTO::getStudentIds));
 
   public TeacherServiceImpl(
-      TeacherRepository teacherRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+      TeacherRepository teacherRepository,
+      StudentRepository studentRepository,
+      PasswordEncoder passwordEncoder,
+      JwtUtil jwtUtil,
+      TokenVersionRegistry tokenVersionRegistry,
+      DetailCache<TeacherResponseDTO> teacherDetailCache,
+      DetailCache<StudentResponseDTO> studentDetailCache,
+      StudentStatistics studentStatistics,
+      ResponseCache responseCache,
+      CountCache countCache,
+      ObjectMapper objectMapper) {
 
     this.teacherRepository = teacherRepository;
+    this.studentRepository = studentRepository;
     this.passwordEncoder = passwordEncoder;
     this.jwtUtil = jwtUtil;
+    this.tokenVersionRegistry = tokenVersionRegistry;
+    this.teacherDetailCache = teacherDetailCache;
+    this.studentDetailCache = studentDetailCache;
+    this.studentStatistics = studentStatistics;
+    this.responseCache = responseCache;
+    this.countCache = countCache;
+    this.objectMapper = objectMapper;
   }
 
   @Override
@@ -45,12 +119,19 @@ public class TeacherServiceImpl implements TeacherService {
       throw new ResourceNotFoundException("Invalid password");
     }
 
-    String token = jwtUtil.generateToken(teacher.getEmail(), "TEACHER");
+    // Rehash with the configured BCrypt strength when the stored hash is weaker
+    if (passwordEncoder.upgradeEncoding(teacher.getPassword())) {
+      teacherRepository.updatePassword(teacher.getId(), passwordEncoder.encode(dto.getPassword()));
+      log.info("Upgraded password hash for teacher: {}", dto.getEmail());
+    }
+
+    String token = jwtUtil.generateToken(teacher.getEmail(), "TEACHER", teacher.getTokenVersion());
     log.info("Teacher logged in successfully: {}", dto.getEmail());
     return new TeacherLoginResponseDTO(token);
   }
 
   @Override
+  @Transactional
   public TeacherResponseDTO createTeacher(TeacherRequestDTO dto) {
     log.info("Creating teacher with email: {}", dto.getEmail());
 
@@ -61,19 +142,45 @@ public class TeacherServiceImpl implements TeacherService {
     Teacher teacher = mapToEntity(dto);
     teacher.setPassword(passwordEncoder.encode(dto.getPassword()));
 
-    TeacherResponseDTO response = mapToResponse(teacherRepository.save(teacher));
+    Teacher saved = teacherRepository.save(teacher);
+    TeacherResponseDTO response = mapToResponse(saved, List.of());
+    studentStatistics.teacherAdded(response.getId());
+    responseCache.teachersChanged();
+    countCache.added(CountCache.TEACHERS, saved);
+    tokenVersionRegistry.changed("TEACHER", saved.getEmail());
     log.info("Teacher created successfully with ID: {}", response.getId());
     return response;
   }
 
   @Override
+  @Transactional
   public TeacherResponseDTO updateTeacher(Long id, TeacherRequestDTO dto) {
+    return updateTeacher(id, dto, null);
+  }
+
+  @Override
+  @Transactional
+  public TeacherResponseDTO updateTeacher(Long id, TeacherRequestDTO dto, String ifMatch) {
     log.info("Updating teacher with ID: {}", id);
 
     Teacher teacher =
         teacherRepository
             .findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Teacher not found"));
+    if (ifMatch != null) {
+      // The tag may come from the ids view or the count view
+      List<Long> studentIds = studentIdsOf(id);
+      ETags.requireMatch(
+          ifMatch,
+          List.of(
+              ETags.of(teacher.getVersion(), ETags.digest(studentIds)),
+              ETags.of(teacher.getVersion(), TeacherResponseDTO.countTag(studentIds.size()))),
+          "Teacher");
+    }
+
+    String previousEmail = teacher.getEmail();
+    boolean passwordChanged = dto.getPassword() != null && !dto.getPassword().isBlank();
+    boolean revokeTokens = passwordChanged || !previousEmail.equalsIgnoreCase(dto.getEmail());
 
     teacher.setName(dto.getName());
     teacher.setEmail(dto.getEmail());
@@ -83,53 +190,193 @@ public class TeacherServiceImpl implements TeacherService {
     teacher.setAge(dto.getAge());
     teacher.setPhone(dto.getPhone());
 
-    if (dto.getPassword() != null && !dto.getPassword().isBlank()) {
+    if (passwordChanged) {
       teacher.setPassword(passwordEncoder.encode(dto.getPassword()));
     }
+    // Written in this transaction, so a rollback revokes nothing
+    if (revokeTokens) {
+      teacher.setTokenVersion(teacher.getTokenVersion() + 1);
+    }
 
-    TeacherResponseDTO response = mapToResponse(teacherRepository.save(teacher));
+    // Flushed so the response carries the version this update wrote
+    TeacherResponseDTO response = mapToResponse(teacherRepository.saveAndFlush(teacher));
+
+    // The student details carry the teacher's name
+    teacherDetailCache.evict(id);
+    studentDetailCache.evict(response.getStudentIds());
+    responseCache.teachersChanged();
+    countCache.changed(CountCache.TEACHERS);
+
+    if (revokeTokens) {
+      tokenVersionRegistry.changed("TEACHER", previousEmail);
+    }
     log.info("Teacher updated successfully with ID: {}", id);
     return response;
   }
 
+  @Override
+  public BatchResult<TeacherResponseDTO> getTeachersByIds(List<Long> ids, RosterView view) {
+    List<Long> requested = BatchResult.requireValidIds(ids);
+    log.info("Fetching {} teachers by id with student {}", requested.size(), view);
+    // With ids, only the teachers missing from the detail cache are read; counts are cheap enough
+    // to read every time
+    BatchResult<TeacherResponseDTO> response =
+        BatchResult.of(
+            requested,
+            view == RosterView.COUNT
+                ? findResponsesById(requested, view)
+                : teacherDetailCache.getAll(
+                    requested, missing -> findResponsesById(missing, view)));
+    log.info(
+        "Fetched {} teachers, {} missing",
+        response.getContent().size(),
+        response.getMissingIds().size());
+    return response;
+  }
+
   @Override
   public TeacherResponseDTO getTeacherById(Long id) {
     log.info("Fetching teacher with ID: {}", id);
     TeacherResponseDTO response =
-        mapToResponse(
-            teacherRepository
-                .findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Teacher not found")));
+        teacherDetailCache.get(
+            id,
+            key ->
+                mapToResponse(
+                    teacherRepository
+                        .findById(key)
+                        .orElseThrow(() -> new ResourceNotFoundException("Teacher not found"))));
     log.info("Teacher fetched successfully with ID: {}", id);
     return response;
   }
 
   @Override
+  public TeacherResponseDTO getTeacherById(Long id, RosterView view) {
+    if (view == RosterView.IDS) {
+      return getTeacherById(id);
+    }
+    log.info("Fetching teacher with ID: {} and its student count", id);
+    Teacher teacher =
+        teacherRepository
+            .findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Teacher not found"));
+    TeacherResponseDTO response = mapToResponse(teacher, null, studentCountOf(id));
+    log.info("Teacher fetched successfully with ID: {}", id);
+    return response;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public String getTeacherEtag(Long id, RosterView view) {
+    Long version =
+        teacherRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Teacher not found"));
+    return view == RosterView.COUNT
+        ? ETags.of(version, TeacherResponseDTO.countTag(studentCountOf(id)))
+        : ETags.of(version, ETags.digest(studentIdsOf(id)));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
   public List<TeacherResponseDTO> getAllTeachers() {
     log.info("Fetching all teachers");
+    Map<Long, List<Long>> studentIds = groupByTeacher(studentRepository.findAllTeacherStudentIds());
     List<TeacherResponseDTO> teachers =
-        teacherRepository.findAll().stream().map(this::mapToResponse).collect(Collectors.toList());
+        teacherRepository.findAll().stream()
+            .map(t -> mapToResponse(t, studentIds.getOrDefault(t.getId(), List.of())))
+            .collect(Collectors.toList());
     log.info("Fetched {} teachers", teachers.size());
     return teachers;
   }
 
   @Override
-  public Page<TeacherResponseDTO> getAllTeachers(Pageable pageable) {
+  @Transactional(readOnly = true)
+  public long exportTeachers(OutputStream out, ExportFormat format) throws IOException {
+    log.info("Exporting all teachers as {}", format);
+
+    ExportWriter<TeacherResponseDTO> writer =
+        new ExportWriter<>(out, format, objectMapper, TeacherResponseDTO.class, EXPORT_COLUMNS);
+    List<TeacherRow> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+    try (Stream<TeacherRow> teachers = teacherRepository.streamAllRows()) {
+      teachers.forEach(
+          row -> {
+            batch.add(row);
+            if (batch.size() == EXPORT_BATCH_SIZE) {
+              writeExportBatch(batch, writer);
+            }
+          });
+    }
+    writeExportBatch(batch, writer);
+
+    long exported = writer.finish();
+    log.info("Exported {} teachers", exported);
+    return exported;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Page<TeacherResponseDTO> getAllTeachers(Pageable pageable, RosterView view) {
     log.info(
         "Fetching all teachers with pagination - page: {}, size: {}",
         pageable.getPageNumber(),
         pageable.getPageSize());
-    Page<Teacher> teacherPage = teacherRepository.findAll(pageable);
-    Page<TeacherResponseDTO> response = teacherPage.map(this::mapToResponse);
+    SortWhitelist.requireAllowed(SortWhitelist.TEACHER_SORT_FIELDS, pageable.getSort());
+    Page<TeacherResponseDTO> response =
+        countCache.page(
+            mapToResponse(teacherRepository.findAllBy(pageable), view),
+            CountCache.TEACHERS,
+            CountCache.ALL,
+            teacher -> true,
+            teacherRepository::count);
     log.info(
         "Fetched {} teachers from page {} of {}",
         response.getNumberOfElements(),
         pageable.getPageNumber(),
-        teacherPage.getTotalPages());
+        response.getTotalPages());
     return response;
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public Slice<TeacherResponseDTO> getTeacherSlice(Pageable pageable, RosterView view) {
+    log.info(
+        "Fetching teachers without a total - page: {}, size: {}",
+        pageable.getPageNumber(),
+        pageable.getPageSize());
+    SortWhitelist.requireAllowed(SortWhitelist.TEACHER_SORT_FIELDS, pageable.getSort());
+    Slice<TeacherResponseDTO> response = mapToResponse(teacherRepository.findAllBy(pageable), view);
+    log.info(
+        "Fetched {} teachers from page {}, has next: {}",
+        response.getNumberOfElements(),
+        pageable.getPageNumber(),
+        response.hasNext());
+    return response;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPage<TeacherResponseDTO> getTeachersAfter(
+      String after, int limit, String sortField, Sort.Direction direction, RosterView view) {
+    log.info("Fetching teachers after cursor - sort: {}, limit: {}", sortField, limit);
+    Keyset.requireValidLimit(limit);
+
+    KeysetCursor cursor = after == null ? null : KeysetCursor.decode(after);
+    String field = cursor == null ? sortField : cursor.field();
+    Sort.Direction order = cursor == null ? direction : cursor.direction();
+    SortWhitelist.requireAllowed(SortWhitelist.TEACHER_KEYSET_FIELDS, field);
+
+    CursorPage<TeacherResponseDTO> response =
+        Keyset.toPage(
+            mapToResponse(teacherRepository.findAfter(cursor, field, order, limit + 1), view),
+            limit,
+            last -> new KeysetCursor(field, order, sortValue(last, field), last.getId()));
+    log.info(
+        "Fetched {} teachers, has next: {}", response.getContent().size(), response.isHasNext());
+    return response;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
   public List<TeacherResponseDTO> searchTeacherByName(String name) {
     log.info("Searching teachers by name: {}", name);
     List<TeacherResponseDTO> teachers =
@@ -141,34 +388,86 @@ public class TeacherServiceImpl implements TeacherService {
   }
 
   @Override
-  public Page<TeacherResponseDTO> searchTeacherByName(String name, Pageable pageable) {
+  @Transactional(readOnly = true)
+  public Page<TeacherResponseDTO> searchTeacherByName(
+      String name, Pageable pageable, RosterView view) {
     log.info(
         "Searching teachers by name: {} with pagination - page: {}, size: {}",
         name,
         pageable.getPageNumber(),
         pageable.getPageSize());
-    Page<Teacher> teacherPage = teacherRepository.findByNameContainingIgnoreCase(name, pageable);
-    Page<TeacherResponseDTO> response = teacherPage.map(this::mapToResponse);
+    SortWhitelist.requireAllowed(SortWhitelist.TEACHER_SORT_FIELDS, pageable.getSort());
+    String needle = name.toLowerCase(Locale.ROOT);
+    Page<TeacherResponseDTO> response =
+        countCache.page(
+            mapToResponse(teacherRepository.findByNameContainingIgnoreCase(name, pageable), view),
+            CountCache.TEACHERS,
+            "name=" + needle,
+            (Teacher teacher) ->
+                teacher.getName() != null
+                    && teacher.getName().toLowerCase(Locale.ROOT).contains(needle),
+            () -> teacherRepository.countByNameContainingIgnoreCase(name));
     log.info(
         "Found {} teachers matching name: {} on page {} of {}",
         response.getNumberOfElements(),
         name,
         pageable.getPageNumber(),
-        teacherPage.getTotalPages());
+        response.getTotalPages());
+    return response;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Slice<TeacherResponseDTO> searchTeacherSliceByName(
+      String name, Pageable pageable, RosterView view) {
+    log.info(
+        "Searching teachers by name: {} without a total - page: {}, size: {}",
+        name,
+        pageable.getPageNumber(),
+        pageable.getPageSize());
+    SortWhitelist.requireAllowed(SortWhitelist.TEACHER_SORT_FIELDS, pageable.getSort());
+    Slice<TeacherResponseDTO> response =
+        mapToResponse(teacherRepository.findByNameContainingIgnoreCase(name, pageable), view);
+    log.info(
+        "Found {} teachers matching name: {} on page {}, has next: {}",
+        response.getNumberOfElements(),
+        name,
+        pageable.getPageNumber(),
+        response.hasNext());
     return response;
   }
 
   @Override
+  @Transactional
   public void deleteTeacher(Long id) {
     log.info("Deleting teacher with ID: {}", id);
     Teacher teacher =
         teacherRepository
             .findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Teacher not found"));
+    // Students stay, without a teacher; the collection is never loaded
+    List<Long> studentIds = studentIdsOf(id);
+    studentRepository.detachFromTeacher(id);
     teacherRepository.delete(teacher);
+    teacherDetailCache.evict(id);
+    studentDetailCache.evict(studentIds);
+    studentStatistics.teacherRemoved(id);
+    responseCache.teachersChanged();
+    countCache.removed(CountCache.TEACHERS, teacher);
+    // Its students no longer match a teacherId filter
+    countCache.changed(CountCache.STUDENTS);
+    tokenVersionRegistry.changed("TEACHER", teacher.getEmail());
     log.info("Teacher deleted successfully with ID: {}", id);
   }
 
+  private static String sortValue(TeacherResponseDTO dto, String field) {
+    return switch (field) {
+      case "name" -> dto.getName();
+      case "email" -> dto.getEmail();
+      default -> null;
+    };
+  }
+
   private Teacher mapToEntity(TeacherRequestDTO dto) {
     Teacher teacher = new Teacher();
     teacher.setName(dto.getName());
@@ -181,7 +480,113 @@ public class TeacherServiceImpl implements TeacherService {
     return teacher;
   }
 
+  // Teachers and their students, one chunk of ids at a time
+  private Map<Long, TeacherResponseDTO> findResponsesById(Collection<Long> ids, RosterView view) {
+    List<Long> list = List.copyOf(ids);
+    Map<Long, TeacherResponseDTO> byId = new HashMap<>();
+    for (int i = 0; i < list.size(); i += ID_CHUNK_SIZE) {
+      mapToResponse(
+              teacherRepository.findAllById(
+                  list.subList(i, Math.min(i + ID_CHUNK_SIZE, list.size()))),
+              view)
+          .forEach(dto -> byId.put(dto.getId(), dto));
+    }
+    return byId;
+  }
+
   private TeacherResponseDTO mapToResponse(Teacher teacher) {
+    return mapToResponse(teacher, studentIdsOf(teacher.getId()));
+  }
+
+  private List<Long> studentIdsOf(Long teacherId) {
+    return groupByTeacher(studentRepository.findStudentIdsByTeacherIds(List.of(teacherId)))
+        .getOrDefault(teacherId, List.of());
+  }
+
+  private long studentCountOf(Long teacherId) {
+    return studentCountsOf(List.of(teacherId)).getOrDefault(teacherId, 0L);
+  }
+
+  private Slice<TeacherResponseDTO> mapToResponse(Slice<Teacher> teachers, RosterView view) {
+    return teachers.map(rosterMapper(teachers.getContent(), view));
+  }
+
+  private List<TeacherResponseDTO> mapToResponse(List<Teacher> teachers, RosterView view) {
+    return teachers.stream().map(rosterMapper(teachers, view)).collect(Collectors.toList());
+  }
+
+  // Resolves the students of the whole page with one query instead of one per teacher: their
+  // ids, or for COUNT only a grouped count, so the response does not grow with the rosters
+  private Function<Teacher, TeacherResponseDTO> rosterMapper(
+      List<Teacher> teachers, RosterView view) {
+    List<Long> teacherIds = teachers.stream().map(Teacher::getId).toList();
+    if (view == RosterView.COUNT) {
+      Map<Long, Long> counts = studentCountsOf(teacherIds);
+      return t -> mapToResponse(t, null, counts.getOrDefault(t.getId(), 0L));
+    }
+    Map<Long, List<Long>> studentIds = studentIdsOf(teacherIds);
+    return t -> mapToResponse(t, studentIds.getOrDefault(t.getId(), List.of()));
+  }
+
+  private Map<Long, List<Long>> studentIdsOf(List<Long> teacherIds) {
+    if (teacherIds.isEmpty()) {
+      return Map.of();
+    }
+    return groupByTeacher(studentRepository.findStudentIdsByTeacherIds(teacherIds));
+  }
+
+  private Map<Long, Long> studentCountsOf(List<Long> teacherIds) {
+    if (teacherIds.isEmpty()) {
+      return Map.of();
+    }
+    return studentRepository.countByTeacherIds(teacherIds).stream()
+        .collect(Collectors.toMap(TeacherCount::teacherId, TeacherCount::count));
+  }
+
+  private Map<Long, List<Long>> groupByTeacher(List<TeacherStudentId> rows) {
+    Map<Long, List<Long>> studentIds = new HashMap<>();
+    for (TeacherStudentId row : rows) {
+      studentIds
+          .computeIfAbsent(row.getTeacherId(), k -> new ArrayList<>())
+          .add(row.getStudentId());
+    }
+    return studentIds;
+  }
+
+  private void writeExportBatch(List<TeacherRow> batch, ExportWriter<TeacherResponseDTO> writer) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    Map<Long, List<Long>> studentIds =
+        groupByTeacher(
+            studentRepository.findStudentIdsByTeacherIds(
+                batch.stream().map(TeacherRow::id).toList()));
+    for (TeacherRow row : batch) {
+      TeacherResponseDTO dto = new TeacherResponseDTO();
+      dto.setId(row.id());
+      dto.setName(row.name());
+      dto.setEmail(row.email());
+      dto.setSubject(row.subject());
+      dto.setAddress(row.address());
+      dto.setDepartment(row.department());
+      dto.setAge(row.age());
+      dto.setPhone(row.phone());
+      List<Long> ids = studentIds.getOrDefault(row.id(), List.of());
+      dto.setStudentIds(ids);
+      dto.setStudentCount(ids.size());
+      dto.setVersion(row.version());
+      writer.write(dto);
+    }
+    batch.clear();
+  }
+
+  private TeacherResponseDTO mapToResponse(Teacher teacher, List<Long> studentIds) {
+    return mapToResponse(teacher, studentIds, studentIds.size());
+  }
+
+  // studentIds is null for count-only responses
+  private TeacherResponseDTO mapToResponse(
+      Teacher teacher, List<Long> studentIds, long studentCount) {
 
     TeacherResponseDTO dto = new TeacherResponseDTO();
     dto.setId(teacher.getId());
@@ -192,11 +597,9 @@ public class TeacherServiceImpl implements TeacherService {
     dto.setDepartment(teacher.getDepartment());
     dto.setAge(teacher.getAge());
     dto.setPhone(teacher.getPhone());
-
-    if (teacher.getStudents() != null) {
-      dto.setStudentIds(
-          teacher.getStudents().stream().map(Student::getId).collect(Collectors.toList()));
-    }
+    dto.setStudentIds(studentIds);
+    dto.setStudentCount(studentCount);
+    dto.setVersion(teacher.getVersion());
     return dto;
   }
 }
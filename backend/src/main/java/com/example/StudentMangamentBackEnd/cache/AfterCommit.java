@@ -0,0 +1,27 @@
+package com.example.StudentMangamentBackEnd.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Defers in-memory bookkeeping (cache evictions, counters, indexes) until the transaction that
+// changed the rows commits, so a rollback leaves it untouched and no reader can see the change
+// before the database does.
+public final class AfterCommit {
+
+  private AfterCommit() {}
+
+  // Runs the action once the surrounding transaction commits, or at once outside of one
+  public static void run(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    } else {
+      action.run();
+    }
+  }
+}
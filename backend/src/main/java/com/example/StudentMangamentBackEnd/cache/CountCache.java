@@ -0,0 +1,138 @@
+package com.example.StudentMangamentBackEnd.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+// Totals of offset pages, keyed by the entity and the filter that was counted, so that flipping
+// through a listing or a search runs its COUNT(*) once rather than on every page.
+//
+// Write paths report rows after commit: a created or deleted row adjusts every cached count whose
+// filter it matches, and writes that can move rows between filters (updates, bulk changes) drop
+// the filtered counts of their entity. A count racing a write, or rows changed by another instance,
+// can still leave a total off; entries expire after cache.counts.ttl, and serving the last page
+// of a listing corrects its count, since the total is known exactly there.
+@Component
+public class CountCache {
+
+  public static final String STUDENTS = "students";
+  public static final String TEACHERS = "teachers";
+  public static final String ADMINS = "admins";
+
+  // Filter of the unfiltered listing
+  public static final String ALL = "";
+
+  private final Cache<Key, Entry> cache;
+
+  private record Key(String entity, String filter) {}
+
+  // Rows of an entity all have its type, so the predicate is only tested with what it expects
+  private record Entry(AtomicLong count, Predicate<Object> matches) {}
+
+  public CountCache(
+      MeterRegistry registry,
+      @Value("${cache.counts.max-size:10000}") long maxSize,
+      @Value("${cache.counts.ttl:5m}") Duration ttl) {
+
+    this.cache =
+        Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+    CaffeineCacheMetrics.monitor(registry, cache, "counts");
+  }
+
+  // Completes a slice with its total. A slice that ends the listing knows the total without
+  // counting; any other page takes it from the cache, counting on a miss.
+  @SuppressWarnings("unchecked")
+  public <T, R> Page<T> page(
+      Slice<T> slice, String entity, String filter, Predicate<R> matches, LongSupplier count) {
+
+    Pageable pageable = slice.getPageable();
+    long seen = pageable.getOffset() + slice.getNumberOfElements();
+    Key key = new Key(entity, filter);
+
+    if (!slice.hasNext() && (slice.hasContent() || pageable.getOffset() == 0)) {
+      Entry entry = cache.getIfPresent(key);
+      if (entry != null) {
+        entry.count().set(seen);
+      }
+      return new PageImpl<>(slice.getContent(), pageable, seen);
+    }
+
+    long total =
+        cache
+            .get(
+                key, k -> new Entry(new AtomicLong(count.getAsLong()), (Predicate<Object>) matches))
+            .count()
+            .get();
+    // A total that drifted low must not turn this page into the last one
+    return new PageImpl<>(
+        slice.getContent(), pageable, Math.max(total, slice.hasNext() ? seen + 1 : seen));
+  }
+
+  public void added(String entity, Object row) {
+    AfterCommit.run(() -> adjust(entity, row, 1));
+  }
+
+  public void removed(String entity, Object row) {
+    AfterCommit.run(() -> adjust(entity, row, -1));
+  }
+
+  // Rows written without being loaded (JDBC imports, deletes by id): only the unfiltered total
+  // can follow them
+  public void rowsAdded(String entity, long rows) {
+    AfterCommit.run(() -> adjustAll(entity, rows));
+  }
+
+  public void rowsRemoved(String entity, long rows) {
+    AfterCommit.run(() -> adjustAll(entity, -rows));
+  }
+
+  // Rows changed in place may now match other filters; the unfiltered total stays valid
+  public void changed(String entity) {
+    AfterCommit.run(() -> dropFiltered(entity));
+  }
+
+  public long estimatedSize() {
+    return cache.estimatedSize();
+  }
+
+  void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private void adjust(String entity, Object row, long delta) {
+    cache
+        .asMap()
+        .forEach(
+            (key, entry) -> {
+              if (key.entity().equals(entity) && entry.matches().test(row)) {
+                entry.count().addAndGet(delta);
+              }
+            });
+  }
+
+  private void adjustAll(String entity, long delta) {
+    dropFiltered(entity);
+    Entry all = cache.getIfPresent(new Key(entity, ALL));
+    if (all != null) {
+      all.count().addAndGet(delta);
+    }
+  }
+
+  private void dropFiltered(String entity) {
+    cache
+        .asMap()
+        .keySet()
+        .removeIf(key -> key.entity().equals(entity) && !key.filter().equals(ALL));
+  }
+}
@@ -0,0 +1,95 @@
+package com.example.StudentMangamentBackEnd.cache;
+
+import com.example.StudentMangamentBackEnd.datasource.RecentWrites;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Read-through cache of single-entity response DTOs, keyed by entity id. Callers must treat the
+// returned DTOs as read-only since the same instance is handed to every reader.
+//
+// Concurrent misses for one id share a single load. Evictions run after commit; an eviction
+// that races a load blocks until the load has finished and then removes its result, so a value
+// read before the commit never outlives it. Loads read the primary inside the read-your-writes
+// window after a write on this instance and a replica otherwise.
+public class DetailCache<V> {
+
+  private final Cache<Long, V> cache;
+  // Bumped by every eviction, so bulk loads can tell whether one raced them
+  private final AtomicLong evictions = new AtomicLong();
+  private final RecentWrites recentWrites;
+
+  public DetailCache(
+      String name, long maxSize, Duration ttl, RecentWrites recentWrites, MeterRegistry registry) {
+    this.recentWrites = recentWrites;
+    this.cache =
+        Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+    CaffeineCacheMetrics.monitor(registry, cache, name);
+  }
+
+  public V get(Long id, Function<Long, V> loader) {
+    return cache.get(id, key -> recentWrites.read(() -> loader.apply(key)));
+  }
+
+  // Cached values for the ids that have one; the misses are loaded with a single loader call.
+  // Ids the loader does not return are left out of the result. Bulk loads do not block
+  // evictions, so their values are withdrawn again when an eviction ran meanwhile.
+  public Map<Long, V> getAll(Collection<Long> ids, Function<Set<Long>, Map<Long, V>> loader) {
+    Map<Long, V> found = new HashMap<>(cache.getAllPresent(ids));
+    Set<Long> missing = new HashSet<>(ids);
+    missing.removeAll(found.keySet());
+    if (missing.isEmpty()) {
+      return found;
+    }
+
+    long before = evictions.get();
+    Map<Long, V> loaded = recentWrites.read(() -> loader.apply(missing));
+    cache.putAll(loaded);
+    if (evictions.get() != before) {
+      cache.invalidateAll(loaded.keySet());
+    }
+    found.putAll(loaded);
+    return found;
+  }
+
+  public void evict(Long... ids) {
+    evict(Arrays.asList(ids));
+  }
+
+  public void evict(Collection<Long> ids) {
+    List<Long> keys = ids.stream().filter(Objects::nonNull).distinct().toList();
+    if (!keys.isEmpty()) {
+      AfterCommit.run(
+          () -> {
+            recentWrites.written();
+            evictions.incrementAndGet();
+            cache.invalidateAll(keys);
+          });
+    }
+  }
+
+  public void evictAll() {
+    AfterCommit.run(
+        () -> {
+          recentWrites.written();
+          evictions.incrementAndGet();
+          cache.invalidateAll();
+        });
+  }
+
+  public long estimatedSize() {
+    return cache.estimatedSize();
+  }
+}
@@ -0,0 +1,32 @@
+package com.example.StudentMangamentBackEnd.cache;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentResponseDTO;
+import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherResponseDTO;
+import com.example.StudentMangamentBackEnd.datasource.RecentWrites;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DetailCacheConfig {
+
+  @Bean
+  public DetailCache<StudentResponseDTO> studentDetailCache(
+      @Value("${cache.details.student.max-size:50000}") long maxSize,
+      @Value("${cache.details.ttl:10m}") Duration ttl,
+      RecentWrites recentWrites,
+      MeterRegistry registry) {
+    return new DetailCache<>("student.details", maxSize, ttl, recentWrites, registry);
+  }
+
+  @Bean
+  public DetailCache<TeacherResponseDTO> teacherDetailCache(
+      @Value("${cache.details.teacher.max-size:10000}") long maxSize,
+      @Value("${cache.details.ttl:10m}") Duration ttl,
+      RecentWrites recentWrites,
+      MeterRegistry registry) {
+    return new DetailCache<>("teacher.details", maxSize, ttl, recentWrites, registry);
+  }
+}
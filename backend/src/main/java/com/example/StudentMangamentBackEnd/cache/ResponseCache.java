@@ -0,0 +1,134 @@
+package com.example.StudentMangamentBackEnd.cache;
+
+import com.example.StudentMangamentBackEnd.datasource.DataSourceRouting;
+import com.example.StudentMangamentBackEnd.datasource.RecentWrites;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+// Serialized bodies of the list and search pages, replayed as bytes without running the query or
+// Jackson again. Entries are bounded by their total size in bytes.
+//
+// Keys carry the student and teacher generations read before the page was loaded. A committed
+// write bumps its generation, which orphans every older entry at once; they age out under the
+// size bound. Every cached page embeds both entities (students carry their teacher's name,
+// teachers their student ids), so either generation invalidates all of them. The TTL bounds how
+// long writes made by other instances go unseen.
+//
+// Misses read the primary only inside the read-your-writes window after a write here, and a
+// replica otherwise. Keys also record which of the two their page was read from, so a page read
+// from a replica is only served once replicas are taken to hold every write its generations count.
+@Component
+public class ResponseCache {
+
+  // Rough per-entry overhead of the key, headers and cache node
+  private static final int ENTRY_OVERHEAD = 256;
+
+  private final Cache<Key, CachedResponse> cache;
+  private final ObjectMapper objectMapper;
+  private final RecentWrites recentWrites;
+  private final AtomicLong studentGeneration = new AtomicLong();
+  private final AtomicLong teacherGeneration = new AtomicLong();
+
+  private record Key(
+      String request, long studentGeneration, long teacherGeneration, boolean primary) {}
+
+  private record CachedResponse(HttpHeaders headers, byte[] body) {}
+
+  public ResponseCache(
+      ObjectMapper objectMapper,
+      RecentWrites recentWrites,
+      MeterRegistry registry,
+      @Value("${cache.responses.max-size:32MB}") DataSize maxSize,
+      @Value("${cache.responses.ttl:1m}") Duration ttl) {
+
+    this.objectMapper = objectMapper;
+    this.recentWrites = recentWrites;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(maxSize.toBytes())
+            .<Key, CachedResponse>weigher(
+                (key, response) ->
+                    ENTRY_OVERHEAD + key.request().length() * 2 + response.body().length)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(registry, cache, "responses");
+    Gauge.builder("cache.responses.bytes", this, ResponseCache::weightedSize)
+        .description("Estimated size of the cached response bodies")
+        .baseUnit("bytes")
+        .register(registry);
+  }
+
+  // "students|0|10|id|ASC": the endpoint followed by its normalized parameters
+  public static String key(String endpoint, Object... parameters) {
+    return endpoint
+        + Arrays.stream(parameters).map(String::valueOf).collect(Collectors.joining("|", "|", ""));
+  }
+
+  // Concurrent misses for one key share a single render. The window is checked after the
+  // generations: a write opens it before bumping them, so a key with the new generations always
+  // reads the primary while replicas may lag behind it.
+  public ResponseEntity<byte[]> get(String request, Supplier<ResponseEntity<?>> render) {
+    Key key =
+        new Key(request, studentGeneration.get(), teacherGeneration.get(), recentWrites.isOpen());
+    CachedResponse response =
+        cache.get(
+            key, k -> serialize(k.primary() ? DataSourceRouting.primary(render) : render.get()));
+
+    return ResponseEntity.ok()
+        .headers(response.headers())
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(response.body());
+  }
+
+  public void studentsChanged() {
+    AfterCommit.run(
+        () -> {
+          recentWrites.written();
+          studentGeneration.incrementAndGet();
+        });
+  }
+
+  public void teachersChanged() {
+    AfterCommit.run(
+        () -> {
+          recentWrites.written();
+          teacherGeneration.incrementAndGet();
+        });
+  }
+
+  public long estimatedSize() {
+    return cache.estimatedSize();
+  }
+
+  private long weightedSize() {
+    return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+  }
+
+  private CachedResponse serialize(ResponseEntity<?> response) {
+    try {
+      return new CachedResponse(
+          HttpHeaders.readOnlyHttpHeaders(response.getHeaders()),
+          objectMapper.writeValueAsBytes(Objects.requireNonNull(response.getBody())));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize the response", e);
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.example.StudentMangamentBackEnd.cache;
+
+import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherResponseDTO;
+import com.example.StudentMangamentBackEnd.model.Teacher;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Objects;
+import java.util.stream.Stream;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+
+// Teacher.students is the inverse side of Student.teacher, so Hibernate does not evict its
+// second-level cache entries when a student moves between teachers. Write paths that change a
+// student's teacher (or bypass Hibernate) evict the affected rosters here, after commit, together
+// with the cached teacher details that list the roster's student ids.
+@Component
+public class TeacherRosterCache {
+
+  private static final String ROSTER_ROLE = Teacher.class.getName() + ".students";
+
+  private final Cache cache;
+  private final DetailCache<TeacherResponseDTO> teacherDetailCache;
+
+  public TeacherRosterCache(
+      EntityManagerFactory entityManagerFactory,
+      DetailCache<TeacherResponseDTO> teacherDetailCache) {
+    this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+    this.teacherDetailCache = teacherDetailCache;
+  }
+
+  public void evict(Long... teacherIds) {
+    teacherDetailCache.evict(teacherIds);
+    AfterCommit.run(
+        () ->
+            Stream.of(teacherIds)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(id -> cache.evictCollectionData(ROSTER_ROLE, id)));
+  }
+
+  public void evictAll() {
+    teacherDetailCache.evictAll();
+    AfterCommit.run(() -> cache.evictCollectionData(ROSTER_ROLE));
+  }
+}
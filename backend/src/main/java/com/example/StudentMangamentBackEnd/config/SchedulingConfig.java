@@ -0,0 +1,9 @@
+package com.example.StudentMangamentBackEnd.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs: the statistics and student name index reconciliations
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
@@ -1,9 +1,14 @@
 package com.example.StudentMangamentBackEnd.config;
 
 import com.example.StudentMangamentBackEnd.security.JwtAuthenticationFilter;
+import com.example.StudentMangamentBackEnd.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -13,6 +18,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -21,9 +28,11 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 public class SecurityConfig {
 
   private final JwtAuthenticationFilter jwtFilter;
+  private final Environment environment;
 
-  public SecurityConfig(JwtAuthenticationFilter jwtFilter) {
+  public SecurityConfig(JwtAuthenticationFilter jwtFilter, Environment environment) {
     this.jwtFilter = jwtFilter;
+    this.environment = environment;
   }
 
   @Bean
@@ -57,13 +66,29 @@ public class SecurityConfig {
                 auth.requestMatchers(HttpMethod.OPTIONS, "/**")
                     .permitAll()
 
+                    // Streamed exports finish on an async dispatch; the request was authorized
+                    // before it started and the JWT filter does not run again
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                    .permitAll()
+
                     // PUBLIC
                     .requestMatchers("/api/admins/login", "/api/teachers/login")
                     .permitAll()
+                    .requestMatchers("/actuator/health")
+                    .permitAll()
+
+                    // METRICS (Prometheus scrapes the loopback-only management port, otherwise
+                    // ADMIN only)
+                    .requestMatchers(prometheusOnManagementPort())
+                    .permitAll()
+                    .requestMatchers("/actuator/**")
+                    .hasAuthority("ADMIN")
 
                     // ADMIN ONLY
                     .requestMatchers("/api/admins/**")
                     .hasAuthority("ADMIN")
+                    .requestMatchers("/api/stats")
+                    .hasAuthority("ADMIN")
 
                     // ADMIN + TEACHER
                     .requestMatchers("/api/teachers/**")
@@ -79,9 +104,24 @@ public class SecurityConfig {
     return http.build();
   }
 
+  // The port is only known once the management server has started; when it shares the
+  // application port (management.server.port unset) no request matches
+  private RequestMatcher prometheusOnManagementPort() {
+    RequestMatcher prometheus = AntPathRequestMatcher.antMatcher("/actuator/prometheus");
+    return request -> {
+      Integer managementPort = environment.getProperty("local.management.port", Integer.class);
+      return managementPort != null
+          && !managementPort.equals(environment.getProperty("local.server.port", Integer.class))
+          && request.getLocalPort() == managementPort
+          && prometheus.matches(request);
+    };
+  }
+
+  // Raising the strength rehashes each password on its next successful login
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(
+      @Value("${security.bcrypt.strength:10}") int strength, MeterRegistry meterRegistry) {
+    return new TimedPasswordEncoder(new BCryptPasswordEncoder(strength), meterRegistry);
   }
 
   @Bean
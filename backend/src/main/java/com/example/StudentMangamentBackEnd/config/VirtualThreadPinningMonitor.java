@@ -0,0 +1,78 @@
+package com.example.StudentMangamentBackEnd.config;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Logs virtual threads pinned to their carrier (blocking inside synchronized code or a native
+// frame) using the JFR jdk.VirtualThreadPinned event, so pinning in our code or a driver shows up.
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "vthreads.pinning.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  private static final int STACK_DEPTH = 12;
+
+  private final Duration threshold;
+  private final AtomicLong pinnedCount = new AtomicLong();
+  private RecordingStream recording;
+
+  public VirtualThreadPinningMonitor(
+      @Value("${vthreads.pinning.threshold:20ms}") Duration threshold) {
+    this.threshold = threshold;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    recording = new RecordingStream();
+    recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    recording.onEvent(PINNED_EVENT, this::report);
+    recording.startAsync();
+    log.info("Watching for virtual threads pinned longer than {} ms", threshold.toMillis());
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (recording != null) {
+      recording.close();
+    }
+  }
+
+  public long getPinnedCount() {
+    return pinnedCount.get();
+  }
+
+  private void report(RecordedEvent event) {
+    pinnedCount.incrementAndGet();
+    String stack =
+        event.getStackTrace() == null
+            ? "(no stack)"
+            : event.getStackTrace().getFrames().stream()
+                .limit(STACK_DEPTH)
+                .map(VirtualThreadPinningMonitor::describe)
+                .collect(Collectors.joining("\n\tat "));
+    log.warn("Virtual thread pinned for {} ms\n\tat {}", event.getDuration().toMillis(), stack);
+  }
+
+  private static String describe(RecordedFrame frame) {
+    return frame.getMethod().getType().getName()
+        + "."
+        + frame.getMethod().getName()
+        + ":"
+        + frame.getLineNumber();
+  }
+}
@@ -0,0 +1,28 @@
+package com.example.StudentMangamentBackEnd.datasource;
+
+import java.util.function.Supplier;
+
+// Pins the reads of a block to the primary. Used where a replica's lag would outlive the read,
+// e.g. results that are cached after the write evicted them.
+public final class DataSourceRouting {
+
+  private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+  private DataSourceRouting() {}
+
+  public static <T> T primary(Supplier<T> reads) {
+    Boolean previous = PRIMARY.get();
+    PRIMARY.set(Boolean.TRUE);
+    try {
+      return reads.get();
+    } finally {
+      if (previous == null) {
+        PRIMARY.remove();
+      }
+    }
+  }
+
+  static boolean isPrimaryRequired() {
+    return PRIMARY.get() != null;
+  }
+}
@@ -0,0 +1,35 @@
+package com.example.StudentMangamentBackEnd.datasource;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// The read-your-writes window after this instance last committed a student or teacher write.
+// Replicas are taken to have caught up once it closes, as ReplicaRoutingDataSource assumes per
+// caller. Cache misses read the primary only inside it, since the write has just evicted the
+// entries and a replica may still hold the rows from before it; outside it they read a replica.
+@Component
+public class RecentWrites {
+
+  private final long windowNanos;
+  private volatile long lastWrite;
+
+  public RecentWrites(@Value("${datasource.replicas.read-your-writes-window:5s}") Duration window) {
+    this.windowNanos = window.toNanos();
+    this.lastWrite = System.nanoTime() - windowNanos;
+  }
+
+  // Called after commit, before the caches drop what the write changed
+  public void written() {
+    lastWrite = System.nanoTime();
+  }
+
+  public boolean isOpen() {
+    return System.nanoTime() - lastWrite < windowNanos;
+  }
+
+  public <T> T read(Supplier<T> reads) {
+    return isOpen() ? DataSourceRouting.primary(reads) : reads.get();
+  }
+}
@@ -0,0 +1,78 @@
+package com.example.StudentMangamentBackEnd.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+// Replaces the single auto-configured DataSource once datasource.replicas.urls is set. Replica
+// pools copy the primary's Hikari settings.
+@Configuration
+@ConditionalOnProperty("datasource.replicas.urls")
+public class ReplicaDataSourceConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  @Bean
+  public ReplicaRoutingDataSource replicaRoutingDataSource(
+      HikariDataSource primaryDataSource,
+      @Value("${datasource.replicas.urls}") List<String> urls,
+      @Value("${datasource.replicas.username:${spring.datasource.username:}}") String username,
+      @Value("${datasource.replicas.password:${spring.datasource.password:}}") String password,
+      @Value("${datasource.replicas.read-your-writes-window:5s}") Duration readYourWritesWindow,
+      MeterRegistry registry) {
+
+    List<HikariDataSource> replicas = new ArrayList<>();
+    for (String url : urls) {
+      HikariConfig config = new HikariConfig();
+      primaryDataSource.copyStateTo(config);
+      config.setPoolName("replica-" + replicas.size());
+      config.setJdbcUrl(url.trim());
+      config.setUsername(username);
+      config.setPassword(password);
+      // A replica that is down at startup is routed around instead of failing the application
+      config.setInitializationFailTimeout(-1);
+      replicas.add(new HikariDataSource(config));
+    }
+    return new ReplicaRoutingDataSource(
+        primaryDataSource, replicas, readYourWritesWindow, registry);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+    return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+  }
+
+  // Spring holds a connection for the whole EntityManager, which with open-in-view would pin every
+  // transaction of a request to the connection of its first one. Releasing it after each
+  // transaction lets every transaction be routed on its own.
+  @Bean
+  public HibernatePropertiesCustomizer connectionReleaseCustomizer() {
+    return properties ->
+        properties.put(
+            AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+  }
+}
@@ -0,0 +1,168 @@
+package com.example.StudentMangamentBackEnd.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Hands out replica connections to read-only transactions, round-robin over the replicas that
+// passed their last health check, and primary connections to everything else. A caller whose
+// transaction wrote keeps reading from the primary for the read-your-writes window, so it never
+// sees a replica that has not caught up with its own change.
+//
+// The transaction manager asks for a connection before the transaction's read-only flag is
+// published, so this must sit behind a LazyConnectionDataSourceProxy.
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+  private static final String ANONYMOUS = "anonymous";
+  private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final Cache<String, Boolean> recentWriters;
+  private final AtomicInteger next = new AtomicInteger();
+  private final Counter primaryConnections;
+
+  private static final class Replica {
+    private final String name;
+    private final HikariDataSource dataSource;
+    private final Counter connections;
+    private volatile boolean healthy = true;
+
+    private Replica(String name, HikariDataSource dataSource, MeterRegistry registry) {
+      this.name = name;
+      this.dataSource = dataSource;
+      this.connections =
+          Counter.builder("datasource.connections.routed").tag("target", name).register(registry);
+      Gauge.builder("datasource.replica.healthy", this, r -> r.healthy ? 1 : 0)
+          .tag("replica", name)
+          .register(registry);
+    }
+  }
+
+  public ReplicaRoutingDataSource(
+      DataSource primary,
+      List<HikariDataSource> replicas,
+      Duration readYourWritesWindow,
+      MeterRegistry registry) {
+    this.primary = primary;
+    this.replicas =
+        replicas.stream().map(ds -> new Replica(ds.getPoolName(), ds, registry)).toList();
+    this.recentWriters = Caffeine.newBuilder().expireAfterWrite(readYourWritesWindow).build();
+    this.primaryConnections =
+        Counter.builder("datasource.connections.routed")
+            .tag("target", "primary")
+            .register(registry);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return route(DataSource::getConnection);
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return route(ds -> ds.getConnection(username, password));
+  }
+
+  @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval:PT5S}")
+  public void checkReplicas() {
+    for (Replica replica : replicas) {
+      boolean healthy;
+      try (Connection connection = replica.dataSource.getConnection()) {
+        healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        if (!healthy) {
+          // Otherwise the pool may hand the same dead connection to the next check
+          replica.dataSource.evictConnection(connection);
+        }
+      } catch (SQLException e) {
+        healthy = false;
+      }
+      if (healthy != replica.healthy) {
+        log.warn("Replica {} is now {}", replica.name, healthy ? "healthy" : "unhealthy");
+      }
+      replica.healthy = healthy;
+    }
+  }
+
+  @Override
+  public void destroy() {
+    replicas.forEach(replica -> replica.dataSource.close());
+  }
+
+  private Connection route(ConnectionSource source) throws SQLException {
+    if (readsFromReplica()) {
+      Replica replica = nextHealthyReplica();
+      if (replica != null) {
+        try {
+          Connection connection = source.open(replica.dataSource);
+          replica.connections.increment();
+          return connection;
+        } catch (SQLException e) {
+          // Falls back to the primary until the health check sees the replica again
+          replica.healthy = false;
+          log.warn("Replica {} refused a connection, reading from the primary", replica.name, e);
+        }
+      }
+    }
+    primaryConnections.increment();
+    return source.open(primary);
+  }
+
+  private boolean readsFromReplica() {
+    if (!TransactionSynchronizationManager.isActualTransactionActive()
+        || DataSourceRouting.isPrimaryRequired()) {
+      return false;
+    }
+    String caller = currentCaller();
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              recentWriters.put(caller, Boolean.TRUE);
+            }
+          });
+      return false;
+    }
+    return recentWriters.getIfPresent(caller) == null;
+  }
+
+  private Replica nextHealthyReplica() {
+    int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+    for (int i = 0; i < replicas.size(); i++) {
+      Replica replica = replicas.get((start + i) % replicas.size());
+      if (replica.healthy) {
+        return replica;
+      }
+    }
+    return null;
+  }
+
+  private static String currentCaller() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return authentication == null ? ANONYMOUS : authentication.getName();
+  }
+
+  @FunctionalInterface
+  private interface ConnectionSource {
+    Connection open(DataSource dataSource) throws SQLException;
+  }
+}
@@ -6,6 +6,7 @@ import java.util.HashMap;
 import java.util.Map;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.*;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 
@@ -26,6 +27,41 @@ public class GlobalExceptionHandler {
         new ApiResponse<>(400, ex.getMessage(), null, LocalDateTime.now()), HttpStatus.BAD_REQUEST);
   }
 
+  @ExceptionHandler(PreconditionFailedException.class)
+  public ResponseEntity<ApiResponse<Object>> handlePreconditionFailed(
+      PreconditionFailedException ex) {
+
+    return new ResponseEntity<>(
+        new ApiResponse<>(412, ex.getMessage(), null, LocalDateTime.now()),
+        HttpStatus.PRECONDITION_FAILED);
+  }
+
+  // Another request committed a newer version between our read and our write
+  @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+  public ResponseEntity<ApiResponse<Object>> handleConcurrentUpdate() {
+
+    return new ResponseEntity<>(
+        new ApiResponse<>(
+            409, "Resource was modified concurrently, please retry", null, LocalDateTime.now()),
+        HttpStatus.CONFLICT);
+  }
+
+  @ExceptionHandler(TooManyRequestsException.class)
+  public ResponseEntity<ApiResponse<Object>> handleTooManyRequests(TooManyRequestsException ex) {
+
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(new ApiResponse<>(429, ex.getMessage(), null, LocalDateTime.now()));
+  }
+
+  @ExceptionHandler(ServiceUnavailableException.class)
+  public ResponseEntity<ApiResponse<Object>> handleUnavailable(ServiceUnavailableException ex) {
+
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "5")
+        .body(new ApiResponse<>(503, ex.getMessage(), null, LocalDateTime.now()));
+  }
+
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<ApiResponse<Map<String, String>>> handleValidation(
       MethodArgumentNotValidException ex) {
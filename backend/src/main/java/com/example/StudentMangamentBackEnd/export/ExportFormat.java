@@ -0,0 +1,34 @@
+package com.example.StudentMangamentBackEnd.export;
+
+import com.example.StudentMangamentBackEnd.exception.BadRequestException;
+import java.util.Locale;
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+  NDJSON("application/x-ndjson", "ndjson"),
+  CSV("text/csv", "csv");
+
+  private final MediaType mediaType;
+  private final String extension;
+
+  ExportFormat(String mediaType, String extension) {
+    this.mediaType = MediaType.parseMediaType(mediaType);
+    this.extension = extension;
+  }
+
+  public MediaType mediaType() {
+    return mediaType;
+  }
+
+  public String fileName(String baseName) {
+    return baseName + "." + extension;
+  }
+
+  public static ExportFormat fromParameter(String format) {
+    try {
+      return valueOf(format.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Unsupported export format: " + format);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.example.StudentMangamentBackEnd.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+// Writes export rows straight to the response as they are read; only the write buffer is held.
+public final class ExportWriter<T> {
+
+  public record Column<T>(String name, Function<T, ?> value) {}
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Writer writer;
+  private final ExportFormat format;
+  private final List<Column<T>> columns;
+  private final ObjectWriter objectWriter;
+  private final JsonGenerator generator;
+  private long rows;
+
+  public ExportWriter(
+      OutputStream out,
+      ExportFormat format,
+      ObjectMapper objectMapper,
+      Class<T> type,
+      List<Column<T>> columns)
+      throws IOException {
+
+    this.writer =
+        new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    this.format = format;
+    this.columns = columns;
+
+    if (format == ExportFormat.NDJSON) {
+      objectWriter =
+          objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+      generator = objectMapper.getFactory().createGenerator(writer);
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+    } else {
+      objectWriter = null;
+      generator = null;
+      writer.write(String.join(",", columns.stream().map(Column::name).toList()));
+      writer.write('\n');
+    }
+  }
+
+  public void write(T row) {
+    try {
+      if (format == ExportFormat.NDJSON) {
+        objectWriter.writeValue(generator, row);
+        generator.writeRaw('\n');
+      } else {
+        for (int i = 0; i < columns.size(); i++) {
+          if (i > 0) {
+            writer.write(',');
+          }
+          writeCsvField(columns.get(i).value().apply(row));
+        }
+        writer.write('\n');
+      }
+      rows++;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // Flushes what is buffered; the response stream itself is closed by Spring
+  public long finish() throws IOException {
+    if (generator != null) {
+      generator.flush();
+    }
+    writer.flush();
+    return rows;
+  }
+
+  private void writeCsvField(Object value) throws IOException {
+    if (value == null) {
+      return;
+    }
+    String text = value instanceof Iterable<?> values ? joinIds(values) : value.toString();
+    if (text.indexOf(',') < 0
+        && text.indexOf('"') < 0
+        && text.indexOf('\n') < 0
+        && text.indexOf('\r') < 0) {
+      writer.write(text);
+      return;
+    }
+    writer.write('"');
+    writer.write(text.replace("\"", "\"\""));
+    writer.write('"');
+  }
+
+  // List columns (a teacher's student ids) go into one field, space separated
+  private static String joinIds(Iterable<?> values) {
+    StringBuilder joined = new StringBuilder();
+    for (Object value : values) {
+      if (!joined.isEmpty()) {
+        joined.append(' ');
+      }
+      joined.append(value);
+    }
+    return joined.toString();
+  }
+}
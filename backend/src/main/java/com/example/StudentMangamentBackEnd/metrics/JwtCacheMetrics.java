@@ -0,0 +1,30 @@
+package com.example.StudentMangamentBackEnd.metrics;
+
+import com.example.StudentMangamentBackEnd.security.JwtUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+// Hit/miss counts of the verified-token cache in JwtUtil
+@Component
+public class JwtCacheMetrics implements MeterBinder {
+
+  private final JwtUtil jwtUtil;
+
+  public JwtCacheMetrics(JwtUtil jwtUtil) {
+    this.jwtUtil = jwtUtil;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("jwt.cache.requests", jwtUtil, JwtUtil::getCacheHitCount)
+        .tag("result", "hit")
+        .description("Token verifications served from the cache")
+        .register(registry);
+    FunctionCounter.builder("jwt.cache.requests", jwtUtil, JwtUtil::getCacheMissCount)
+        .tag("result", "miss")
+        .description("Token verifications that checked the signature")
+        .register(registry);
+  }
+}
@@ -0,0 +1,49 @@
+package com.example.StudentMangamentBackEnd.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Times every public service method (service.calls) and counts the ones that throw
+// (service.errors), tagged with the service interface name, method and exception.
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+  private final MeterRegistry meterRegistry;
+
+  public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Around("execution(public * com.example.StudentMangamentBackEnd.Services..*ServiceImpl.*(..))")
+  public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+    String service =
+        joinPoint.getSignature().getDeclaringType().getSimpleName().replace("Impl", "");
+    String method = joinPoint.getSignature().getName();
+    String exception = "none";
+    Timer.Sample sample = Timer.start(meterRegistry);
+
+    try {
+      return joinPoint.proceed();
+    } catch (Throwable e) {
+      exception = e.getClass().getSimpleName();
+      Counter.builder("service.errors")
+          .description("Service calls that threw")
+          .tags("service", service, "method", method, "exception", exception)
+          .register(meterRegistry)
+          .increment();
+      throw e;
+    } finally {
+      sample.stop(
+          Timer.builder("service.calls")
+              .description("Service method latency")
+              .tags("service", service, "method", method, "exception", exception)
+              .register(meterRegistry));
+    }
+  }
+}
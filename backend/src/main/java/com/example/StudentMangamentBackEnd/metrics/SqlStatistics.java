@@ -0,0 +1,115 @@
+package com.example.StudentMangamentBackEnd.metrics;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+// Statements, rows and database time of one HTTP request. SqlStatisticsFilter binds it to the
+// request thread, SqlStatisticsDataSource records into it, and work the request hands to another
+// thread (MVC async, logins) carries it along through propagate().
+public final class SqlStatistics {
+
+  public static final String REQUEST_ATTRIBUTE = SqlStatistics.class.getName();
+
+  private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+  private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+  private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final LongAdder statements = new LongAdder();
+  private final LongAdder rows = new LongAdder();
+  private final LongAdder nanos = new LongAdder();
+  private final Map<String, LongAdder> executionsBySql = new ConcurrentHashMap<>();
+
+  public long getStatements() {
+    return statements.sum();
+  }
+
+  // Rows read from result sets plus rows reported changed by updates
+  public long getRows() {
+    return rows.sum();
+  }
+
+  // Time spent executing statements, not reading their results
+  public Duration getTime() {
+    return Duration.ofNanos(nanos.sum());
+  }
+
+  // Executions per statement shape: the SQL with literals and IN lists collapsed
+  public Map<String, Long> getExecutionsByShape() {
+    Map<String, Long> shapes = new TreeMap<>();
+    executionsBySql.forEach((sql, count) -> shapes.merge(shapeOf(sql), count.sum(), Long::sum));
+    return shapes;
+  }
+
+  void recordExecution(String sql, long elapsedNanos) {
+    statements.increment();
+    nanos.add(elapsedNanos);
+    executionsBySql.computeIfAbsent(sql == null ? "?" : sql, s -> new LongAdder()).increment();
+  }
+
+  void recordRows(long count) {
+    rows.add(count);
+  }
+
+  static SqlStatistics current() {
+    return CURRENT.get();
+  }
+
+  static SqlStatistics bind(SqlStatistics statistics) {
+    SqlStatistics previous = CURRENT.get();
+    CURRENT.set(statistics);
+    return previous;
+  }
+
+  static void restore(SqlStatistics previous) {
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+  }
+
+  public static <T> Supplier<T> propagate(Supplier<T> task) {
+    SqlStatistics statistics = CURRENT.get();
+    if (statistics == null) {
+      return task;
+    }
+    return () -> {
+      SqlStatistics previous = bind(statistics);
+      try {
+        return task.get();
+      } finally {
+        restore(previous);
+      }
+    };
+  }
+
+  public static Runnable propagate(Runnable task) {
+    SqlStatistics statistics = CURRENT.get();
+    if (statistics == null) {
+      return task;
+    }
+    return () -> {
+      SqlStatistics previous = bind(statistics);
+      try {
+        task.run();
+      } finally {
+        restore(previous);
+      }
+    };
+  }
+
+  static String shapeOf(String sql) {
+    String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+    shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+    shape = IN_LIST.matcher(shape).replaceAll("(?)");
+    return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+  }
+}
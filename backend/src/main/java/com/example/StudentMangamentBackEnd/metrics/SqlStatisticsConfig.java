@@ -0,0 +1,32 @@
+package com.example.StudentMangamentBackEnd.metrics;
+
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+@Configuration
+@ConditionalOnProperty(name = "sql.statistics.enabled", matchIfMissing = true)
+public class SqlStatisticsConfig {
+
+  // Only the application's DataSource is wrapped, not the pools behind a routing one
+  @Bean
+  public static BeanPostProcessor sqlStatisticsDataSourceWrapper() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return "dataSource".equals(beanName) && bean instanceof DataSource dataSource
+            ? new SqlStatisticsDataSource(dataSource)
+            : bean;
+      }
+    };
+  }
+
+  // Picked up by the application task executor, which also runs MVC async work (exports)
+  @Bean
+  public TaskDecorator sqlStatisticsTaskDecorator() {
+    return SqlStatistics::propagate;
+  }
+}
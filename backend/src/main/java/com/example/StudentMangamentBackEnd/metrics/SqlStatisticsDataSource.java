@@ -0,0 +1,159 @@
+package com.example.StudentMangamentBackEnd.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Records the JDBC work of the current request into its SqlStatistics. Connections, statements
+// and result sets are wrapped in dynamic proxies; on threads without statistics the proxies only
+// delegate. Sits on top of the application's DataSource, so Hibernate and JdbcTemplate are both
+// covered.
+public class SqlStatisticsDataSource extends DelegatingDataSource {
+
+  public SqlStatisticsDataSource(DataSource targetDataSource) {
+    super(targetDataSource);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return wrap(Connection.class, new ConnectionHandler(super.getConnection()));
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return wrap(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+  }
+
+  private abstract static class Handler<T> implements InvocationHandler {
+
+    final T target;
+
+    Handler(T target) {
+      this.target = target;
+    }
+
+    abstract Object handle(Method method, Object[] args) throws Throwable;
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      return switch (method.getName()) {
+        case "equals" -> proxy == args[0];
+        case "hashCode" -> System.identityHashCode(proxy);
+        default -> handle(method, args);
+      };
+    }
+
+    Object delegate(Method method, Object[] args) throws Throwable {
+      try {
+        return method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+  private static final class ConnectionHandler extends Handler<Connection> {
+
+    private ConnectionHandler(Connection target) {
+      super(target);
+    }
+
+    @Override
+    Object handle(Method method, Object[] args) throws Throwable {
+      Object result = delegate(method, args);
+      if (result instanceof Statement statement) {
+        // createStatement, prepareStatement and prepareCall; the SQL of the latter two comes first
+        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+        return wrap(method.getReturnType(), new StatementHandler(statement, sql));
+      }
+      return result;
+    }
+  }
+
+  private static final class StatementHandler extends Handler<Statement> {
+
+    private final String preparedSql;
+
+    private StatementHandler(Statement target, String preparedSql) {
+      super(target);
+      this.preparedSql = preparedSql;
+    }
+
+    @Override
+    Object handle(Method method, Object[] args) throws Throwable {
+      SqlStatistics statistics = SqlStatistics.current();
+      if (statistics == null) {
+        return delegate(method, args);
+      }
+      String name = method.getName();
+      if (!name.startsWith("execute")) {
+        Object result = delegate(method, args);
+        return name.equals("getResultSet") ? counted(result, statistics) : result;
+      }
+
+      long start = System.nanoTime();
+      Object result = delegate(method, args);
+      String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+      statistics.recordExecution(sql, System.nanoTime() - start);
+      statistics.recordRows(changedRows(result));
+      return counted(result, statistics);
+    }
+
+    private static Object counted(Object result, SqlStatistics statistics) {
+      return result instanceof ResultSet resultSet
+          ? wrap(ResultSet.class, new ResultSetHandler(resultSet, statistics))
+          : result;
+    }
+
+    private static long changedRows(Object result) {
+      long rows = 0;
+      if (result instanceof Integer count) {
+        rows = Math.max(count, 0);
+      } else if (result instanceof Long count) {
+        rows = Math.max(count, 0);
+      } else if (result instanceof int[] counts) {
+        for (int count : counts) {
+          rows += Math.max(count, 0);
+        }
+      } else if (result instanceof long[] counts) {
+        for (long count : counts) {
+          rows += Math.max(count, 0);
+        }
+      }
+      return rows;
+    }
+  }
+
+  private static final class ResultSetHandler extends Handler<ResultSet> {
+
+    private final SqlStatistics statistics;
+
+    private ResultSetHandler(ResultSet target, SqlStatistics statistics) {
+      super(target);
+      this.statistics = statistics;
+    }
+
+    @Override
+    Object handle(Method method, Object[] args) throws Throwable {
+      Object result = delegate(method, args);
+      if (result == Boolean.TRUE && method.getName().equals("next")) {
+        statistics.recordRows(1);
+      }
+      return result;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T wrap(Class<?> type, Handler<? extends T> handler) {
+    return (T)
+        Proxy.newProxyInstance(
+            SqlStatisticsDataSource.class.getClassLoader(), new Class<?>[] {type}, handler);
+  }
+}
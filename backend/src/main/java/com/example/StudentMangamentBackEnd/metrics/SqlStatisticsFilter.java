@@ -0,0 +1,113 @@
+package com.example.StudentMangamentBackEnd.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// Collects the SqlStatistics of every request. When the request is done, selects that ran at
+// least n-plus-one-threshold times with the same shape are logged as a likely N+1, and with
+// sql.statistics.headers the totals are sent as X-SQL-* response headers (dev only; headers of a
+// response that is streamed out before it finishes reflect the work done up to that point).
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "sql.statistics.enabled", matchIfMissing = true)
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+  static final String STATEMENTS_HEADER = "X-SQL-Statements";
+  static final String ROWS_HEADER = "X-SQL-Rows";
+  static final String TIME_HEADER = "X-SQL-Time-Micros";
+
+  private final boolean headers;
+  private final int nPlusOneThreshold;
+
+  public SqlStatisticsFilter(
+      @Value("${sql.statistics.headers:false}") boolean headers,
+      @Value("${sql.statistics.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+    this.headers = headers;
+    this.nPlusOneThreshold = nPlusOneThreshold;
+  }
+
+  // Async requests finish on the async dispatch
+  @Override
+  protected boolean shouldNotFilterAsyncDispatch() {
+    return false;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+
+    SqlStatistics statistics =
+        (SqlStatistics) request.getAttribute(SqlStatistics.REQUEST_ATTRIBUTE);
+    if (statistics == null) {
+      statistics = new SqlStatistics();
+      request.setAttribute(SqlStatistics.REQUEST_ATTRIBUTE, statistics);
+    }
+
+    SqlStatistics previous = SqlStatistics.bind(statistics);
+    try {
+      chain.doFilter(request, headers ? new HeaderWriter(response, statistics) : response);
+    } finally {
+      SqlStatistics.restore(previous);
+    }
+
+    if (!isAsyncStarted(request)) {
+      if (headers && !response.isCommitted()) {
+        writeHeaders(response, statistics);
+      }
+      warnOnRepeatedSelects(request, statistics);
+    }
+  }
+
+  private void warnOnRepeatedSelects(HttpServletRequest request, SqlStatistics statistics) {
+    statistics
+        .getExecutionsByShape()
+        .forEach(
+            (shape, executions) -> {
+              if (executions >= nPlusOneThreshold
+                  && shape.toLowerCase(Locale.ROOT).startsWith("select")) {
+                log.warn(
+                    "Possible N+1 in {} {}: {} executions of {}",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    executions,
+                    shape);
+              }
+            });
+  }
+
+  private static void writeHeaders(HttpServletResponse response, SqlStatistics statistics) {
+    response.setHeader(STATEMENTS_HEADER, Long.toString(statistics.getStatements()));
+    response.setHeader(ROWS_HEADER, Long.toString(statistics.getRows()));
+    response.setHeader(TIME_HEADER, Long.toString(statistics.getTime().toNanos() / 1000));
+  }
+
+  // Headers have to be set before the body commits the response
+  private static final class HeaderWriter extends OnCommittedResponseWrapper {
+
+    private final SqlStatistics statistics;
+
+    private HeaderWriter(HttpServletResponse response, SqlStatistics statistics) {
+      super(response);
+      this.statistics = statistics;
+    }
+
+    @Override
+    protected void onResponseCommitted() {
+      writeHeaders((HttpServletResponse) getResponse(), statistics);
+    }
+  }
+}
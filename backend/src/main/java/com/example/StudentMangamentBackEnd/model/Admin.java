@@ -4,9 +4,13 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "admins")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "admin")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,6 +20,10 @@ public class Admin {
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
+  @Version
+  @Column(nullable = false)
+  private Long version;
+
   @NotBlank(message = "Admin name cannot be empty")
   private String name;
 
@@ -26,4 +34,8 @@ public class Admin {
   @NotBlank(message = "Password cannot be empty")
   @Column(length = 255, nullable = false)
   private String password;
+
+  // Bumped when the password or email changes; tokens issued with an older value are rejected
+  @Column(name = "token_version", nullable = false)
+  private int tokenVersion;
 }
@@ -4,9 +4,21 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.time.LocalDate;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "students")
+// Mirrors db/migration, which owns the schema
+@Table(
+    name = "students",
+    indexes = {
+      @Index(name = "idx_students_name", columnList = "name"),
+      @Index(name = "idx_students_department_name", columnList = "department, name"),
+      @Index(name = "idx_students_grade", columnList = "grade"),
+      @Index(name = "idx_students_enrollment_date", columnList = "enrollment_date")
+    })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "student")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,6 +28,10 @@ public class Student {
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
+  @Version
+  @Column(nullable = false)
+  private Long version;
+
   @NotBlank(message = "Student name cannot be empty")
   private String name;
 
@@ -43,7 +59,7 @@ public class Student {
 
   private String grade;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "teacher_id")
   private Teacher teacher;
 }
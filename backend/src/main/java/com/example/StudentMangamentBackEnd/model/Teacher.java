@@ -6,9 +6,13 @@ import jakarta.validation.constraints.NotBlank;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "teachers")
+@Table(name = "teachers", indexes = @Index(name = "idx_teachers_name", columnList = "name"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teacher")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,6 +22,10 @@ public class Teacher {
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
+  @Version
+  @Column(nullable = false)
+  private Long version;
+
   @NotBlank(message = "Teacher name cannot be empty")
   private String name;
 
@@ -38,6 +46,13 @@ public class Teacher {
   @Column(length = 255, nullable = false)
   private String password; // required for login
 
-  @OneToMany(mappedBy = "teacher", cascade = CascadeType.ALL)
+  // Bumped when the password or email changes; tokens issued with an older value are rejected
+  @Column(name = "token_version", nullable = false)
+  private int tokenVersion;
+
+  // Inverse side: changes made through Student.teacher are evicted by TeacherRosterCache.
+  // No cascade: deleting a teacher detaches its students with one update instead.
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teacher-students")
+  @OneToMany(mappedBy = "teacher")
   private List<Student> students = new ArrayList<>();
 }
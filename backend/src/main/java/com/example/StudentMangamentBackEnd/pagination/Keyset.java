@@ -0,0 +1,60 @@
+package com.example.StudentMangamentBackEnd.pagination;
+
+import com.example.StudentMangamentBackEnd.exception.BadRequestException;
+import com.example.StudentMangamentBackEnd.response.CursorPage;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Sort;
+
+// Criteria helpers for seek pagination on (field, id); both keys share the sort direction.
+public final class Keyset {
+
+  public static final int MAX_LIMIT = 1000;
+
+  private Keyset() {}
+
+  public static void requireValidLimit(int limit) {
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new BadRequestException("Limit must be between 1 and " + MAX_LIMIT);
+    }
+  }
+
+  // Expects limit + 1 rows; the extra row only signals that another page exists
+  public static <T> CursorPage<T> toPage(
+      List<T> rows, int limit, Function<T, KeysetCursor> cursorOf) {
+    boolean hasNext = rows.size() > limit;
+    List<T> content = hasNext ? rows.subList(0, limit) : rows;
+    String nextCursor = hasNext ? cursorOf.apply(content.get(limit - 1)).encode() : null;
+    return new CursorPage<>(content, limit, hasNext, nextCursor);
+  }
+
+  public static Predicate after(CriteriaBuilder cb, Root<?> root, KeysetCursor cursor) {
+    Path<Long> id = root.get("id");
+    boolean asc = cursor.direction().isAscending();
+
+    Predicate idAfter = asc ? cb.gt(id, cursor.lastId()) : cb.lt(id, cursor.lastId());
+    if ("id".equals(cursor.field())) {
+      return idAfter;
+    }
+
+    Path<String> field = root.get(cursor.field());
+    Predicate fieldAfter =
+        asc ? cb.greaterThan(field, cursor.lastValue()) : cb.lessThan(field, cursor.lastValue());
+    return cb.or(fieldAfter, cb.and(cb.equal(field, cursor.lastValue()), idAfter));
+  }
+
+  public static List<Order> orderBy(
+      CriteriaBuilder cb, Root<?> root, String field, Sort.Direction direction) {
+    if ("id".equals(field)) {
+      return List.of(direction.isAscending() ? cb.asc(root.get("id")) : cb.desc(root.get("id")));
+    }
+    return direction.isAscending()
+        ? List.of(cb.asc(root.get(field)), cb.asc(root.get("id")))
+        : List.of(cb.desc(root.get(field)), cb.desc(root.get("id")));
+  }
+}
@@ -0,0 +1,30 @@
+package com.example.StudentMangamentBackEnd.pagination;
+
+import com.example.StudentMangamentBackEnd.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.springframework.data.domain.Sort;
+
+// Opaque "after" token: the sort it was issued for plus the sort key and id of the last row.
+public record KeysetCursor(String field, Sort.Direction direction, String lastValue, long lastId) {
+
+  private static final char SEPARATOR = '\n';
+
+  public String encode() {
+    String raw = field + SEPARATOR + direction.name() + SEPARATOR + lastId + SEPARATOR + lastValue;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static KeysetCursor decode(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      String[] parts = raw.split(String.valueOf(SEPARATOR), 4);
+      return new KeysetCursor(
+          parts[0], Sort.Direction.valueOf(parts[1]), parts[3], Long.parseLong(parts[2]));
+    } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.example.StudentMangamentBackEnd.pagination;
+
+import com.example.StudentMangamentBackEnd.exception.BadRequestException;
+import java.util.Set;
+import org.springframework.data.domain.Sort;
+
+// Fields that can drive keyset pagination: non-null columns with an index whose
+// trailing key is the primary key, so a seek on (field, id) never needs a filesort.
+public final class SortWhitelist {
+
+  public static final Set<String> STUDENT_KEYSET_FIELDS =
+      Set.of("id", "name", "email", "studentId");
+
+  public static final Set<String> TEACHER_KEYSET_FIELDS = Set.of("id", "name", "email");
+
+  // Offset pages may also sort on these; every one of them leads an index
+  public static final Set<String> STUDENT_SORT_FIELDS =
+      Set.of("id", "name", "email", "studentId", "enrollmentDate");
+
+  // The orders the name index applies itself; the database fallback sorts relevance by name
+  public static final Set<String> STUDENT_SEARCH_SORT_FIELDS = Set.of("relevance", "id", "name");
+
+  public static final Set<String> TEACHER_SORT_FIELDS = Set.of("id", "name", "email");
+
+  private SortWhitelist() {}
+
+  public static void requireAllowed(Set<String> allowed, Sort sort) {
+    sort.forEach(order -> requireAllowed(allowed, order.getProperty()));
+  }
+
+  public static void requireAllowed(Set<String> allowed, String field) {
+    if (!allowed.contains(field)) {
+      throw new BadRequestException("Sorting by '" + field + "' is not supported");
+    }
+  }
+}
@@ -1,14 +1,37 @@
 package com.example.StudentMangamentBackEnd.repository;
 
 import com.example.StudentMangamentBackEnd.model.Admin;
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface AdminRepository extends JpaRepository<Admin, Long> {
 
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query-by-email")
+  })
   Optional<Admin> findByEmail(String email);
 
   Page<Admin> findAll(Pageable pageable);
+
+  // Fetches one row past the page instead of counting
+  Slice<Admin> findAllBy(Pageable pageable);
+
+  @Query("select a.version from Admin a where a.id = :id")
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  @Transactional
+  @Modifying
+  @Query("update Admin a set a.password = :password where a.id = :id")
+  int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
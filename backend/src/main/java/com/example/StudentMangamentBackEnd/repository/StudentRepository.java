@@ -1,16 +1,160 @@
 package com.example.StudentMangamentBackEnd.repository;
 
+import com.example.StudentMangamentBackEnd.DTO.student.StudentResponseDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentSuggestionDTO;
 import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.model.Teacher;
+import com.example.StudentMangamentBackEnd.repository.projection.GroupCount;
+import com.example.StudentMangamentBackEnd.repository.projection.StudentNameRow;
+import com.example.StudentMangamentBackEnd.repository.projection.StudentVersion;
+import com.example.StudentMangamentBackEnd.repository.projection.TeacherCount;
+import com.example.StudentMangamentBackEnd.repository.projection.TeacherStudentId;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentRepositoryCustom {
+
+  // Read-only listings select the response columns directly instead of hydrating entities
+  String RESPONSE_SELECT =
+      "select new com.example.StudentMangamentBackEnd.DTO.student.StudentResponseDTO("
+          + "s.id, s.name, s.email, s.studentId, s.phone, s.address, s.department,"
+          + " s.enrollmentDate, s.age, s.grade, t.id, t.name, s.version, t.version)"
+          + " from Student s left join s.teacher t";
+
+  String EXPORT_FETCH_SIZE = "1000";
+
+  String NAME_FILTER =
+      " where lower(s.name) like lower(concat('%', :#{escape(#name)}, '%'))"
+          + " escape :#{escapeCharacter()}";
 
   Page<Student> findAll(Pageable pageable);
 
+  @Query(RESPONSE_SELECT)
+  List<StudentResponseDTO> findAllResponses();
+
+  // Forward-only cursor for exports; DTO rows never enter the persistence context
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+  @Query(RESPONSE_SELECT + " order by s.id")
+  Stream<StudentResponseDTO> streamAllResponses();
+
+  @Query(RESPONSE_SELECT + " where s.id = :id")
+  Optional<StudentResponseDTO> findResponseById(@Param("id") Long id);
+
+  // Just the columns the ETag is built from, for conditional GETs
+  @Query(
+      "select new com.example.StudentMangamentBackEnd.repository.projection.StudentVersion("
+          + "s.version, t.version) from Student s left join s.teacher t where s.id = :id")
+  Optional<StudentVersion> findVersionById(@Param("id") Long id);
+
+  // Fetches one row past the page to tell whether another follows; totals come from countByName
+  @Query(RESPONSE_SELECT + NAME_FILTER)
+  Slice<StudentResponseDTO> searchResponsesByName(@Param("name") String name, Pageable pageable);
+
+  @Query("select count(s) from Student s" + NAME_FILTER)
+  long countByName(@Param("name") String name);
+
+  @Query(RESPONSE_SELECT + NAME_FILTER)
+  List<StudentResponseDTO> searchResponsesByName(@Param("name") String name);
+
+  @Query(RESPONSE_SELECT + " where s.id in :ids")
+  List<StudentResponseDTO> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query(
+      "select new com.example.StudentMangamentBackEnd.repository.projection.StudentNameRow("
+          + "s.id, s.name) from Student s order by s.id")
+  List<StudentNameRow> findAllNames();
+
+  @Query(
+      "select new com.example.StudentMangamentBackEnd.repository.projection.StudentNameRow("
+          + "s.id, s.name) from Student s where s.studentId in :studentIds")
+  List<StudentNameRow> findNamesByStudentIdIn(@Param("studentIds") Collection<String> studentIds);
+
+  @Query("select s.email from Student s where s.email in :emails")
+  List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+  @Query("select s.studentId from Student s where s.studentId in :studentIds")
+  List<String> findExistingStudentIds(@Param("studentIds") Collection<String> studentIds);
+
+  @Query(
+      "select new com.example.StudentMangamentBackEnd.DTO.student.StudentSuggestionDTO("
+          + "s.id, s.name) from Student s"
+          + " where lower(s.name) like lower(concat(:#{escape(#prefix)}, '%'))"
+          + " escape :#{escapeCharacter()} order by s.name")
+  List<StudentSuggestionDTO> suggestByPrefix(@Param("prefix") String prefix, Pageable pageable);
+
   Page<Student> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
   List<Student> findByNameContainingIgnoreCase(String name);
+
+  // Student ids of several teachers in one query, used instead of walking Teacher.students
+  @Query(
+      "select s.teacher.id as teacherId, s.id as studentId from Student s"
+          + " where s.teacher.id in :teacherIds order by s.id")
+  List<TeacherStudentId> findStudentIdsByTeacherIds(
+      @Param("teacherIds") Collection<Long> teacherIds);
+
+  // Roster sizes of several teachers in one grouped count; teachers without students are absent
+  @Query(
+      "select new com.example.StudentMangamentBackEnd.repository.projection.TeacherCount("
+          + "s.teacher.id, count(s)) from Student s"
+          + " where s.teacher.id in :teacherIds group by s.teacher.id")
+  List<TeacherCount> countByTeacherIds(@Param("teacherIds") Collection<Long> teacherIds);
+
+  @Query(
+      "select s.teacher.id as teacherId, s.id as studentId from Student s"
+          + " where s.teacher is not null order by s.id")
+  List<TeacherStudentId> findAllTeacherStudentIds();
+
+  // Current teacher (or null) of the students a bulk assignment selects
+  @Query(
+      "select t.id as teacherId, s.id as studentId from Student s left join s.teacher t"
+          + " where s.id in :ids")
+  List<TeacherStudentId> findTeacherIdsByStudentIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query(
+      "select t.id as teacherId, s.id as studentId from Student s left join s.teacher t"
+          + " where (:department is null or s.department = :department)"
+          + " and (:grade is null or s.grade = :grade)")
+  List<TeacherStudentId> findTeacherIdsByFilter(
+      @Param("department") String department, @Param("grade") String grade);
+
+  // Bumps the version like an entity update would, so ETags and optimistic locks see the change
+  @Modifying
+  @Query(
+      "update Student s set s.teacher = :teacher, s.version = s.version + 1"
+          + " where s.id in :ids")
+  int assignTeacher(@Param("ids") Collection<Long> ids, @Param("teacher") Teacher teacher);
+
+  @Modifying
+  @Query(
+      "update Student s set s.teacher = null, s.version = s.version + 1"
+          + " where s.teacher.id = :teacherId")
+  int detachFromTeacher(@Param("teacherId") Long teacherId);
+
+  @Modifying
+  @Query("delete from Student s where s.id in :ids")
+  int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+  // Reconciliation queries for the dashboard counters
+  @Query(
+      "select new com.example.StudentMangamentBackEnd.repository.projection.GroupCount("
+          + "s.department, count(s)) from Student s group by s.department")
+  List<GroupCount> countByDepartment();
+
+  @Query(
+      "select new com.example.StudentMangamentBackEnd.repository.projection.GroupCount("
+          + "s.grade, count(s)) from Student s group by s.grade")
+  List<GroupCount> countByGrade();
 }
@@ -0,0 +1,26 @@
+package com.example.StudentMangamentBackEnd.repository;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentResponseDTO;
+import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.pagination.KeysetCursor;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface StudentRepositoryCustom {
+
+  // Offset page ordered by the first sort order and then id, without a count
+  Slice<StudentResponseDTO> findResponses(Specification<Student> filter, Pageable pageable);
+
+  long countMatching(Specification<Student> filter);
+
+  // Seek page ordered by (field, id); "after" is null for the first page
+  List<StudentResponseDTO> findResponsesAfter(
+      Specification<Student> filter,
+      KeysetCursor after,
+      String field,
+      Sort.Direction direction,
+      int limit);
+}
@@ -0,0 +1,118 @@
+package com.example.StudentMangamentBackEnd.repository;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentResponseDTO;
+import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.model.Teacher;
+import com.example.StudentMangamentBackEnd.pagination.Keyset;
+import com.example.StudentMangamentBackEnd.pagination.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public class StudentRepositoryCustomImpl implements StudentRepositoryCustom {
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public Slice<StudentResponseDTO> findResponses(Specification<Student> filter, Pageable pageable) {
+
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<StudentResponseDTO> query = cb.createQuery(StudentResponseDTO.class);
+    Root<Student> student = selectResponses(cb, query);
+
+    Predicate where = filter.toPredicate(student, query, cb);
+    if (where != null) {
+      query.where(where);
+    }
+    Sort.Order order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc("id"));
+    query.orderBy(Keyset.orderBy(cb, student, order.getProperty(), order.getDirection()));
+
+    // One row past the page tells whether another one follows
+    List<StudentResponseDTO> content =
+        entityManager
+            .createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize() + 1)
+            .getResultList();
+    boolean hasNext = content.size() > pageable.getPageSize();
+    return new SliceImpl<>(
+        hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+  }
+
+  @Override
+  public List<StudentResponseDTO> findResponsesAfter(
+      Specification<Student> filter,
+      KeysetCursor after,
+      String field,
+      Sort.Direction direction,
+      int limit) {
+
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<StudentResponseDTO> query = cb.createQuery(StudentResponseDTO.class);
+    Root<Student> student = selectResponses(cb, query);
+
+    List<Predicate> where = new ArrayList<>();
+    Predicate matching = filter.toPredicate(student, query, cb);
+    if (matching != null) {
+      where.add(matching);
+    }
+    if (after != null) {
+      where.add(Keyset.after(cb, student, after));
+    }
+    query.where(where.toArray(Predicate[]::new));
+    query.orderBy(Keyset.orderBy(cb, student, field, direction));
+
+    return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+  }
+
+  @Override
+  public long countMatching(Specification<Student> filter) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> query = cb.createQuery(Long.class);
+    Root<Student> student = query.from(Student.class);
+    query.select(cb.count(student));
+
+    Predicate where = filter.toPredicate(student, query, cb);
+    if (where != null) {
+      query.where(where);
+    }
+    return entityManager.createQuery(query).getSingleResult();
+  }
+
+  private static Root<Student> selectResponses(
+      CriteriaBuilder cb, CriteriaQuery<StudentResponseDTO> query) {
+    Root<Student> student = query.from(Student.class);
+    Join<Student, Teacher> teacher = student.join("teacher", JoinType.LEFT);
+
+    query.select(
+        cb.construct(
+            StudentResponseDTO.class,
+            student.get("id"),
+            student.get("name"),
+            student.get("email"),
+            student.get("studentId"),
+            student.get("phone"),
+            student.get("address"),
+            student.get("department"),
+            student.get("enrollmentDate"),
+            student.get("age"),
+            student.get("grade"),
+            teacher.get("id"),
+            teacher.get("name"),
+            student.get("version"),
+            teacher.get("version")));
+    return student;
+  }
+}
@@ -0,0 +1,81 @@
+package com.example.StudentMangamentBackEnd.repository;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentFilterDTO;
+import com.example.StudentMangamentBackEnd.exception.BadRequestException;
+import com.example.StudentMangamentBackEnd.model.Student;
+import java.time.LocalDate;
+import java.util.function.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+// Student filters as Specifications. Every filtered column leads an index
+// (V2__student_filter_indexes.sql); a missing filter is null, which Specification.allOf skips.
+public final class StudentSpecifications {
+
+  private StudentSpecifications() {}
+
+  public static Specification<Student> matching(StudentFilterDTO filter) {
+    if (filter.getEnrolledFrom() != null
+        && filter.getEnrolledTo() != null
+        && filter.getEnrolledFrom().isAfter(filter.getEnrolledTo())) {
+      throw new BadRequestException("enrolledFrom must not be after enrolledTo");
+    }
+    return Specification.allOf(
+        hasDepartment(filter.getDepartment()),
+        hasGrade(filter.getGrade()),
+        hasTeacher(filter.getTeacherId()),
+        enrolledFrom(filter.getEnrolledFrom()),
+        enrolledTo(filter.getEnrolledTo()));
+  }
+
+  public static Specification<Student> hasDepartment(String department) {
+    return isBlank(department)
+        ? null
+        : (student, query, cb) -> cb.equal(student.get("department"), department);
+  }
+
+  public static Specification<Student> hasGrade(String grade) {
+    return isBlank(grade) ? null : (student, query, cb) -> cb.equal(student.get("grade"), grade);
+  }
+
+  // Compares the foreign key column; the teacher row is not joined for it
+  public static Specification<Student> hasTeacher(Long teacherId) {
+    return teacherId == null
+        ? null
+        : (student, query, cb) -> cb.equal(student.get("teacher").get("id"), teacherId);
+  }
+
+  public static Specification<Student> enrolledFrom(LocalDate from) {
+    return from == null
+        ? null
+        : (student, query, cb) -> cb.greaterThanOrEqualTo(student.get("enrollmentDate"), from);
+  }
+
+  public static Specification<Student> enrolledTo(LocalDate to) {
+    return to == null
+        ? null
+        : (student, query, cb) -> cb.lessThanOrEqualTo(student.get("enrollmentDate"), to);
+  }
+
+  // The same filter tested on a loaded student, for adjusting cached counts after a write
+  public static Predicate<Student> matcher(StudentFilterDTO filter) {
+    String department = filter.getDepartment();
+    String grade = filter.getGrade();
+    Long teacherId = filter.getTeacherId();
+    LocalDate from = filter.getEnrolledFrom();
+    LocalDate to = filter.getEnrolledTo();
+    return student ->
+        (isBlank(department) || department.equals(student.getDepartment()))
+            && (isBlank(grade) || grade.equals(student.getGrade()))
+            && (teacherId == null
+                || student.getTeacher() != null && teacherId.equals(student.getTeacher().getId()))
+            && (from == null
+                || student.getEnrollmentDate() != null
+                    && !student.getEnrollmentDate().isBefore(from))
+            && (to == null
+                || student.getEnrollmentDate() != null && !student.getEnrollmentDate().isAfter(to));
+  }
+
+  private static boolean isBlank(String value) {
+    return value == null || value.isBlank();
+  }
+}
@@ -1,18 +1,68 @@
 package com.example.StudentMangamentBackEnd.repository;
 
 import com.example.StudentMangamentBackEnd.model.Teacher;
+import com.example.StudentMangamentBackEnd.repository.projection.TeacherCount;
+import com.example.StudentMangamentBackEnd.repository.projection.TeacherRow;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface TeacherRepository extends JpaRepository<Teacher, Long> {
+public interface TeacherRepository extends JpaRepository<Teacher, Long>, TeacherRepositoryCustom {
 
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query-by-email")
+  })
   Optional<Teacher> findByEmail(String email);
 
   Page<Teacher> findAll(Pageable pageable);
 
-  Page<Teacher> findByNameContainingIgnoreCase(String name, Pageable pageable);
+  // Slices fetch one row past the page instead of counting; totals come from the count queries
+  Slice<Teacher> findAllBy(Pageable pageable);
+
+  Slice<Teacher> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+  long countByNameContainingIgnoreCase(String name);
 
   Optional<Teacher> findByNameContainingIgnoreCase(String name);
+
+  @QueryHints(
+      @QueryHint(
+          name = HibernateHints.HINT_FETCH_SIZE,
+          value = StudentRepository.EXPORT_FETCH_SIZE))
+  @Query(
+      "select new com.example.StudentMangamentBackEnd.repository.projection.TeacherRow("
+          + "t.id, t.name, t.email, t.subject, t.address, t.department, t.age, t.phone,"
+          + " t.version)"
+          + " from Teacher t order by t.id")
+  Stream<TeacherRow> streamAllRows();
+
+  @Transactional
+  @Modifying
+  @Query("update Teacher t set t.password = :password where t.id = :id")
+  int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+  @Query("select t.version from Teacher t where t.id = :id")
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  @Query("select t.id from Teacher t where t.id in :ids")
+  List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+  // Every teacher with the size of its roster, including empty ones
+  @Query(
+      "select new com.example.StudentMangamentBackEnd.repository.projection.TeacherCount("
+          + "t.id, count(s)) from Teacher t left join t.students s group by t.id")
+  List<TeacherCount> countStudentsPerTeacher();
 }
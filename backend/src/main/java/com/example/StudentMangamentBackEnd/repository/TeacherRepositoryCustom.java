@@ -0,0 +1,12 @@
+package com.example.StudentMangamentBackEnd.repository;
+
+import com.example.StudentMangamentBackEnd.model.Teacher;
+import com.example.StudentMangamentBackEnd.pagination.KeysetCursor;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+
+public interface TeacherRepositoryCustom {
+
+  // Seek page ordered by (field, id); "after" is null for the first page
+  List<Teacher> findAfter(KeysetCursor after, String field, Sort.Direction direction, int limit);
+}
@@ -0,0 +1,33 @@
+package com.example.StudentMangamentBackEnd.repository;
+
+import com.example.StudentMangamentBackEnd.model.Teacher;
+import com.example.StudentMangamentBackEnd.pagination.Keyset;
+import com.example.StudentMangamentBackEnd.pagination.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+
+public class TeacherRepositoryCustomImpl implements TeacherRepositoryCustom {
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public List<Teacher> findAfter(
+      KeysetCursor after, String field, Sort.Direction direction, int limit) {
+
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Teacher> query = cb.createQuery(Teacher.class);
+    Root<Teacher> teacher = query.from(Teacher.class);
+
+    if (after != null) {
+      query.where(Keyset.after(cb, teacher, after));
+    }
+    query.orderBy(Keyset.orderBy(cb, teacher, field, direction));
+
+    return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+  }
+}
@@ -0,0 +1,3 @@
+package com.example.StudentMangamentBackEnd.repository.projection;
+
+public record GroupCount(String key, Long count) {}
@@ -0,0 +1,3 @@
+package com.example.StudentMangamentBackEnd.repository.projection;
+
+public record TeacherCount(Long teacherId, Long count) {}
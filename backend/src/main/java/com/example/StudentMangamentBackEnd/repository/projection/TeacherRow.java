@@ -0,0 +1,13 @@
+package com.example.StudentMangamentBackEnd.repository.projection;
+
+// Teacher columns without the student collection, for streaming reads
+public record TeacherRow(
+    Long id,
+    String name,
+    String email,
+    String subject,
+    String address,
+    String department,
+    Integer age,
+    String phone,
+    Long version) {}
@@ -0,0 +1,8 @@
+package com.example.StudentMangamentBackEnd.repository.projection;
+
+public interface TeacherStudentId {
+
+  Long getTeacherId();
+
+  Long getStudentId();
+}
@@ -0,0 +1,52 @@
+package com.example.StudentMangamentBackEnd.response;
+
+import com.example.StudentMangamentBackEnd.exception.BadRequestException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Result of a fetch by ids: what was found, in the order requested, and the ids that were not
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchResult<T> {
+
+  public static final int MAX_IDS = 5000;
+
+  private List<T> content;
+  private List<Long> missingIds;
+
+  // The requested ids without repeats, in their first-seen order
+  public static List<Long> requireValidIds(List<Long> ids) {
+    if (ids == null || ids.isEmpty()) {
+      throw new BadRequestException("At least one id is required");
+    }
+    if (ids.stream().anyMatch(Objects::isNull)) {
+      throw new BadRequestException("Ids must not be null");
+    }
+    List<Long> distinct = List.copyOf(new LinkedHashSet<>(ids));
+    if (distinct.size() > MAX_IDS) {
+      throw new BadRequestException("At most " + MAX_IDS + " ids per request");
+    }
+    return distinct;
+  }
+
+  public static <T> BatchResult<T> of(List<Long> ids, Map<Long, T> found) {
+    List<T> content = new ArrayList<>(found.size());
+    List<Long> missing = new ArrayList<>();
+    for (Long id : ids) {
+      T value = found.get(id);
+      if (value == null) {
+        missing.add(id);
+      } else {
+        content.add(value);
+      }
+    }
+    return new BatchResult<>(content, missing);
+  }
+}
@@ -0,0 +1,17 @@
+package com.example.StudentMangamentBackEnd.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+
+  private List<T> content;
+  private int limit;
+  private boolean hasNext;
+  private String nextCursor; // pass back as "after" to fetch the next page
+}
@@ -0,0 +1,120 @@
+package com.example.StudentMangamentBackEnd.response;
+
+import com.example.StudentMangamentBackEnd.exception.PreconditionFailedException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+// Strong entity tags derived from @Version columns instead of the serialized body, so that a
+// matching If-None-Match can be answered from a version-only query.
+public final class ETags {
+
+  private ETags() {}
+
+  // "3" or "3.7": the entity version followed by the versions or digests of what it embeds
+  public static String of(Object... parts) {
+    return Arrays.stream(parts)
+        .filter(Objects::nonNull)
+        .map(String::valueOf)
+        .collect(Collectors.joining(".", "\"", "\""));
+  }
+
+  // First 64 bits of the SHA-256 of the values, in order
+  public static String digest(Collection<?> values) {
+    MessageDigest sha256;
+    try {
+      sha256 = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+    if (values != null) {
+      for (Object value : values) {
+        sha256.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        sha256.update((byte) ',');
+      }
+    }
+    return HexFormat.of().formatHex(sha256.digest(), 0, 8);
+  }
+
+  public static <T> String ofPage(Page<T> page, Function<T, String> etag) {
+    List<Object> parts = new ArrayList<>();
+    parts.add(page.getNumber());
+    parts.add(page.getSize());
+    parts.add(page.getTotalElements());
+    page.getContent().forEach(item -> parts.add(etag.apply(item)));
+    return of(digest(parts));
+  }
+
+  // A slice has no total; whether another page follows stands in for it
+  public static <T> String ofSlice(Slice<T> slice, Function<T, String> etag) {
+    if (slice instanceof Page<T> page) {
+      return ofPage(page, etag);
+    }
+    List<Object> parts = new ArrayList<>();
+    parts.add(slice.getNumber());
+    parts.add(slice.getSize());
+    parts.add(slice.hasNext());
+    slice.getContent().forEach(item -> parts.add(etag.apply(item)));
+    return of(digest(parts));
+  }
+
+  public static <T> String ofCursorPage(CursorPage<T> page, Function<T, String> etag) {
+    List<Object> parts = new ArrayList<>();
+    parts.add(page.getLimit());
+    parts.add(page.getNextCursor());
+    page.getContent().forEach(item -> parts.add(etag.apply(item)));
+    return of(digest(parts));
+  }
+
+  // Only looks the tag up when the client sent If-None-Match; a match has already set the 304
+  public static boolean notModified(WebRequest request, Supplier<String> etag) {
+    return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+        && request.checkNotModified(etag.get());
+  }
+
+  // Responses are per user and must be revalidated, but may be stored for conditional requests
+  public static <T> ResponseEntity<T> ok(String etag, T body) {
+    return ResponseEntity.ok()
+        .eTag(etag)
+        .cacheControl(CacheControl.noCache().cachePrivate())
+        .body(body);
+  }
+
+  // Strong comparison: weak tags never match, "*" matches any existing resource
+  public static boolean matches(String ifMatch, String etag) {
+    for (String candidate : ifMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.equals("*") || tag.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // No-op without an If-Match header, so clients that do not send one keep working
+  public static void requireMatch(String ifMatch, String etag, String resource) {
+    requireMatch(ifMatch, List.of(etag), resource);
+  }
+
+  // For resources served in several views, each tagged differently; any of them may be echoed
+  public static void requireMatch(String ifMatch, List<String> etags, String resource) {
+    if (ifMatch != null && etags.stream().noneMatch(etag -> matches(ifMatch, etag))) {
+      throw new PreconditionFailedException(resource + " has been modified since it was fetched");
+    }
+  }
+}
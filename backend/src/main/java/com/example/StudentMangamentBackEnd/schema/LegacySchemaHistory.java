@@ -0,0 +1,44 @@
+package com.example.StudentMangamentBackEnd.schema;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Hands databases that the earlier in-house migrator kept over to Flyway. They already ran the
+// versions recorded in its schema_history table, so they are baselined at the newest of those
+// rather than at V1; Flyway then runs only the later versions, under its own migration lock.
+// Once Flyway's history table exists the baseline version no longer matters.
+@Slf4j
+@Component
+public class LegacySchemaHistory implements FlywayMigrationStrategy {
+
+  @Override
+  public void migrate(Flyway flyway) {
+    Integer applied = legacyVersion(flyway);
+    if (applied == null) {
+      flyway.migrate();
+      return;
+    }
+
+    log.info("Found schema_history at version {}; baselining Flyway there", applied);
+    Flyway.configure()
+        .configuration(flyway.getConfiguration())
+        .baselineOnMigrate(true)
+        .baselineVersion(String.valueOf(applied))
+        .load()
+        .migrate();
+  }
+
+  // Null when the database never ran the in-house migrator
+  private static Integer legacyVersion(Flyway flyway) {
+    try {
+      return new JdbcTemplate(flyway.getConfiguration().getDataSource())
+          .queryForObject("select max(version) from schema_history", Integer.class);
+    } catch (DataAccessException e) {
+      return null;
+    }
+  }
+}
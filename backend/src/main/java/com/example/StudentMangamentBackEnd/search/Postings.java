@@ -0,0 +1,108 @@
+package com.example.StudentMangamentBackEnd.search;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+// Sorted id list of one gram. New ids are usually the largest, so adds are appends.
+final class Postings {
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private long[] ids;
+  private volatile int size;
+
+  Postings() {
+    this.ids = new long[4];
+  }
+
+  // Over ids already in ascending order
+  Postings(long[] ids) {
+    this.ids = ids;
+    this.size = ids.length;
+  }
+
+  void add(long id) {
+    lock.writeLock().lock();
+    try {
+      int i = Arrays.binarySearch(ids, 0, size, id);
+      if (i >= 0) {
+        return;
+      }
+      i = -i - 1;
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size * 2);
+      }
+      System.arraycopy(ids, i, ids, i + 1, size - i);
+      ids[i] = id;
+      size++;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void remove(long id) {
+    lock.writeLock().lock();
+    try {
+      int i = Arrays.binarySearch(ids, 0, size, id);
+      if (i >= 0) {
+        System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+        size--;
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  // Ids at positions [from, to) in ascending order, or counted from the largest when descending
+  long[] slice(long from, long to, boolean descending) {
+    lock.readLock().lock();
+    try {
+      int start = (int) Math.min(from, size);
+      int end = (int) Math.min(to, size);
+      long[] slice = new long[end - start];
+      for (int i = 0; i < slice.length; i++) {
+        slice[i] = descending ? ids[size - 1 - start - i] : ids[start + i];
+      }
+      return slice;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // Keeps the first count candidates (ascending) that are in this list; returns how many remain
+  int retain(long[] candidates, int count) {
+    lock.readLock().lock();
+    try {
+      int kept = 0;
+      int from = 0;
+      for (int i = 0; i < count && from < size; i++) {
+        int at = Arrays.binarySearch(ids, from, size, candidates[i]);
+        if (at >= 0) {
+          candidates[kept++] = candidates[i];
+          from = at + 1;
+        } else {
+          from = -at - 1;
+        }
+      }
+      return kept;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // Visits every id in ascending (or descending) order without copying the list
+  void forEach(boolean descending, LongConsumer action) {
+    lock.readLock().lock();
+    try {
+      for (int i = 0; i < size; i++) {
+        action.accept(descending ? ids[size - 1 - i] : ids[i]);
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+}
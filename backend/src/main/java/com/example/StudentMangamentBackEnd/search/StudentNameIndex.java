@@ -0,0 +1,502 @@
+package com.example.StudentMangamentBackEnd.search;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentSuggestionDTO;
+import com.example.StudentMangamentBackEnd.cache.AfterCommit;
+import com.example.StudentMangamentBackEnd.datasource.DataSourceRouting;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.projection.StudentNameRow;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// In-memory gram index over student names. Every 1, 2 and 3 character substring has an id-ordered
+// postings list: queries of up to three characters read theirs directly, longer ones verify the
+// candidates of their rarest trigram, so the students table is never scanned. A page sorted by id
+// is cut from the postings in order; other sorts keep only the best offset + size hits.
+// Word-start entries in a sorted set serve autocomplete. The index is local to this instance
+// and is kept current by StudentServiceImpl write paths after their transaction commits.
+//
+// Writes made by other instances are picked up by a scheduled reconciliation against the
+// primary. Until then the index may still hold ids whose rows are gone, so a page can be
+// shorter than its total implies, and it may miss new rows. An index that has not been built or
+// reconciled within search.student-index.max-age is not used and searches go to the database.
+//
+// Memory: names average ~14 characters and ~35 distinct 1, 2 and 3 character grams, so at 1M
+// students the postings hold ~35M ids, ~280 MB of long[] (up to twice that while lists grow by
+// doubling), two thirds of it for the 1 and 2 character grams. Entries, name keys and word keys
+// add roughly another 450 MB. Budget about 1 GB of heap per instance at that size, or set
+// search.student-index.enabled=false to serve every search from the database.
+@Slf4j
+@Component
+public class StudentNameIndex {
+
+  private static final char WORD_ID_SEPARATOR = '\u0000';
+
+  // Separator and four chars of id after each folded name, so keys sort by name, then id
+  private static final int NAME_KEY_SUFFIX = 5;
+
+  private record Entry(String name, String folded) {}
+
+  private record Hit(long id, Entry entry, int rank) {}
+
+  // One page of matching ids and the number of matches in total
+  public record Matches(List<Long> ids, long total) {}
+
+  private final StudentRepository studentRepository;
+  private final boolean enabled;
+  private final long maxAgeNanos;
+
+  private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Long, Postings> grams = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListSet<String> words = new ConcurrentSkipListSet<>();
+  private final ConcurrentSkipListSet<String> names = new ConcurrentSkipListSet<>();
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private volatile boolean ready;
+  // System.nanoTime() of the last build or reconciliation
+  private volatile long checkedAt;
+  // Ids written here while a reconciliation reads the table, which it must not undo; guarded by
+  // writeLock and null outside of a reconciliation
+  private Set<Long> writtenDuringReconcile;
+
+  public StudentNameIndex(
+      StudentRepository studentRepository,
+      @Value("${search.student-index.enabled:true}") boolean enabled,
+      @Value("${search.student-index.max-age:PT5M}") Duration maxAge) {
+    this.studentRepository = studentRepository;
+    this.enabled = enabled;
+    this.maxAgeNanos = maxAge.toNanos();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    if (enabled) {
+      rebuild();
+    }
+  }
+
+  public void rebuild() {
+    writeLock.lock();
+    try {
+      ready = false;
+      entries.clear();
+      grams.clear();
+      words.clear();
+      names.clear();
+      for (StudentNameRow row : DataSourceRouting.primary(studentRepository::findAllNames)) {
+        doPut(row.id(), row.name());
+      }
+      checkedAt = System.nanoTime();
+      ready = true;
+    } finally {
+      writeLock.unlock();
+    }
+    log.info("Student name index built with {} entries", entries.size());
+  }
+
+  // Applies the rows other instances changed. Reads the table without holding the write lock,
+  // so local writes keep going meanwhile; the ids they touch are skipped when the differences
+  // are applied, since the read may predate them.
+  @Scheduled(
+      fixedDelayString = "${search.student-index.reconcile-interval:PT1M}",
+      initialDelayString = "${search.student-index.reconcile-interval:PT1M}")
+  public void reconcile() {
+    if (!enabled) {
+      return;
+    }
+    if (!ready) {
+      rebuild();
+      return;
+    }
+
+    withWriteLock(() -> writtenDuringReconcile = new HashSet<>());
+    Map<Long, String> stored = new HashMap<>();
+    try {
+      for (StudentNameRow row : DataSourceRouting.primary(studentRepository::findAllNames)) {
+        stored.put(row.id(), row.name());
+      }
+    } catch (RuntimeException e) {
+      withWriteLock(() -> writtenDuringReconcile = null);
+      throw e;
+    }
+
+    int[] corrected = {0};
+    withWriteLock(
+        () -> {
+          Set<Long> written = writtenDuringReconcile;
+          writtenDuringReconcile = null;
+          for (Long id : List.copyOf(entries.keySet())) {
+            if (!stored.containsKey(id) && !written.contains(id)) {
+              doRemove(id);
+              corrected[0]++;
+            }
+          }
+          stored.forEach(
+              (id, name) -> {
+                Entry entry = entries.get(id);
+                String indexed = entry == null ? null : entry.name();
+                if (!written.contains(id) && !Objects.equals(indexed, name)) {
+                  doPut(id, name);
+                  corrected[0]++;
+                }
+              });
+          checkedAt = System.nanoTime();
+        });
+    if (corrected[0] > 0) {
+      log.info("Student name index reconciled: {} entries corrected", corrected[0]);
+    }
+  }
+
+  // Built, and built or reconciled recently enough to answer for the table
+  public boolean isReady() {
+    return ready && System.nanoTime() - checkedAt < maxAgeNanos;
+  }
+
+  public void put(long id, String name) {
+    AfterCommit.run(
+        () ->
+            withWriteLock(
+                () -> {
+                  written(id);
+                  doPut(id, name);
+                }));
+  }
+
+  public void remove(long id) {
+    AfterCommit.run(
+        () ->
+            withWriteLock(
+                () -> {
+                  written(id);
+                  doRemove(id);
+                }));
+  }
+
+  public void removeAll(Collection<Long> ids) {
+    AfterCommit.run(
+        () ->
+            withWriteLock(
+                () ->
+                    ids.forEach(
+                        id -> {
+                          written(id);
+                          doRemove(id);
+                        })));
+  }
+
+  // Ids of students whose name contains the query, ordered by the given sort.
+  // Returns null when the sort is not one the index can apply (anything but relevance, id, name).
+  public List<Long> search(String query, Sort sort) {
+    Matches matches = search(query, sort, 0, Integer.MAX_VALUE);
+    return matches == null ? null : matches.ids();
+  }
+
+  // The given page of those ids, with the total
+  public Matches search(String query, Sort sort, long offset, int size) {
+    String folded = fold(query);
+    Comparator<Hit> order = comparator(sort);
+    if (order == null) {
+      return null;
+    }
+    Postings matches = matches(folded);
+    if (matches == null) {
+      return new Matches(List.of(), 0);
+    }
+
+    Sort.Order first = sort.isUnsorted() ? Sort.Order.asc("relevance") : sort.toList().get(0);
+    List<Long> ids =
+        first.getProperty().equals("id")
+            ? Arrays.stream(matches.slice(offset, offset + size, first.isDescending()))
+                .boxed()
+                .toList()
+            : ranked(folded, matches, first, offset, size);
+    return new Matches(ids, matches.size());
+  }
+
+  public List<StudentSuggestionDTO> suggest(String prefix, int limit) {
+    String folded = fold(prefix).trim();
+    if (folded.isEmpty() || limit < 1) {
+      return List.of();
+    }
+
+    String firstWord = folded.split("\\s+", 2)[0];
+    Map<Long, Hit> candidates = new LinkedHashMap<>();
+    for (String word : words.subSet(firstWord, firstWord + Character.MAX_VALUE)) {
+      long id = Long.parseLong(word.substring(word.indexOf(WORD_ID_SEPARATOR) + 1));
+      Entry entry = entries.get(id);
+      if (entry != null
+          && (entry.folded().startsWith(folded) || entry.folded().contains(" " + folded))) {
+        candidates.putIfAbsent(id, new Hit(id, entry, rank(entry.folded(), folded)));
+        if (candidates.size() >= limit * 8) {
+          break;
+        }
+      }
+    }
+
+    return candidates.values().stream()
+        .sorted(byRelevance())
+        .limit(limit)
+        .map(hit -> new StudentSuggestionDTO(hit.id(), hit.entry().name()))
+        .toList();
+  }
+
+  // The matching ids in id order: a gram's postings up to three characters, else the candidates
+  // in every trigram's postings that contain the query. Null when nothing matches.
+  private Postings matches(String query) {
+    if (query.isEmpty()) {
+      return new Postings(entries.keySet().stream().mapToLong(Long::longValue).sorted().toArray());
+    }
+    if (query.length() <= 3) {
+      return grams.get(gram(query, 0, query.length()));
+    }
+
+    List<Postings> trigramPostings = new ArrayList<>();
+    for (int i = 0; i + 3 <= query.length(); i++) {
+      Postings postings = grams.get(gram(query, i, 3));
+      if (postings == null) {
+        return null;
+      }
+      trigramPostings.add(postings);
+    }
+    trigramPostings.sort(Comparator.comparingInt(Postings::size));
+
+    long[] candidates = trigramPostings.get(0).slice(0, Integer.MAX_VALUE, false);
+    int count = candidates.length;
+    for (int i = 1; i < trigramPostings.size() && count > 0; i++) {
+      count = trigramPostings.get(i).retain(candidates, count);
+    }
+    int matched = 0;
+    for (int i = 0; i < count; i++) {
+      Entry entry = entries.get(candidates[i]);
+      if (entry != null && entry.folded().contains(query)) {
+        candidates[matched++] = candidates[i];
+      }
+    }
+    return matched == 0 ? null : new Postings(Arrays.copyOf(candidates, matched));
+  }
+
+  // By name or relevance: read off the ordered names when a short walk fills the page, else keep
+  // the best offset + size matches
+  private List<Long> ranked(
+      String query, Postings matches, Sort.Order order, long offset, int size) {
+    int limit = (int) Math.min(offset + size, Integer.MAX_VALUE);
+    List<Long> walked = null;
+    if (order.getProperty().equals("relevance") && order.isAscending()) {
+      // Exact and name-prefix matches rank first and are contiguous in name order
+      walked = walk(names.subSet(query, query + Character.MAX_VALUE), query, limit);
+    } else if (order.getProperty().equals("name")
+        && (long) matches.size() * matches.size() >= (long) limit * entries.size()) {
+      walked = walk(order.isAscending() ? names : names.descendingSet(), query, limit);
+    }
+    if (walked != null && walked.size() == limit) {
+      return walked.subList((int) Math.min(offset, limit), limit);
+    }
+    return best(query, matches, comparator(Sort.by(order)), offset, limit);
+  }
+
+  private List<Long> walk(Collection<String> keys, String query, int limit) {
+    List<Long> ids = new ArrayList<>();
+    for (String key : keys) {
+      if (ids.size() == limit) {
+        break;
+      }
+      // The first occurrence lies within the name whenever any does
+      int at = key.indexOf(query);
+      if (at >= 0 && at + query.length() <= key.length() - NAME_KEY_SUFFIX) {
+        ids.add(idOf(key));
+      }
+    }
+    return ids;
+  }
+
+  // Keeps the best limit matches in a heap whose head is the worst of them
+  private List<Long> best(
+      String query, Postings matches, Comparator<Hit> order, long offset, int limit) {
+    PriorityQueue<Hit> best = new PriorityQueue<>(order.reversed());
+    matches.forEach(
+        false,
+        id -> {
+          Entry entry = entries.get(id);
+          if (entry == null) {
+            return;
+          }
+          Hit hit = new Hit(id, entry, rank(entry.folded(), query));
+          if (best.size() < limit) {
+            best.add(hit);
+          } else if (limit > 0 && order.compare(hit, best.peek()) < 0) {
+            best.poll();
+            best.add(hit);
+          }
+        });
+
+    List<Hit> hits = new ArrayList<>(best);
+    hits.sort(order);
+    return hits.subList((int) Math.min(offset, hits.size()), hits.size()).stream()
+        .map(Hit::id)
+        .toList();
+  }
+
+  private Comparator<Hit> comparator(Sort sort) {
+    if (sort.isUnsorted()) {
+      return byRelevance();
+    }
+
+    List<Sort.Order> orders = sort.toList();
+    if (orders.size() != 1) {
+      return null;
+    }
+
+    Sort.Order order = orders.get(0);
+    Comparator<Hit> comparator =
+        switch (order.getProperty()) {
+          case "relevance" -> byRelevance();
+          case "id" -> Comparator.comparingLong(Hit::id);
+          case "name" ->
+              Comparator.comparing((Hit hit) -> hit.entry().folded()).thenComparingLong(Hit::id);
+          default -> null;
+        };
+    return comparator != null && order.isDescending() ? comparator.reversed() : comparator;
+  }
+
+  // Exact match, then name prefix, then word prefix, then any substring; ties by name and id
+  private static Comparator<Hit> byRelevance() {
+    return Comparator.comparingInt(Hit::rank)
+        .thenComparing(hit -> hit.entry().folded())
+        .thenComparingLong(Hit::id);
+  }
+
+  private static int rank(String folded, String query) {
+    if (folded.equals(query)) {
+      return 0;
+    }
+    if (folded.startsWith(query)) {
+      return 1;
+    }
+    return startsAWord(folded, query) ? 2 : 3;
+  }
+
+  // folded.contains(" " + query) without building the string for every hit
+  private static boolean startsAWord(String folded, String query) {
+    for (int i = folded.indexOf(query, 1); i > 0; i = folded.indexOf(query, i + 1)) {
+      if (folded.charAt(i - 1) == ' ') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void doPut(long id, String name) {
+    doRemove(id);
+    if (name == null) {
+      return;
+    }
+
+    Entry entry = new Entry(name, fold(name));
+    entries.put(id, entry);
+    names.add(nameKey(entry.folded(), id));
+    forEachGram(entry.folded(), key -> grams.computeIfAbsent(key, k -> new Postings()).add(id));
+    for (String word : entry.folded().split("\\s+")) {
+      if (!word.isEmpty()) {
+        words.add(word + WORD_ID_SEPARATOR + id);
+      }
+    }
+  }
+
+  private void doRemove(long id) {
+    Entry entry = entries.remove(id);
+    if (entry == null) {
+      return;
+    }
+
+    names.remove(nameKey(entry.folded(), id));
+    forEachGram(
+        entry.folded(),
+        key -> {
+          Postings postings = grams.get(key);
+          if (postings != null) {
+            postings.remove(id);
+            if (postings.size() == 0) {
+              grams.remove(key);
+            }
+          }
+        });
+    for (String word : entry.folded().split("\\s+")) {
+      words.remove(word + WORD_ID_SEPARATOR + id);
+    }
+  }
+
+  private void written(long id) {
+    if (writtenDuringReconcile != null) {
+      writtenDuringReconcile.add(id);
+    }
+  }
+
+  private void withWriteLock(Runnable action) {
+    writeLock.lock();
+    try {
+      action.run();
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private static String nameKey(String folded, long id) {
+    return folded
+        + WORD_ID_SEPARATOR
+        + (char) (id >>> 48)
+        + (char) (id >>> 32)
+        + (char) (id >>> 16)
+        + (char) id;
+  }
+
+  private static long idOf(String nameKey) {
+    long id = 0;
+    for (int i = nameKey.length() - NAME_KEY_SUFFIX + 1; i < nameKey.length(); i++) {
+      id = (id << 16) | nameKey.charAt(i);
+    }
+    return id;
+  }
+
+  private static void forEachGram(String s, LongConsumer action) {
+    for (int n = 1; n <= 3; n++) {
+      for (int i = 0; i + n <= s.length(); i++) {
+        action.accept(gram(s, i, n));
+      }
+    }
+  }
+
+  // The n characters from i, 16 bits each, below the length, so grams of any length differ
+  private static long gram(String s, int i, int n) {
+    long key = n;
+    for (int j = i; j < i + n; j++) {
+      key = (key << 16) | s.charAt(j);
+    }
+    return key;
+  }
+
+  private static String fold(String s) {
+    return s == null ? "" : s.toLowerCase(Locale.ROOT);
+  }
+}
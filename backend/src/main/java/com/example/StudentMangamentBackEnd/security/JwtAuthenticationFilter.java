@@ -3,8 +3,12 @@ package com.example.StudentMangamentBackEnd.security;
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
 import java.io.IOException;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -15,10 +19,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtUtil jwtUtil;
   private final CustomUserDetailsService userDetailsService;
+  private final TokenVersionRegistry tokenVersionRegistry;
+  private final boolean stateless;
 
-  public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService uds) {
+  public JwtAuthenticationFilter(
+      JwtUtil jwtUtil,
+      CustomUserDetailsService uds,
+      TokenVersionRegistry tokenVersionRegistry,
+      @Value("${security.jwt.stateless:true}") boolean stateless) {
     this.jwtUtil = jwtUtil;
     this.userDetailsService = uds;
+    this.tokenVersionRegistry = tokenVersionRegistry;
+    this.stateless = stateless;
   }
 
   @Override
@@ -30,21 +42,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     if (header != null && header.startsWith("Bearer ")) {
       String token = header.substring(7);
-      String email = jwtUtil.extractEmail(token);
+      JwtClaims claims = jwtUtil.parse(token);
+      String email = claims.email();
 
       if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        UserDetails userDetails =
+            stateless ? fromClaims(claims) : userDetailsService.loadUserByUsername(email);
 
-        UsernamePasswordAuthenticationToken auth =
-            new UsernamePasswordAuthenticationToken(
-                userDetails, null, userDetails.getAuthorities());
+        if (userDetails != null) {
+          UsernamePasswordAuthenticationToken auth =
+              new UsernamePasswordAuthenticationToken(
+                  userDetails, null, userDetails.getAuthorities());
 
-        auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-        SecurityContextHolder.getContext().setAuthentication(auth);
+          auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+          SecurityContextHolder.getContext().setAuthentication(auth);
+        }
       }
     }
 
     chain.doFilter(request, response);
   }
+
+  // Builds the principal from the verified claims; no database access once the principal's token
+  // version is cached.
+  private UserDetails fromClaims(JwtClaims claims) {
+    if (claims.role() == null
+        || !tokenVersionRegistry.isCurrent(claims.role(), claims.email(), claims.version())) {
+      return null;
+    }
+
+    return User.withUsername(claims.email())
+        .password("")
+        .authorities(List.of(new SimpleGrantedAuthority(claims.role())))
+        .build();
+  }
 }
@@ -0,0 +1,7 @@
+package com.example.StudentMangamentBackEnd.security;
+
+import java.time.Instant;
+
+// Verified, immutable view of the claims the application reads from a token.
+public record JwtClaims(
+    String email, String role, int version, Instant issuedAt, Instant expiresAt) {}
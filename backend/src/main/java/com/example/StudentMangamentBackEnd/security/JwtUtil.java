@@ -1,9 +1,21 @@
 package com.example.StudentMangamentBackEnd.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
 import java.util.Date;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -14,33 +26,133 @@ public class JwtUtil {
 
   private static final long EXPIRATION_TIME = 1000 * 60 * 60 * 24; // 1 day
 
-  private Key getSigningKey() {
-    return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+  public static final String ROLE_CLAIM = "role";
+  public static final String VERSION_CLAIM = "ver";
+
+  private final Key signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+  private final Clock clock;
+  private final JwtParser parser;
+
+  // Verified tokens keyed by SHA-256 digest; entries expire together with the token.
+  private final Cache<ByteBuffer, JwtClaims> verifiedTokens;
+
+  @Autowired
+  public JwtUtil(@Value("${jwt.cache.max-size:10000}") long cacheMaxSize) {
+    this(cacheMaxSize, Clock.systemUTC(), Ticker.systemTicker());
   }
 
-  public String generateToken(String email, String role) {
+  // Tokens are issued, checked and expired from the cache by the clock; the ticker must advance
+  // with it
+  JwtUtil(long cacheMaxSize, Clock clock, Ticker ticker) {
+    this.clock = clock;
+    this.parser =
+        Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .setClock(() -> Date.from(clock.instant()))
+            .build();
+    this.verifiedTokens =
+        cacheMaxSize > 0
+            ? Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpiry(clock))
+                .ticker(ticker)
+                .recordStats()
+                .build()
+            : null;
+  }
+
+  // The version is the principal's current token version (see TokenVersionRegistry)
+  public String generateToken(String email, String role, int tokenVersion) {
+    Instant now = clock.instant();
     return Jwts.builder()
         .setSubject(email)
-        .claim("role", role)
-        .setIssuedAt(new Date())
-        .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-        .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+        .claim(ROLE_CLAIM, role)
+        .claim(VERSION_CLAIM, tokenVersion)
+        .setIssuedAt(Date.from(now))
+        .setExpiration(Date.from(now.plusMillis(EXPIRATION_TIME)))
+        .signWith(signingKey, SignatureAlgorithm.HS256)
         .compact();
   }
 
   public String extractEmail(String token) {
-    return getClaims(token).getSubject();
+    return parse(token).email();
   }
 
   public String extractRole(String token) {
-    return getClaims(token).get("role", String.class);
+    return parse(token).role();
+  }
+
+  // Verifies the token once and returns its claims; repeat tokens are served from the cache.
+  public JwtClaims parse(String token) {
+    if (verifiedTokens == null) {
+      return verify(token);
+    }
+
+    ByteBuffer key = digest(token);
+    JwtClaims claims = verifiedTokens.getIfPresent(key);
+    if (claims == null) {
+      claims = verify(token);
+      verifiedTokens.put(key, claims);
+    }
+    return claims;
+  }
+
+  public long getCacheHitCount() {
+    return verifiedTokens == null ? 0 : verifiedTokens.stats().hitCount();
+  }
+
+  public long getCacheMissCount() {
+    return verifiedTokens == null ? 0 : verifiedTokens.stats().missCount();
+  }
+
+  private JwtClaims verify(String token) {
+    Claims claims = parser.parseClaimsJws(token).getBody();
+    Integer version = claims.get(VERSION_CLAIM, Integer.class);
+
+    return new JwtClaims(
+        claims.getSubject(),
+        claims.get(ROLE_CLAIM, String.class),
+        version == null ? 0 : version,
+        claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+        claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+  }
+
+  private static ByteBuffer digest(String token) {
+    try {
+      return ByteBuffer.wrap(
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
   }
 
-  private Claims getClaims(String token) {
-    return Jwts.parserBuilder()
-        .setSigningKey(getSigningKey())
-        .build()
-        .parseClaimsJws(token)
-        .getBody();
+  private static final class UntilTokenExpiry implements Expiry<ByteBuffer, JwtClaims> {
+
+    private final Clock clock;
+
+    private UntilTokenExpiry(Clock clock) {
+      this.clock = clock;
+    }
+
+    @Override
+    public long expireAfterCreate(ByteBuffer key, JwtClaims claims, long currentTime) {
+      if (claims.expiresAt() == null) {
+        return Long.MAX_VALUE;
+      }
+      long millis = claims.expiresAt().toEpochMilli() - clock.millis();
+      return Math.max(0, millis) * 1_000_000;
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        ByteBuffer key, JwtClaims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(
+        ByteBuffer key, JwtClaims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
   }
 }
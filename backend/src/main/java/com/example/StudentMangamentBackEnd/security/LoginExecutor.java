@@ -0,0 +1,129 @@
+package com.example.StudentMangamentBackEnd.security;
+
+import com.example.StudentMangamentBackEnd.exception.ServiceUnavailableException;
+import com.example.StudentMangamentBackEnd.exception.TooManyRequestsException;
+import com.example.StudentMangamentBackEnd.metrics.SqlStatistics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Runs logins (BCrypt) on a small dedicated pool so a login storm cannot take the CPU and request
+// threads other endpoints need. A full queue is rejected at once (429) and a login that waits too
+// long is dropped (503). The pool uses platform threads even in virtual-thread mode because
+// hashing is CPU-bound.
+@Slf4j
+@Component
+public class LoginExecutor {
+
+  private final ThreadPoolExecutor executor;
+  private final Duration timeout;
+  private final Counter saturated;
+  private final Counter timedOut;
+
+  public LoginExecutor(
+      MeterRegistry meterRegistry,
+      @Value("${security.login.threads:0}") int threads,
+      @Value("${security.login.queue-capacity:100}") int queueCapacity,
+      @Value("${security.login.timeout:5s}") Duration timeout) {
+
+    int poolSize =
+        threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            task -> {
+              Thread thread = new Thread(task, "login-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    this.timeout = timeout;
+
+    Gauge.builder("security.login.queued", executor, e -> e.getQueue().size())
+        .description("Logins waiting for a login thread")
+        .register(meterRegistry);
+    Gauge.builder("security.login.active", executor, ThreadPoolExecutor::getActiveCount)
+        .description("Logins being processed")
+        .register(meterRegistry);
+    this.saturated =
+        Counter.builder("security.login.rejected")
+            .tag("reason", "saturated")
+            .register(meterRegistry);
+    this.timedOut =
+        Counter.builder("security.login.rejected").tag("reason", "timeout").register(meterRegistry);
+
+    log.info(
+        "Login executor started with {} threads, queue {} and timeout {} ms",
+        poolSize,
+        queueCapacity,
+        timeout.toMillis());
+  }
+
+  public <T> CompletableFuture<T> submit(Supplier<T> request) {
+    // The login's queries count towards the request that submitted it
+    Supplier<T> login = SqlStatistics.propagate(request);
+    CompletableFuture<T> result = new CompletableFuture<>();
+    FutureTask<Void> task =
+        new FutureTask<>(
+            () -> {
+              try {
+                result.complete(login.get());
+              } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+              }
+            },
+            null);
+
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      saturated.increment();
+      log.warn("Login rejected, {} logins already queued", executor.getQueue().size());
+      throw new TooManyRequestsException("Too many login attempts, please retry shortly");
+    }
+
+    CompletableFuture<T> bounded = new CompletableFuture<>();
+    result
+        .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+        .whenComplete(
+            (value, error) -> {
+              if (error == null) {
+                bounded.complete(value);
+              } else if (error instanceof TimeoutException) {
+                // Drop it from the queue if it never started
+                executor.remove(task);
+                task.cancel(false);
+                timedOut.increment();
+                bounded.completeExceptionally(
+                    new ServiceUnavailableException("Login is temporarily unavailable"));
+              } else {
+                bounded.completeExceptionally(error);
+              }
+            });
+    return bounded;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
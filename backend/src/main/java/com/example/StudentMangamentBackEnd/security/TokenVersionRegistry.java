@@ -0,0 +1,81 @@
+package com.example.StudentMangamentBackEnd.security;
+
+import com.example.StudentMangamentBackEnd.cache.AfterCommit;
+import com.example.StudentMangamentBackEnd.datasource.DataSourceRouting;
+import com.example.StudentMangamentBackEnd.model.Admin;
+import com.example.StudentMangamentBackEnd.model.Teacher;
+import com.example.StudentMangamentBackEnd.repository.AdminRepository;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.OptionalInt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Per-principal token version used by the stateless JWT filter instead of a user lookup. The
+// version is stored in admins.token_version and teachers.token_version and bumped by the write
+// that changes the password or email, so it survives restarts and rolls back with the write. A
+// principal that no longer exists has no version, so none of its tokens match.
+//
+// Versions are read through the by-email query and entity caches and kept here per principal,
+// so an authenticated request normally runs no SQL. Only existing principals are cached; an
+// entry is dropped once the transaction that creates, bumps or deletes its principal commits.
+@Component
+public class TokenVersionRegistry {
+
+  private final AdminRepository adminRepository;
+  private final TeacherRepository teacherRepository;
+  private final Cache<String, Integer> versions;
+
+  public TokenVersionRegistry(
+      AdminRepository adminRepository,
+      TeacherRepository teacherRepository,
+      @Value("${security.jwt.version-cache.max-size:10000}") long maxSize,
+      @Value("${security.jwt.version-cache.ttl:1m}") Duration ttl) {
+    this.adminRepository = adminRepository;
+    this.teacherRepository = teacherRepository;
+    this.versions = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+  }
+
+  // Empty when no such principal exists
+  public OptionalInt currentVersion(String role, String email) {
+    if (role == null || email == null) {
+      return OptionalInt.empty();
+    }
+    Integer version = versions.get(key(role, email), key -> load(role, email));
+    return version == null ? OptionalInt.empty() : OptionalInt.of(version);
+  }
+
+  public boolean isCurrent(String role, String email, int version) {
+    OptionalInt current = currentVersion(role, email);
+    return current.isPresent() && current.getAsInt() == version;
+  }
+
+  // Called by the write that created, bumped or deleted the principal
+  public void changed(String role, String email) {
+    if (email != null) {
+      String key = key(role, email);
+      AfterCommit.run(() -> versions.invalidate(key));
+    }
+  }
+
+  // From the primary: a lagging replica could still return the version from before a bump
+  private Integer load(String role, String email) {
+    return DataSourceRouting.primary(
+        () ->
+            switch (role) {
+              case "ADMIN" ->
+                  adminRepository.findByEmail(email).map(Admin::getTokenVersion).orElse(null);
+              case "TEACHER" ->
+                  teacherRepository.findByEmail(email).map(Teacher::getTokenVersion).orElse(null);
+              default -> null;
+            });
+  }
+
+  // Emails match case-insensitively, so every casing of one shares an entry and an invalidation
+  private String key(String role, String email) {
+    return role + ":" + email.toLowerCase(Locale.ROOT);
+  }
+}
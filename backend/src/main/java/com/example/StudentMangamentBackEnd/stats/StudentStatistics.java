@@ -0,0 +1,229 @@
+package com.example.StudentMangamentBackEnd.stats;
+
+import com.example.StudentMangamentBackEnd.DTO.stats.StatsResponseDTO;
+import com.example.StudentMangamentBackEnd.cache.AfterCommit;
+import com.example.StudentMangamentBackEnd.datasource.DataSourceRouting;
+import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import com.example.StudentMangamentBackEnd.repository.projection.GroupCount;
+import com.example.StudentMangamentBackEnd.repository.projection.TeacherCount;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Dashboard counters kept in memory. Write paths in the student and teacher services apply
+// their deltas after commit; a scheduled GROUP BY reconciliation replaces the counters and
+// corrects any drift (writes racing a reconciliation, rows changed outside this instance).
+// Reads return a cached snapshot and never query the database.
+@Slf4j
+@Component
+public class StudentStatistics {
+
+  // Key for students without a department or grade
+  static final String NONE = "(none)";
+
+  // The attributes of a student the counters depend on
+  public record Facts(String department, String grade, Long teacherId) {
+
+    public static Facts of(Student student) {
+      return new Facts(
+          student.getDepartment(),
+          student.getGrade(),
+          student.getTeacher() == null ? null : student.getTeacher().getId());
+    }
+  }
+
+  private final StudentRepository studentRepository;
+  private final TeacherRepository teacherRepository;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<String, Long> byDepartment = new HashMap<>();
+  private final Map<String, Long> byGrade = new HashMap<>();
+  private final Map<Long, Long> byTeacher = new HashMap<>();
+  private long students;
+  private long unassigned;
+  private LocalDateTime reconciledAt;
+  private volatile StatsResponseDTO snapshot;
+
+  public StudentStatistics(
+      StudentRepository studentRepository, TeacherRepository teacherRepository) {
+    this.studentRepository = studentRepository;
+    this.teacherRepository = teacherRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    reconcile();
+  }
+
+  @Scheduled(
+      fixedDelayString = "${stats.reconcile-interval:PT5M}",
+      initialDelayString = "${stats.reconcile-interval:PT5M}")
+  public void reconcile() {
+    // Counted on the primary: counts from a lagging replica would undo recent deltas
+    Map<String, Long> departments =
+        DataSourceRouting.primary(() -> toMap(studentRepository.countByDepartment()));
+    Map<String, Long> grades =
+        DataSourceRouting.primary(() -> toMap(studentRepository.countByGrade()));
+    Map<Long, Long> teachers = new HashMap<>();
+    for (TeacherCount row : DataSourceRouting.primary(teacherRepository::countStudentsPerTeacher)) {
+      teachers.put(row.teacherId(), row.count());
+    }
+    long total = departments.values().stream().mapToLong(Long::longValue).sum();
+    long withoutTeacher = total - teachers.values().stream().mapToLong(Long::longValue).sum();
+
+    withLock(
+        () -> {
+          if (reconciledAt != null && (total != students || withoutTeacher != unassigned)) {
+            log.warn(
+                "Statistics drifted: students {} -> {}, unassigned {} -> {}",
+                students,
+                total,
+                unassigned,
+                withoutTeacher);
+          }
+          replace(byDepartment, departments);
+          replace(byGrade, grades);
+          replace(byTeacher, teachers);
+          students = total;
+          unassigned = withoutTeacher;
+          reconciledAt = LocalDateTime.now();
+        });
+    log.info("Statistics reconciled: {} students, {} teachers", total, teachers.size());
+  }
+
+  public StatsResponseDTO snapshot() {
+    StatsResponseDTO current = snapshot;
+    if (current != null) {
+      return current;
+    }
+    lock.lock();
+    try {
+      if (snapshot == null) {
+        snapshot =
+            new StatsResponseDTO(
+                students,
+                byTeacher.size(),
+                unassigned,
+                new TreeMap<>(byDepartment),
+                new TreeMap<>(byGrade),
+                new TreeMap<>(byTeacher),
+                reconciledAt);
+      }
+      return snapshot;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void studentAdded(Facts facts) {
+    AfterCommit.run(() -> add(facts, 1));
+  }
+
+  public void studentRemoved(Facts facts) {
+    AfterCommit.run(() -> add(facts, -1));
+  }
+
+  public void studentChanged(Facts before, Facts after) {
+    if (!before.equals(after)) {
+      AfterCommit.run(
+          () -> {
+            add(before, -1);
+            add(after, 1);
+          });
+    }
+  }
+
+  // Students moved by a bulk assignment; only their teacher changes
+  public void studentsMoved(Collection<Long> fromTeacherIds, Long toTeacherId) {
+    AfterCommit.run(
+        () ->
+            withLock(
+                () -> {
+                  for (Long from : fromTeacherIds) {
+                    countTeacher(from, -1);
+                    countTeacher(toTeacherId, 1);
+                  }
+                }));
+  }
+
+  public void teacherAdded(Long teacherId) {
+    AfterCommit.run(() -> withLock(() -> byTeacher.putIfAbsent(teacherId, 0L)));
+  }
+
+  // The teacher's students have been detached and count as unassigned from now on
+  public void teacherRemoved(Long teacherId) {
+    AfterCommit.run(
+        () ->
+            withLock(
+                () -> {
+                  Long count = byTeacher.remove(teacherId);
+                  unassigned += count == null ? 0 : count;
+                }));
+  }
+
+  // For set-based changes the caller cannot describe row by row
+  public void reconcileAfterCommit() {
+    AfterCommit.run(this::reconcile);
+  }
+
+  private void add(Facts facts, long delta) {
+    withLock(
+        () -> {
+          students += delta;
+          byDepartment.merge(keyOf(facts.department()), delta, StudentStatistics::sumOrNull);
+          byGrade.merge(keyOf(facts.grade()), delta, StudentStatistics::sumOrNull);
+          countTeacher(facts.teacherId(), delta);
+        });
+  }
+
+  // Caller holds the lock
+  private void countTeacher(Long teacherId, long delta) {
+    if (teacherId == null) {
+      unassigned += delta;
+    } else {
+      byTeacher.merge(teacherId, delta, Long::sum);
+    }
+  }
+
+  private void withLock(Runnable action) {
+    lock.lock();
+    try {
+      action.run();
+      snapshot = null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static Long sumOrNull(Long a, Long b) {
+    long sum = a + b;
+    return sum == 0 ? null : sum;
+  }
+
+  private static String keyOf(String value) {
+    return value == null || value.isBlank() ? NONE : value;
+  }
+
+  private static Map<String, Long> toMap(Collection<GroupCount> rows) {
+    Map<String, Long> counts = new HashMap<>();
+    for (GroupCount row : rows) {
+      counts.merge(keyOf(row.key()), row.count(), Long::sum);
+    }
+    return counts;
+  }
+
+  private static <K> void replace(Map<K, Long> target, Map<K, Long> source) {
+    target.clear();
+    target.putAll(source);
+  }
+}
@@ -0,0 +1,44 @@
+-- The schema as ddl-auto=update left it before the migrations took over. IF NOT EXISTS leaves
+-- databases that were created that way untouched, so they are baselined by recording this
+-- version; everything added since then belongs in a later version, which they run like any other.
+
+CREATE TABLE IF NOT EXISTS admins (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  name VARCHAR(255),
+  email VARCHAR(255) NOT NULL,
+  password VARCHAR(255) NOT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT uk_admins_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS teachers (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  name VARCHAR(255),
+  email VARCHAR(255),
+  subject VARCHAR(255),
+  address VARCHAR(255),
+  department VARCHAR(255),
+  age INTEGER,
+  phone VARCHAR(255),
+  password VARCHAR(255) NOT NULL,
+  PRIMARY KEY (id),
+  CONSTRAINT uk_teachers_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS students (
+  id BIGINT NOT NULL AUTO_INCREMENT,
+  name VARCHAR(255),
+  email VARCHAR(255),
+  student_id VARCHAR(255),
+  phone VARCHAR(255),
+  address VARCHAR(255),
+  department VARCHAR(255),
+  enrollment_date DATE,
+  age INTEGER,
+  grade VARCHAR(255),
+  teacher_id BIGINT,
+  PRIMARY KEY (id),
+  CONSTRAINT uk_students_email UNIQUE (email),
+  CONSTRAINT uk_students_student_id UNIQUE (student_id),
+  CONSTRAINT fk_students_teacher FOREIGN KEY (teacher_id) REFERENCES teachers (id)
+);
@@ -0,0 +1,11 @@
+-- Filters of GET /api/students. Each filter column leads an index, so a filtered page is an index
+-- range rather than a table scan. Department also carries name, the usual sort within a
+-- department; InnoDB appends the primary key to every secondary index, which keeps the
+-- (field, id) order of keyset pages free of a filesort. teacher_id is already indexed by the
+-- index behind fk_students_teacher.
+
+CREATE INDEX idx_students_department_name ON students (department, name);
+
+CREATE INDEX idx_students_grade ON students (grade);
+
+CREATE INDEX idx_students_enrollment_date ON students (enrollment_date);
@@ -0,0 +1,12 @@
+-- Optimistic locking and ETags read a version column on every entity; existing rows start at 0.
+-- The name indexes back the name searches and name-sorted listings.
+
+ALTER TABLE admins ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE teachers ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE students ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_teachers_name ON teachers (name);
+
+CREATE INDEX idx_students_name ON students (name);
@@ -0,0 +1,6 @@
+-- Token version of each principal. A JWT carries the version it was issued with and is rejected
+-- once the stored one has moved on; updates that change the password or email bump it.
+
+ALTER TABLE admins ADD COLUMN token_version INT NOT NULL DEFAULT 0;
+
+ALTER TABLE teachers ADD COLUMN token_version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,282 @@
+package com.example.StudentMangamentBackEnd.Controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentRequestDTO;
+import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherRequestDTO;
+import com.example.StudentMangamentBackEnd.Services.student.StudentService;
+import com.example.StudentMangamentBackEnd.Services.teacher.TeacherService;
+import com.example.StudentMangamentBackEnd.model.Admin;
+import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.model.Teacher;
+import com.example.StudentMangamentBackEnd.repository.AdminRepository;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import com.example.StudentMangamentBackEnd.security.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hamcrest.Matchers;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalRequestTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private JwtUtil jwtUtil;
+  @Autowired private StudentService studentService;
+  @Autowired private TeacherService teacherService;
+  @Autowired private AdminRepository adminRepository;
+  @Autowired private TeacherRepository teacherRepository;
+  @Autowired private StudentRepository studentRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private String token;
+  private Teacher teacher;
+  private Student student;
+
+  @BeforeEach
+  void setUp() {
+    Admin admin = new Admin();
+    admin.setName("Admin");
+    admin.setEmail("admin@school.test");
+    admin.setPassword("secret");
+    adminRepository.save(admin);
+    token = jwtUtil.generateToken(admin.getEmail(), "ADMIN", admin.getTokenVersion());
+
+    Teacher t = new Teacher();
+    t.setName("Ada Lovelace");
+    t.setEmail("ada@school.test");
+    t.setSubject("Math");
+    t.setPassword("secret");
+    teacher = teacherRepository.save(t);
+
+    student = studentRepository.save(student("Grace Hopper", "S1"));
+    studentService.assignTeacher(student.getId(), teacher.getId());
+  }
+
+  @AfterEach
+  void tearDown() {
+    studentRepository.deleteAllInBatch();
+    teacherRepository.deleteAllInBatch();
+    adminRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void matchingIfNoneMatchIsAnsweredWithVersionQueryOnly() throws Exception {
+    String etag = etagOf("/api/students/" + student.getId());
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    mockMvc
+        .perform(
+            authorized(get("/api/students/" + student.getId()))
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+  }
+
+  @Test
+  void studentTagChangesWithTheTeachersName() throws Exception {
+    String etag = etagOf("/api/students/" + student.getId());
+
+    TeacherRequestDTO update = new TeacherRequestDTO();
+    update.setName("Ada King");
+    update.setEmail("ada@school.test");
+    update.setSubject("Math");
+    teacherService.updateTeacher(teacher.getId(), update);
+
+    mockMvc
+        .perform(
+            authorized(get("/api/students/" + student.getId()))
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, Matchers.not(etag)));
+  }
+
+  @Test
+  void teacherTagChangesWhenTheRosterChanges() throws Exception {
+    String etag = etagOf("/api/teachers/" + teacher.getId());
+
+    Student other = studentRepository.save(student("Alan Turing", "S2"));
+    studentService.assignTeacher(other.getId(), teacher.getId());
+
+    mockMvc
+        .perform(
+            authorized(get("/api/teachers/" + teacher.getId()))
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, Matchers.not(etag)));
+  }
+
+  @Test
+  void countViewIsTaggedByTheCount() throws Exception {
+    String path = "/api/teachers/" + teacher.getId() + "?students=count";
+    String etag = etagOf(path);
+    assertThat(etag).isNotEqualTo(etagOf("/api/teachers/" + teacher.getId()));
+
+    mockMvc
+        .perform(authorized(get(path)).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+
+    Student other = studentRepository.save(student("Alan Turing", "S2"));
+    studentService.assignTeacher(other.getId(), teacher.getId());
+    mockMvc
+        .perform(authorized(get(path)).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, Matchers.not(etag)));
+  }
+
+  @Test
+  void listPagesAreConditionalToo() throws Exception {
+    String etag = etagOf("/api/students?page=0&size=10");
+
+    mockMvc
+        .perform(
+            authorized(get("/api/students?page=0&size=10")).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+
+    // Through the service, which also invalidates the cached pages
+    StudentRequestDTO other = new StudentRequestDTO();
+    other.setName("Alan Turing");
+    other.setEmail("s2@school.test");
+    other.setStudentId("S2");
+    other.setDepartment("Science");
+    studentService.createStudent(other);
+
+    mockMvc
+        .perform(
+            authorized(get("/api/students?page=0&size=10")).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  void staleIfMatchRejectsTheUpdate() throws Exception {
+    String path = "/api/students/" + student.getId();
+    String etag = etagOf(path);
+    String body =
+        "{\"name\":\"Grace B. Hopper\",\"email\":\"grace@school.test\","
+            + "\"studentId\":\"S1\",\"department\":\"Science\"}";
+
+    mockMvc
+        .perform(
+            authorized(put(path))
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(
+            authorized(put(path))
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+        .andExpect(status().isPreconditionFailed());
+  }
+
+  @Test
+  void tagOfAnUpdateIsAcceptedByTheNextIfMatch() throws Exception {
+    String studentPath = "/api/students/" + student.getId();
+    String studentTag = updateIfMatch(studentPath, etagOf(studentPath), studentBody("Grace B."));
+    updateIfMatch(studentPath, studentTag, studentBody("Grace Brewster"));
+
+    String teacherPath = "/api/teachers/" + teacher.getId();
+    String teacherTag = updateIfMatch(teacherPath, etagOf(teacherPath), teacherBody("Ada King"));
+    updateIfMatch(teacherPath, teacherTag, teacherBody("Augusta Ada King"));
+  }
+
+  @Test
+  void countViewTagIsAcceptedByIfMatch() throws Exception {
+    String path = "/api/teachers/" + teacher.getId();
+    String etag = etagOf(path + "?students=count");
+    String body =
+        "{\"name\":\"Ada King\",\"email\":\"ada@school.test\",\"subject\":\"Math\","
+            + "\"department\":\"Science\",\"password\":\"secret\"}";
+
+    mockMvc
+        .perform(
+            authorized(put(path))
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(
+            authorized(put(path))
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+        .andExpect(status().isPreconditionFailed());
+  }
+
+  private String etagOf(String path) throws Exception {
+    return mockMvc
+        .perform(authorized(get(path)))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+        .andReturn()
+        .getResponse()
+        .getHeader(HttpHeaders.ETAG);
+  }
+
+  // The tag the successful update responded with
+  private String updateIfMatch(String path, String etag, String body) throws Exception {
+    return mockMvc
+        .perform(
+            authorized(put(path))
+                .header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, Matchers.not(etag)))
+        .andReturn()
+        .getResponse()
+        .getHeader(HttpHeaders.ETAG);
+  }
+
+  private static String studentBody(String firstNames) {
+    return "{\"name\":\""
+        + firstNames
+        + " Hopper\",\"email\":\"grace@school.test\","
+        + "\"studentId\":\"S1\",\"department\":\"Science\"}";
+  }
+
+  private static String teacherBody(String name) {
+    return "{\"name\":\""
+        + name
+        + "\",\"email\":\"ada@school.test\",\"subject\":\"Math\","
+        + "\"department\":\"Science\",\"password\":\"secret\"}";
+  }
+
+  private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+    return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+  }
+
+  private static Student student(String name, String studentId) {
+    Student student = new Student();
+    student.setName(name);
+    student.setEmail(studentId.toLowerCase() + "@school.test");
+    student.setStudentId(studentId);
+    student.setDepartment("Science");
+    return student;
+  }
+}
@@ -0,0 +1,106 @@
+package com.example.StudentMangamentBackEnd.Controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.StudentMangamentBackEnd.Services.student.StudentService;
+import com.example.StudentMangamentBackEnd.model.Admin;
+import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.model.Teacher;
+import com.example.StudentMangamentBackEnd.repository.AdminRepository;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import com.example.StudentMangamentBackEnd.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+// Streamed exports complete on an ASYNC dispatch, which passes through the security chain again
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportEndpointTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private JwtUtil jwtUtil;
+  @Autowired private StudentService studentService;
+  @Autowired private AdminRepository adminRepository;
+  @Autowired private TeacherRepository teacherRepository;
+  @Autowired private StudentRepository studentRepository;
+
+  private String token;
+  private Teacher teacher;
+  private Student student;
+
+  @BeforeEach
+  void setUp() {
+    Admin admin = new Admin();
+    admin.setName("Admin");
+    admin.setEmail("admin@school.test");
+    admin.setPassword("secret");
+    adminRepository.save(admin);
+    token = jwtUtil.generateToken(admin.getEmail(), "ADMIN", admin.getTokenVersion());
+
+    Teacher t = new Teacher();
+    t.setName("Ada Lovelace");
+    t.setEmail("ada@school.test");
+    t.setSubject("Math");
+    t.setPassword("secret");
+    teacher = teacherRepository.save(t);
+
+    Student s = new Student();
+    s.setName("Grace Hopper");
+    s.setEmail("s1@school.test");
+    s.setStudentId("S1");
+    s.setDepartment("Science");
+    student = studentRepository.save(s);
+    studentService.assignTeacher(student.getId(), teacher.getId());
+  }
+
+  @AfterEach
+  void tearDown() {
+    studentRepository.deleteAllInBatch();
+    teacherRepository.deleteAllInBatch();
+    adminRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void studentExportCompletesOnTheAsyncDispatch() throws Exception {
+    String body = export("/api/students/export?format=csv");
+
+    assertThat(body).startsWith("id,name,email,studentId,");
+    assertThat(body).contains(student.getId() + ",Grace Hopper,s1@school.test,S1,");
+  }
+
+  @Test
+  void teacherExportCompletesOnTheAsyncDispatch() throws Exception {
+    String body = export("/api/teachers/export");
+
+    assertThat(body)
+        .contains("\"id\":" + teacher.getId())
+        .contains("\"studentIds\":[" + student.getId() + "]");
+  }
+
+  private String export(String path) throws Exception {
+    MvcResult started =
+        mockMvc
+            .perform(get(path).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    return mockMvc
+        .perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+  }
+}
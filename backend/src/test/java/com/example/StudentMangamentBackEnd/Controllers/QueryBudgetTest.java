@@ -0,0 +1,485 @@
+package com.example.StudentMangamentBackEnd.Controllers;
+
+import static com.example.StudentMangamentBackEnd.metrics.QueryCount.assertNoRepeatedStatements;
+import static com.example.StudentMangamentBackEnd.metrics.QueryCount.assertQueryCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.StudentMangamentBackEnd.DTO.admin.AdminRequestDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentRequestDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentResponseDTO;
+import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherRequestDTO;
+import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherResponseDTO;
+import com.example.StudentMangamentBackEnd.Services.admin.AdminService;
+import com.example.StudentMangamentBackEnd.Services.student.StudentImportFormat;
+import com.example.StudentMangamentBackEnd.Services.student.StudentService;
+import com.example.StudentMangamentBackEnd.Services.teacher.TeacherService;
+import com.example.StudentMangamentBackEnd.cache.DetailCache;
+import com.example.StudentMangamentBackEnd.repository.AdminRepository;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import com.example.StudentMangamentBackEnd.security.JwtUtil;
+import com.example.StudentMangamentBackEnd.security.TokenVersionRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.util.StringUtils;
+
+// Committed SQL budgets of every endpoint, measured with cold caches against three teachers with
+// three students each. Raising a budget should come with a reason in the commit.
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryBudgetTest {
+
+  // No statement shape may run once per teacher or student of a page
+  private static final int MAX_REPEATS = 2;
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private JwtUtil jwtUtil;
+  @Autowired private TokenVersionRegistry tokenVersionRegistry;
+  @Autowired private StudentService studentService;
+  @Autowired private TeacherService teacherService;
+  @Autowired private AdminService adminService;
+  @Autowired private StudentRepository studentRepository;
+  @Autowired private TeacherRepository teacherRepository;
+  @Autowired private AdminRepository adminRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private DetailCache<StudentResponseDTO> studentDetailCache;
+  @Autowired private DetailCache<TeacherResponseDTO> teacherDetailCache;
+
+  private String token;
+  private final List<Long> teacherIds = new ArrayList<>();
+  private final List<Long> studentIds = new ArrayList<>();
+  private Long adminId;
+
+  @BeforeEach
+  void setUp() {
+    for (int t = 0; t < 3; t++) {
+      TeacherRequestDTO teacher = new TeacherRequestDTO();
+      teacher.setName("Teacher " + t);
+      teacher.setEmail("teacher" + t + "@school.test");
+      teacher.setSubject("Math");
+      teacher.setDepartment("Science");
+      teacher.setPassword("secret");
+      Long teacherId = teacherService.createTeacher(teacher).getId();
+      teacherIds.add(teacherId);
+      for (int s = 0; s < 3; s++) {
+        studentIds.add(studentService.createStudent(student("S" + t + s, teacherId)).getId());
+      }
+    }
+    AdminRequestDTO admin = new AdminRequestDTO();
+    admin.setName("Admin");
+    admin.setEmail("admin@school.test");
+    admin.setPassword("secret");
+    adminId = adminService.createAdmin(admin).getId();
+    token = jwtUtil.generateToken("admin@school.test", "ADMIN", 0);
+
+    entityManagerFactory.getCache().evictAll();
+    studentDetailCache.evictAll();
+    teacherDetailCache.evictAll();
+    // Every request reads the caller's token version; it is cached in steady state, so the
+    // budgets cover the endpoints alone
+    tokenVersionRegistry.currentVersion("ADMIN", "admin@school.test");
+  }
+
+  @AfterEach
+  void tearDown() {
+    studentRepository.deleteAllInBatch();
+    teacherRepository.deleteAllInBatch();
+    adminRepository.deleteAllInBatch();
+  }
+
+  // ---- Students ----
+
+  @Test
+  void createStudent() throws Exception {
+    perform(
+            post("/api/students")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(student("N1", teacherIds.get(0)))))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(2));
+  }
+
+  @Test
+  void importStudents() throws Exception {
+    String body = json(student("N1", teacherIds.get(0))) + "\n" + json(student("N2", null)) + "\n";
+    perform(post("/api/students/bulk").contentType(StudentImportFormat.NDJSON_VALUE).content(body))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(5));
+  }
+
+  @Test
+  void updateStudent() throws Exception {
+    perform(
+            put("/api/students/" + studentIds.get(0))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(student("S00", teacherIds.get(1)))))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(4));
+  }
+
+  @Test
+  void getStudent() throws Exception {
+    perform(get("/api/students/" + studentIds.get(0)))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(1));
+  }
+
+  @Test
+  void getStudentNotModified() throws Exception {
+    String etag =
+        perform(get("/api/students/" + studentIds.get(0)))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    perform(get("/api/students/" + studentIds.get(0)).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(assertQueryCount(1));
+  }
+
+  @Test
+  void getStudentsByIds() throws Exception {
+    perform(
+            get("/api/students")
+                .param("ids", StringUtils.collectionToCommaDelimitedString(studentIds)))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(1));
+  }
+
+  @Test
+  void batchGetStudents() throws Exception {
+    perform(
+            post("/api/students/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": " + studentIds + "}"))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(1));
+  }
+
+  @Test
+  void listStudents() throws Exception {
+    perform(get("/api/students"))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(1))
+        .andExpect(assertNoRepeatedStatements(MAX_REPEATS));
+  }
+
+  @Test
+  void listStudentsWithoutTotal() throws Exception {
+    perform(get("/api/students").param("size", "2").param("total", "false"))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(1))
+        .andExpect(assertNoRepeatedStatements(MAX_REPEATS));
+  }
+
+  @Test
+  void listStudentsAfterCursor() throws Exception {
+    perform(get("/api/students").param("limit", "5"))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(1))
+        .andExpect(assertNoRepeatedStatements(MAX_REPEATS));
+  }
+
+  @Test
+  void searchStudents() throws Exception {
+    perform(get("/api/students/search").param("name", "Student"))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(1))
+        .andExpect(assertNoRepeatedStatements(MAX_REPEATS));
+  }
+
+  @Test
+  void suggestStudents() throws Exception {
+    perform(get("/api/students/suggest").param("prefix", "Stu"))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(0));
+  }
+
+  @Test
+  void exportStudents() throws Exception {
+    performAsync(get("/api/students/export"))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(1));
+  }
+
+  @Test
+  void deleteStudent() throws Exception {
+    perform(delete("/api/students/" + studentIds.get(0)))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(2));
+  }
+
+  @Test
+  void deleteStudents() throws Exception {
+    perform(
+            delete("/api/students")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("studentIds", studentIds.subList(0, 4)))))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(5));
+  }
+
+  @Test
+  void assignTeacher() throws Exception {
+    perform(put("/api/students/" + studentIds.get(0) + "/teacher/" + teacherIds.get(1)))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(3));
+  }
+
+  @Test
+  void removeTeacher() throws Exception {
+    perform(delete("/api/students/" + studentIds.get(0) + "/teacher"))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(2));
+  }
+
+  // ---- Teachers ----
+
+  @Test
+  void loginTeacher() throws Exception {
+    performAsync(
+            post("/api/teachers/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("email", "teacher0@school.test", "password", "secret"))))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(1));
+  }
+
+  @Test
+  void createTeacher() throws Exception {
+    perform(
+            post("/api/teachers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    json(
+                        Map.of(
+                            "name",
+                            "New",
+                            "email",
+                            "new@school.test",
+                            "subject",
+                            "Art",
+                            "department",
+                            "Arts",
+                            "password",
+                            "secret"))))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(2));
+  }
+
+  @Test
+  void updateTeacher() throws Exception {
+    perform(
+            put("/api/teachers/" + teacherIds.get(0))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    json(
+                        Map.of(
+                            "name",
+                            "Renamed",
+                            "email",
+                            "teacher0@school.test",
+                            "subject",
+                            "Art",
+                            "department",
+                            "Arts",
+                            "password",
+                            "secret"))))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(3));
+  }
+
+  @Test
+  void assignStudents() throws Exception {
+    perform(
+            put("/api/teachers/" + teacherIds.get(0) + "/students")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("studentIds", studentIds))))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(3));
+  }
+
+  @Test
+  void getTeacher() throws Exception {
+    perform(get("/api/teachers/" + teacherIds.get(0)))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(2));
+  }
+
+  @Test
+  void getTeachersByIds() throws Exception {
+    perform(
+            get("/api/teachers")
+                .param("ids", StringUtils.collectionToCommaDelimitedString(teacherIds)))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(2));
+  }
+
+  @Test
+  void getTeacherWithStudentCount() throws Exception {
+    perform(get("/api/teachers/" + teacherIds.get(0)).param("students", "count"))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(2));
+  }
+
+  @Test
+  void getTeacherStudents() throws Exception {
+    perform(get("/api/teachers/" + teacherIds.get(0) + "/students").param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(1));
+  }
+
+  @Test
+  void listTeachers() throws Exception {
+    perform(get("/api/teachers"))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(2))
+        .andExpect(assertNoRepeatedStatements(MAX_REPEATS));
+  }
+
+  @Test
+  void listTeachersWithStudentCounts() throws Exception {
+    perform(get("/api/teachers").param("students", "count"))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(2))
+        .andExpect(assertNoRepeatedStatements(MAX_REPEATS));
+  }
+
+  @Test
+  void listTeachersWithoutTotal() throws Exception {
+    perform(get("/api/teachers").param("size", "1").param("total", "false"))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(2))
+        .andExpect(assertNoRepeatedStatements(MAX_REPEATS));
+  }
+
+  @Test
+  void listTeachersAfterCursor() throws Exception {
+    perform(get("/api/teachers").param("limit", "5"))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(2))
+        .andExpect(assertNoRepeatedStatements(MAX_REPEATS));
+  }
+
+  @Test
+  void searchTeachers() throws Exception {
+    perform(get("/api/teachers/search").param("name", "Teacher"))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(2))
+        .andExpect(assertNoRepeatedStatements(MAX_REPEATS));
+  }
+
+  @Test
+  void exportTeachers() throws Exception {
+    performAsync(get("/api/teachers/export"))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(2));
+  }
+
+  @Test
+  void deleteTeacher() throws Exception {
+    perform(delete("/api/teachers/" + teacherIds.get(0)))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(4));
+  }
+
+  // ---- Admins ----
+
+  @Test
+  void createAdmin() throws Exception {
+    perform(
+            post("/api/admins")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    json(
+                        Map.of(
+                            "name", "Other", "email", "other@school.test", "password", "secret"))))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(2));
+  }
+
+  @Test
+  void loginAdmin() throws Exception {
+    performAsync(
+            post("/api/admins/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("email", "admin@school.test", "password", "secret"))))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(1));
+  }
+
+  @Test
+  void listAdmins() throws Exception {
+    perform(get("/api/admins")).andExpect(status().isOk()).andExpect(assertQueryCount(1));
+  }
+
+  @Test
+  void getAdmin() throws Exception {
+    perform(get("/api/admins/" + adminId))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(1));
+  }
+
+  @Test
+  void updateAdmin() throws Exception {
+    perform(
+            put("/api/admins/" + adminId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("name", "Renamed", "email", "admin@school.test"))))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(2));
+  }
+
+  @Test
+  void deleteAdmin() throws Exception {
+    perform(delete("/api/admins/" + adminId))
+        .andExpect(status().isOk())
+        .andExpect(assertQueryCount(2));
+  }
+
+  private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+    return mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+  }
+
+  // Logins and exports finish on another thread; their statements still count for the request
+  private ResultActions performAsync(MockHttpServletRequestBuilder request) throws Exception {
+    MvcResult started = perform(request).andExpect(request().asyncStarted()).andReturn();
+    started.getAsyncResult();
+    return mockMvc.perform(asyncDispatch(started));
+  }
+
+  private String json(Object value) throws Exception {
+    return objectMapper.writeValueAsString(value);
+  }
+
+  private static StudentRequestDTO student(String studentId, Long teacherId) {
+    StudentRequestDTO dto = new StudentRequestDTO();
+    dto.setName("Student " + studentId);
+    dto.setEmail(studentId.toLowerCase() + "@school.test");
+    dto.setStudentId(studentId);
+    dto.setDepartment("Science");
+    dto.setTeacherId(teacherId);
+    return dto;
+  }
+}
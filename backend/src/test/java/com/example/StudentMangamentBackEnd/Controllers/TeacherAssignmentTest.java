@@ -0,0 +1,150 @@
+package com.example.StudentMangamentBackEnd.Controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.StudentMangamentBackEnd.DTO.stats.StatsResponseDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentFilterDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentResponseDTO;
+import com.example.StudentMangamentBackEnd.Services.student.StudentService;
+import com.example.StudentMangamentBackEnd.model.Admin;
+import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.model.Teacher;
+import com.example.StudentMangamentBackEnd.repository.AdminRepository;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import com.example.StudentMangamentBackEnd.security.JwtUtil;
+import com.example.StudentMangamentBackEnd.stats.StudentStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+// The single-student assign and remove endpoints run in one transaction, so a failed save leaves
+// the detail, count and response caches and the statistics as they were. The count cache is off
+// in the test properties, so it is turned back on here.
+@SpringBootTest(properties = "cache.counts.ttl=5m")
+@AutoConfigureMockMvc
+class TeacherAssignmentTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private JwtUtil jwtUtil;
+  @Autowired private StudentService studentService;
+  @Autowired private StudentStatistics studentStatistics;
+  @Autowired private AdminRepository adminRepository;
+  @Autowired private TeacherRepository teacherRepository;
+  @SpyBean private StudentRepository studentRepository;
+
+  private String token;
+  private Teacher teacher;
+  private Teacher other;
+  private Student student;
+
+  @BeforeEach
+  void setUp() {
+    Admin admin = new Admin();
+    admin.setName("Admin");
+    admin.setEmail("admin@school.test");
+    admin.setPassword("secret");
+    adminRepository.save(admin);
+    token = jwtUtil.generateToken(admin.getEmail(), "ADMIN", admin.getTokenVersion());
+
+    teacher = teacherRepository.save(teacher("Ada Lovelace", "ada@school.test"));
+    other = teacherRepository.save(teacher("Alan Turing", "alan@school.test"));
+    student = studentRepository.save(student("Grace Hopper", "S1"));
+    studentRepository.save(student("Edsger Dijkstra", "S2"));
+    studentService.assignTeacher(student.getId(), teacher.getId());
+    studentStatistics.reconcile();
+  }
+
+  @AfterEach
+  void tearDown() {
+    studentRepository.deleteAllInBatch();
+    teacherRepository.deleteAllInBatch();
+    adminRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void failedAssignLeavesCachesAndCountsUnchanged() throws Exception {
+    StudentResponseDTO cached = studentService.getStudentById(student.getId());
+    long total = scienceStudents();
+    StatsResponseDTO stats = studentStatistics.snapshot();
+    // Not seen by the cached count; it only shows up once the count is dropped
+    studentRepository.save(student("Barbara Liskov", "S3"));
+    doThrow(new DataIntegrityViolationException("save failed"))
+        .when(studentRepository)
+        .saveAndFlush(any(Student.class));
+
+    mockMvc
+        .perform(authorized(put("/api/students/" + student.getId() + "/teacher/" + other.getId())))
+        .andExpect(status().isBadRequest());
+
+    assertUnchanged(cached, total, stats);
+  }
+
+  @Test
+  void failedRemoveLeavesCachesAndCountsUnchanged() throws Exception {
+    StudentResponseDTO cached = studentService.getStudentById(student.getId());
+    long total = scienceStudents();
+    StatsResponseDTO stats = studentStatistics.snapshot();
+    studentRepository.save(student("Barbara Liskov", "S3"));
+    doThrow(new DataIntegrityViolationException("save failed"))
+        .when(studentRepository)
+        .saveAndFlush(any(Student.class));
+
+    mockMvc
+        .perform(authorized(delete("/api/students/" + student.getId() + "/teacher")))
+        .andExpect(status().isBadRequest());
+
+    assertUnchanged(cached, total, stats);
+  }
+
+  private void assertUnchanged(StudentResponseDTO cached, long total, StatsResponseDTO stats) {
+    assertThat(studentService.getStudentById(student.getId())).isSameAs(cached);
+    assertThat(scienceStudents()).isEqualTo(total);
+    StatsResponseDTO after = studentStatistics.snapshot();
+    assertThat(after.getStudentsByTeacher()).isEqualTo(stats.getStudentsByTeacher());
+    assertThat(after.getUnassignedStudents()).isEqualTo(stats.getUnassignedStudents());
+  }
+
+  // A first page of one student, so its total comes from the count cache
+  private long scienceStudents() {
+    StudentFilterDTO filter = new StudentFilterDTO();
+    filter.setDepartment("Science");
+    return studentService.getAllStudents(filter, PageRequest.of(0, 1)).getTotalElements();
+  }
+
+  private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+    return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+  }
+
+  private static Teacher teacher(String name, String email) {
+    Teacher teacher = new Teacher();
+    teacher.setName(name);
+    teacher.setEmail(email);
+    teacher.setSubject("Math");
+    teacher.setPassword("secret");
+    return teacher;
+  }
+
+  private static Student student(String name, String studentId) {
+    Student student = new Student();
+    student.setName(name);
+    student.setEmail(studentId.toLowerCase() + "@school.test");
+    student.setStudentId(studentId);
+    student.setDepartment("Science");
+    return student;
+  }
+}
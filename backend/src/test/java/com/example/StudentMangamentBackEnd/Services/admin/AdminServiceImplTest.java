@@ -0,0 +1,109 @@
+package com.example.StudentMangamentBackEnd.Services.admin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.StudentMangamentBackEnd.DTO.admin.AdminLoginDTO;
+import com.example.StudentMangamentBackEnd.DTO.admin.AdminResponseDTO;
+import com.example.StudentMangamentBackEnd.DTO.admin.AdminUpdateDTO;
+import com.example.StudentMangamentBackEnd.model.Admin;
+import com.example.StudentMangamentBackEnd.repository.AdminRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "security.bcrypt.strength=6")
+class AdminServiceImplTest {
+
+  @Autowired private AdminService adminService;
+  @Autowired private AdminRepository adminRepository;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @AfterEach
+  void tearDown() {
+    adminRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void loginRehashesPasswordStoredWithLowerStrength() {
+    Admin admin = new Admin();
+    admin.setName("Grace");
+    admin.setEmail("grace@school.test");
+    admin.setPassword(new BCryptPasswordEncoder(4).encode("secret"));
+    admin = adminRepository.save(admin);
+
+    AdminLoginDTO dto = new AdminLoginDTO();
+    dto.setEmail("grace@school.test");
+    dto.setPassword("secret");
+
+    assertThat(adminService.loginAdmin(dto).getToken()).isNotBlank();
+    String rehashed = adminRepository.findById(admin.getId()).orElseThrow().getPassword();
+    assertThat(rehashed).startsWith("$2a$06$");
+    assertThat(new BCryptPasswordEncoder().matches("secret", rehashed)).isTrue();
+  }
+
+  @Test
+  void concurrentUpdatesWithTheSameIfMatchLetOnlyOneWin() throws Exception {
+    Admin admin = new Admin();
+    admin.setName("Grace");
+    admin.setEmail("grace@school.test");
+    admin.setPassword("secret");
+    Long id = adminRepository.save(admin).getId();
+    String etag = adminService.getAdminEtag(id);
+
+    // Each update runs in its own transaction, which reads the admin before either one writes, so
+    // both pass the If-Match check
+    CountDownLatch bothRead = new CountDownLatch(2);
+    ExecutorService pool = Executors.newFixedThreadPool(2);
+    List<Future<AdminResponseDTO>> updates = new ArrayList<>();
+    for (String name : List.of("Grace Hopper", "Grace Murray")) {
+      AdminUpdateDTO dto = new AdminUpdateDTO();
+      dto.setName(name);
+      dto.setEmail("grace@school.test");
+      updates.add(
+          pool.submit(
+              () ->
+                  transactionTemplate.execute(
+                      status -> {
+                        adminRepository.findById(id).orElseThrow();
+                        bothRead.countDown();
+                        await(bothRead);
+                        return adminService.updateAdmin(id, dto, etag);
+                      })));
+    }
+    List<AdminResponseDTO> won = new ArrayList<>();
+    List<Throwable> lost = new ArrayList<>();
+    for (Future<AdminResponseDTO> update : updates) {
+      try {
+        won.add(update.get(30, TimeUnit.SECONDS));
+      } catch (ExecutionException e) {
+        lost.add(e.getCause());
+      }
+    }
+    pool.shutdown();
+
+    // The check and the write share one transaction, so the loser fails on the version it checked
+    assertThat(won).hasSize(1);
+    assertThat(lost).singleElement().isInstanceOf(OptimisticLockingFailureException.class);
+    assertThat(adminRepository.findVersionById(id)).contains(won.get(0).getVersion());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.example.StudentMangamentBackEnd.Services.student;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.StudentMangamentBackEnd.export.ExportFormat;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Runs in its own surefire execution with a small heap (see pom.xml): exporting more rows than
+// fit in that heap only passes if the export streams.
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:file:./target/export-memory-test;MODE=MySQL;LAZY_QUERY_EXECUTION=TRUE",
+      "search.student-index.enabled=false"
+    })
+class StudentExportMemoryTest {
+
+  private static final int INSERT_BATCH = 10_000;
+
+  @Autowired private StudentService studentService;
+  @Autowired private StudentRepository studentRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Value("${export.memory-test.rows:1000000}")
+  private int rows;
+
+  @BeforeEach
+  void setUp() {
+    List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+    for (int i = 0; i < rows; i++) {
+      batch.add(
+          new Object[] {"Student " + i, "student" + i + "@school.test", "S" + i, "Science", 20});
+      if (batch.size() == INSERT_BATCH || i == rows - 1) {
+        jdbcTemplate.batchUpdate(
+            "insert into students (name, email, student_id, department, age)"
+                + " values (?, ?, ?, ?, ?)",
+            batch);
+        batch.clear();
+      }
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    studentRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void exportStreamsMoreRowsThanTheHeapHolds() throws Exception {
+    CountingOutputStream out = new CountingOutputStream();
+
+    long exported = studentService.exportStudents(out, ExportFormat.NDJSON);
+
+    assertThat(exported).isEqualTo(rows);
+    assertThat(out.lines).isEqualTo(rows);
+  }
+
+  private static final class CountingOutputStream extends OutputStream {
+
+    private long lines;
+
+    @Override
+    public void write(int b) {
+      if (b == '\n') {
+        lines++;
+      }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      for (int i = off; i < off + len; i++) {
+        if (b[i] == '\n') {
+          lines++;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package com.example.StudentMangamentBackEnd.Services.student;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentImportErrorDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentImportResultDTO;
+import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import com.example.StudentMangamentBackEnd.search.StudentNameIndex;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+@SpringBootTest(properties = "students.import.chunk-size=2")
+class StudentImportServiceImplTest {
+
+  @Autowired private StudentImportService studentImportService;
+  @Autowired private StudentRepository studentRepository;
+  @Autowired private TeacherRepository teacherRepository;
+  @Autowired private StudentNameIndex studentNameIndex;
+
+  @BeforeEach
+  void setUp() {
+    Student existing = new Student();
+    existing.setName("Existing");
+    existing.setEmail("existing@school.test");
+    existing.setStudentId("S0");
+    existing.setDepartment("Science");
+    studentRepository.save(existing);
+    studentNameIndex.rebuild();
+  }
+
+  @AfterEach
+  void tearDown() {
+    studentRepository.deleteAllInBatch();
+    teacherRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void csvImportWritesValidRowsAndReportsTheRest() {
+    String csv =
+        String.join(
+            "\n",
+            "name,email,Student_ID,department,age",
+            "Carol,carol@school.test,S1,Science,20",
+            "\"Dan, Jr.\",dan@school.test,S2,Arts,",
+            "Eve,existing@school.test,S3,Science,21",
+            "Frank,frank@school.test,S1,Science,22",
+            "Grace,not-an-email,S4,Science,abc",
+            "Heidi,heidi@school.test,S5,Science,23");
+
+    StudentImportResultDTO result = importBody(csv, StudentImportFormat.CSV);
+
+    assertThat(result.getTotalRows()).isEqualTo(6);
+    assertThat(result.getImported()).isEqualTo(3);
+    assertThat(result.getFailed()).isEqualTo(3);
+    assertThat(result.getErrors())
+        .extracting(StudentImportErrorDTO::getLine)
+        .containsExactly(4L, 5L, 6L);
+    assertThat(studentRepository.count()).isEqualTo(4);
+    assertThat(studentRepository.findAll())
+        .extracting(Student::getName)
+        .containsExactlyInAnyOrder("Existing", "Carol", "Dan, Jr.", "Heidi");
+    assertThat(studentNameIndex.search("heidi", Sort.unsorted())).hasSize(1);
+  }
+
+  @Test
+  void ndjsonImportReportsMalformedLines() {
+    String ndjson =
+        String.join(
+            "\n",
+            "{\"name\":\"Ivan\",\"email\":\"ivan@school.test\",\"studentId\":\"S10\",\"department\":\"Arts\"}",
+            "{\"name\":",
+            "",
+            "{\"name\":\"Judy\",\"email\":\"judy@school.test\",\"studentId\":\"S11\",\"department\":\"Arts\",\"teacherId\":999}");
+
+    StudentImportResultDTO result = importBody(ndjson, StudentImportFormat.NDJSON);
+
+    assertThat(result.getImported()).isEqualTo(1);
+    assertThat(result.getFailed()).isEqualTo(2);
+    assertThat(result.getErrors())
+        .extracting(StudentImportErrorDTO::getErrors)
+        .last()
+        .isEqualTo(List.of("teacherId: teacher not found"));
+  }
+
+  @Test
+  void ndjsonImportRejectsLinesThatAreNotObjects() {
+    String ndjson =
+        String.join(
+            "\n",
+            "null",
+            "[1, 2]",
+            "{\"name\":\"Ivan\",\"email\":\"ivan@school.test\",\"studentId\":\"S10\",\"department\":\"Arts\"}",
+            "42");
+
+    StudentImportResultDTO result = importBody(ndjson, StudentImportFormat.NDJSON);
+
+    assertThat(result.getImported()).isEqualTo(1);
+    assertThat(result.getFailed()).isEqualTo(3);
+    assertThat(result.getErrors())
+        .extracting(StudentImportErrorDTO::getErrors)
+        .containsOnly(List.of("Expected a JSON object"));
+  }
+
+  private StudentImportResultDTO importBody(String body, StudentImportFormat format) {
+    return studentImportService.importStudents(
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format);
+  }
+}
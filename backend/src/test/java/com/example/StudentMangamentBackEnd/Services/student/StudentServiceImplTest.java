@@ -0,0 +1,318 @@
+package com.example.StudentMangamentBackEnd.Services.student;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentAssignmentResultDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentFilterDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentResponseDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentSelectionDTO;
+import com.example.StudentMangamentBackEnd.exception.BadRequestException;
+import com.example.StudentMangamentBackEnd.export.ExportFormat;
+import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.model.Teacher;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import com.example.StudentMangamentBackEnd.response.BatchResult;
+import com.example.StudentMangamentBackEnd.response.CursorPage;
+import com.example.StudentMangamentBackEnd.search.StudentNameIndex;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+@SpringBootTest
+class StudentServiceImplTest {
+
+  private static final int STUDENTS = 50;
+
+  @Autowired private StudentService studentService;
+  @Autowired private TeacherRepository teacherRepository;
+  @Autowired private StudentRepository studentRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private StudentNameIndex studentNameIndex;
+
+  private Statistics statistics;
+  private Teacher teacher;
+
+  @BeforeEach
+  void setUp() {
+    teacher = new Teacher();
+    teacher.setName("Ada Lovelace");
+    teacher.setEmail("ada@school.test");
+    teacher.setSubject("Math");
+    teacher.setPassword("secret");
+    teacher = teacherRepository.save(teacher);
+
+    List<Student> students = new ArrayList<>();
+    for (int i = 0; i < STUDENTS; i++) {
+      Student student = new Student();
+      student.setName((i % 2 == 0 ? "Alice_" : "Bob ") + i);
+      student.setEmail("student" + i + "@school.test");
+      student.setStudentId("S" + i);
+      student.setDepartment("Science");
+      student.setTeacher(i % 5 == 0 ? null : teacher);
+      students.add(student);
+    }
+    studentRepository.saveAll(students);
+    studentNameIndex.rebuild();
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    studentRepository.deleteAllInBatch();
+    teacherRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void bulkAssignmentMovesFilteredStudentsWithOneUpdate() {
+    Teacher alan = new Teacher();
+    alan.setName("Alan Turing");
+    alan.setEmail("alan@school.test");
+    alan.setSubject("Math");
+    alan.setPassword("secret");
+    alan = teacherRepository.save(alan);
+    Long sample = studentRepository.findAll().get(1).getId();
+    assertThat(studentService.getStudentById(sample).getTeacherName()).isEqualTo("Ada Lovelace");
+    statistics.clear();
+
+    StudentSelectionDTO request = new StudentSelectionDTO();
+    request.setDepartment("Science");
+    StudentAssignmentResultDTO result =
+        studentService.assignTeacherToStudents(alan.getId(), request);
+
+    assertThat(result.getMatched()).isEqualTo(STUDENTS);
+    assertThat(result.getUpdated()).isEqualTo(STUDENTS);
+    // Teacher lookup, selection of the matching students, one update
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    assertThat(studentService.getStudentById(sample).getTeacherName()).isEqualTo("Alan Turing");
+    assertThat(studentRepository.findStudentIdsByTeacherIds(List.of(alan.getId())))
+        .hasSize(STUDENTS);
+    assertThat(studentService.assignTeacherToStudents(alan.getId(), request).getUpdated()).isZero();
+  }
+
+  @Test
+  void bulkDeleteRemovesSelectedStudentsWithoutLoadingThem() {
+    List<Long> ids =
+        studentRepository.findAll(Sort.by("id")).stream().limit(10).map(Student::getId).toList();
+    statistics.clear();
+
+    StudentSelectionDTO selection = new StudentSelectionDTO();
+    selection.setStudentIds(ids);
+    assertThat(studentService.deleteStudents(selection).getDeleted()).isEqualTo(10);
+
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(studentRepository.count()).isEqualTo(STUDENTS - 10);
+    assertThat(studentNameIndex.search("Alice_0", Sort.by("id"))).isEmpty();
+    // Already deleted ids are skipped rather than rejected
+    assertThat(studentService.deleteStudents(selection).getDeleted()).isZero();
+  }
+
+  @Test
+  void bulkAssignmentRejectsUnknownIdsAndAmbiguousSelections() {
+    StudentSelectionDTO unknown = new StudentSelectionDTO();
+    unknown.setStudentIds(List.of(-1L));
+    assertThatThrownBy(() -> studentService.assignTeacherToStudents(teacher.getId(), unknown))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("-1");
+
+    StudentSelectionDTO both = new StudentSelectionDTO();
+    both.setStudentIds(List.of(studentRepository.findAll().get(0).getId()));
+    both.setGrade("A");
+    assertThatThrownBy(() -> studentService.assignTeacherToStudents(teacher.getId(), both))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void studentPageIsProjectedWithoutLoadingEntities() {
+    Page<StudentResponseDTO> page =
+        studentService.getAllStudents(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "name")));
+
+    assertThat(page.getContent()).hasSize(20);
+    assertThat(page.getTotalElements()).isEqualTo(STUDENTS);
+    assertThat(page.getContent())
+        .filteredOn(s -> s.getTeacherId() != null)
+        .allSatisfy(s -> assertThat(s.getTeacherName()).isEqualTo("Ada Lovelace"));
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  @Test
+  void csvExportStreamsEveryStudentWithOneQuery() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    long exported = studentService.exportStudents(out, ExportFormat.CSV);
+
+    List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+    assertThat(exported).isEqualTo(STUDENTS);
+    assertThat(lines).hasSize(STUDENTS + 1);
+    assertThat(lines.get(0)).startsWith("id,name,email,studentId,");
+    assertThat(lines.get(2)).contains(",Bob 1,student1@school.test,S1,").endsWith(",Ada Lovelace");
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void cursorPagesVisitEveryStudentOnceWithoutCounting() {
+    List<String> names = new ArrayList<>();
+    String after = null;
+    int pages = 0;
+    do {
+      CursorPage<StudentResponseDTO> page =
+          studentService.getStudentsAfter(after, 7, "name", Sort.Direction.DESC);
+      page.getContent().forEach(s -> names.add(s.getName()));
+      after = page.getNextCursor();
+      pages++;
+    } while (after != null);
+
+    assertThat(names).hasSize(STUDENTS).doesNotHaveDuplicates();
+    assertThat(names).isSortedAccordingTo(Comparator.reverseOrder());
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(pages);
+  }
+
+  @Test
+  void filtersApplyToOffsetAndCursorPages() {
+    StudentFilterDTO filter = new StudentFilterDTO();
+    filter.setDepartment("Science");
+    filter.setTeacherId(teacher.getId());
+
+    Page<StudentResponseDTO> page =
+        studentService.getAllStudents(filter, PageRequest.of(0, 10, Sort.by("name")));
+    assertThat(page.getTotalElements()).isEqualTo(STUDENTS * 4 / 5);
+    assertThat(page.getContent())
+        .hasSize(10)
+        .allSatisfy(s -> assertThat(s.getTeacherId()).isEqualTo(teacher.getId()));
+    assertThat(statistics.getEntityLoadCount()).isZero();
+
+    List<Long> ids = new ArrayList<>();
+    String after = null;
+    do {
+      CursorPage<StudentResponseDTO> cursorPage =
+          studentService.getStudentsAfter(filter, after, 7, "id", Sort.Direction.ASC);
+      cursorPage.getContent().forEach(s -> ids.add(s.getId()));
+      after = cursorPage.getNextCursor();
+    } while (after != null);
+    assertThat(ids).hasSize(STUDENTS * 4 / 5).doesNotHaveDuplicates().isSorted();
+
+    filter.setDepartment("History");
+    assertThat(studentService.getAllStudents(filter, PageRequest.of(0, 10)).getContent()).isEmpty();
+  }
+
+  @Test
+  void unindexedSortsAndInvertedDateRangesAreRejected() {
+    assertThatThrownBy(
+            () -> studentService.getAllStudents(PageRequest.of(0, 10, Sort.by("address"))))
+        .isInstanceOf(BadRequestException.class);
+
+    StudentFilterDTO filter = new StudentFilterDTO();
+    filter.setEnrolledFrom(LocalDate.of(2024, 9, 1));
+    filter.setEnrolledTo(LocalDate.of(2024, 1, 1));
+    assertThatThrownBy(() -> studentService.getAllStudents(filter, PageRequest.of(0, 10)))
+        .isInstanceOf(BadRequestException.class);
+
+    PageRequest byEmail = PageRequest.of(0, 10, Sort.by("email"));
+    assertThatThrownBy(() -> studentService.searchStudentByName("bob", byEmail))
+        .isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> studentService.searchStudentSliceByName("bob", byEmail))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void batchFetchKeepsTheRequestedOrderAndLoadsOnlyUncachedStudents() {
+    List<Long> ids =
+        studentRepository.findAll(Sort.by("id")).stream().limit(4).map(Student::getId).toList();
+    studentService.getStudentById(ids.get(2));
+    statistics.clear();
+
+    BatchResult<StudentResponseDTO> result =
+        studentService.getStudentsByIds(
+            List.of(ids.get(3), -1L, ids.get(0), ids.get(2), ids.get(3)));
+
+    assertThat(result.getContent())
+        .extracting(StudentResponseDTO::getId)
+        .containsExactly(ids.get(3), ids.get(0), ids.get(2));
+    assertThat(result.getMissingIds()).containsExactly(-1L);
+    // One IN query for the ids that were not cached yet
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+    statistics.clear();
+    studentService.getStudentsByIds(List.of(ids.get(0), ids.get(3)));
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+
+    assertThatThrownBy(() -> studentService.getStudentsByIds(List.of()))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void searchTreatsLikeWildcardsLiterally() {
+    Page<StudentResponseDTO> page =
+        studentService.searchStudentByName("_", PageRequest.of(0, 100, Sort.by("id")));
+
+    assertThat(page.getContent()).hasSize(STUDENTS / 2);
+    assertThat(page.getContent()).allSatisfy(s -> assertThat(s.getName()).startsWith("Alice_"));
+    assertThat(statistics.getEntityLoadCount()).isZero();
+  }
+
+  @Test
+  void searchIsServedFromNameIndexAndKeepsPagination() {
+    Page<StudentResponseDTO> page =
+        studentService.searchStudentByName("BOB 1", PageRequest.of(1, 3, Sort.by("name")));
+
+    // Bob 1, 11, 13, 15, 17, 19 -> second page of three
+    assertThat(page.getTotalElements()).isEqualTo(6);
+    assertThat(page.getContent())
+        .extracting(StudentResponseDTO::getName)
+        .containsExactly("Bob 15", "Bob 17", "Bob 19");
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void rowsDeletedElsewhereShortenTheIndexPageUntilReconciled() {
+    // Deleted past the service, as another instance would
+    Student deleted =
+        studentRepository.findAll().stream()
+            .filter(s -> s.getName().equals("Bob 13"))
+            .findFirst()
+            .orElseThrow();
+    studentRepository.delete(deleted);
+
+    // Bob 13 and Bob 15 on the second page of two: the index still counts Bob 13
+    Page<StudentResponseDTO> shortened =
+        studentService.searchStudentByName("bob 1", PageRequest.of(1, 2, Sort.by("id")));
+    assertThat(shortened.getTotalElements()).isEqualTo(6);
+    assertThat(shortened.getContent())
+        .extracting(StudentResponseDTO::getName)
+        .containsExactly("Bob 15");
+
+    // On the last page the total is the offset plus what was found
+    Page<StudentResponseDTO> last =
+        studentService.searchStudentByName("bob 1", PageRequest.of(0, 10, Sort.by("id")));
+    assertThat(last.getTotalElements()).isEqualTo(5);
+    assertThat(last.getContent())
+        .extracting(StudentResponseDTO::getName)
+        .containsExactly("Bob 1", "Bob 11", "Bob 15", "Bob 17", "Bob 19");
+
+    studentNameIndex.reconcile();
+
+    Page<StudentResponseDTO> reconciled =
+        studentService.searchStudentByName("bob 1", PageRequest.of(0, 10, Sort.by("id")));
+    assertThat(reconciled.getTotalElements()).isEqualTo(5);
+    assertThat(reconciled.getContent()).hasSize(5);
+  }
+}
@@ -0,0 +1,228 @@
+package com.example.StudentMangamentBackEnd.Services.teacher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentResponseDTO;
+import com.example.StudentMangamentBackEnd.DTO.teacher.RosterView;
+import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherRequestDTO;
+import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherResponseDTO;
+import com.example.StudentMangamentBackEnd.Services.student.StudentService;
+import com.example.StudentMangamentBackEnd.exception.BadRequestException;
+import com.example.StudentMangamentBackEnd.exception.PreconditionFailedException;
+import com.example.StudentMangamentBackEnd.exception.ResourceNotFoundException;
+import com.example.StudentMangamentBackEnd.export.ExportFormat;
+import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.model.Teacher;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import com.example.StudentMangamentBackEnd.response.CursorPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+@SpringBootTest
+class TeacherServiceImplTest {
+
+  private static final int TEACHERS = 100;
+  private static final int STUDENTS_PER_TEACHER = 3;
+
+  @Autowired private TeacherService teacherService;
+  @Autowired private StudentService studentService;
+  @Autowired private TeacherRepository teacherRepository;
+  @Autowired private StudentRepository studentRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private ObjectMapper objectMapper;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    List<Teacher> teachers = new ArrayList<>();
+    for (int i = 0; i < TEACHERS; i++) {
+      Teacher teacher = new Teacher();
+      teacher.setName("Teacher " + i);
+      teacher.setEmail("teacher" + i + "@school.test");
+      teacher.setSubject("Math");
+      teacher.setPassword("secret");
+      teachers.add(teacher);
+    }
+    teachers = teacherRepository.saveAll(teachers);
+
+    List<Student> students = new ArrayList<>();
+    for (Teacher teacher : teachers) {
+      for (int i = 0; i < STUDENTS_PER_TEACHER; i++) {
+        Student student = new Student();
+        student.setName("Student " + teacher.getId() + "-" + i);
+        student.setEmail("student" + teacher.getId() + "-" + i + "@school.test");
+        student.setStudentId("S" + teacher.getId() + "-" + i);
+        student.setDepartment("Science");
+        student.setTeacher(teacher);
+        students.add(student);
+      }
+    }
+    studentRepository.saveAll(students);
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    studentRepository.deleteAllInBatch();
+    teacherRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void teacherPageLoadsStudentIdsWithConstantStatementCount() {
+    Page<TeacherResponseDTO> page =
+        teacherService.getAllTeachers(PageRequest.of(0, TEACHERS, Sort.by("id")), RosterView.IDS);
+
+    assertThat(page.getContent()).hasSize(TEACHERS);
+    assertThat(page.getContent())
+        .allSatisfy(t -> assertThat(t.getStudentIds()).hasSize(STUDENTS_PER_TEACHER));
+    // teacher page + count + one student-id lookup for the whole page
+    assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    assertThat(statistics.getCollectionFetchCount()).isZero();
+  }
+
+  @Test
+  void countViewReplacesStudentIdsWithAGroupedCount() throws Exception {
+    Page<TeacherResponseDTO> page =
+        teacherService.getAllTeachers(PageRequest.of(0, TEACHERS, Sort.by("id")), RosterView.COUNT);
+
+    assertThat(page.getContent())
+        .allSatisfy(
+            t -> {
+              assertThat(t.getStudentIds()).isNull();
+              assertThat(t.getStudentCount()).isEqualTo(STUDENTS_PER_TEACHER);
+            });
+    // teacher page + one grouped count for the whole page
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    assertThat(objectMapper.writeValueAsString(page.getContent().get(0)))
+        .doesNotContain("studentIds");
+
+    Long teacherId = page.getContent().get(0).getId();
+    TeacherResponseDTO detail = teacherService.getTeacherById(teacherId, RosterView.COUNT);
+    assertThat(detail.getStudentCount()).isEqualTo(STUDENTS_PER_TEACHER);
+    assertThat(detail.etag()).isEqualTo(teacherService.getTeacherEtag(teacherId, RosterView.COUNT));
+    assertThat(detail.etag())
+        .isNotEqualTo(teacherService.getTeacherEtag(teacherId, RosterView.IDS));
+  }
+
+  @Test
+  void rosterIsPagedByKeyset() {
+    Long teacherId = teacherRepository.findAll(Sort.by("id")).get(0).getId();
+    statistics.clear();
+
+    CursorPage<StudentResponseDTO> first = studentService.getStudentsOfTeacher(teacherId, null, 2);
+    CursorPage<StudentResponseDTO> second =
+        studentService.getStudentsOfTeacher(teacherId, first.getNextCursor(), 2);
+
+    assertThat(first.isHasNext()).isTrue();
+    assertThat(second.isHasNext()).isFalse();
+    assertThat(Stream.concat(first.getContent().stream(), second.getContent().stream()))
+        .extracting(StudentResponseDTO::getTeacherId)
+        .hasSize(STUDENTS_PER_TEACHER)
+        .containsOnly(teacherId);
+    assertThat(first.getContent().get(1).getId()).isLessThan(second.getContent().get(0).getId());
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+
+    assertThatThrownBy(() -> studentService.getStudentsOfTeacher(-1L, null, 2))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  @Test
+  void ndjsonExportResolvesStudentIdsPerBatch() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    long exported = teacherService.exportTeachers(out, ExportFormat.NDJSON);
+
+    List<TeacherResponseDTO> teachers = new ArrayList<>();
+    for (String line : out.toString(StandardCharsets.UTF_8).lines().toList()) {
+      teachers.add(objectMapper.readValue(line, TeacherResponseDTO.class));
+    }
+    assertThat(exported).isEqualTo(TEACHERS);
+    assertThat(teachers)
+        .hasSize(TEACHERS)
+        .allSatisfy(t -> assertThat(t.getStudentIds()).hasSize(STUDENTS_PER_TEACHER));
+    // teacher stream + one student-id lookup per export batch
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+  }
+
+  @Test
+  void ifMatchIsCheckedOnTheTeacherThatIsWritten() {
+    Teacher teacher = teacherRepository.findAll(Sort.by("id")).get(0);
+    String etag = teacherService.getTeacherEtag(teacher.getId(), RosterView.IDS);
+    TeacherRequestDTO update = new TeacherRequestDTO();
+    update.setName("Renamed");
+    update.setEmail(teacher.getEmail());
+    update.setSubject("Physics");
+    statistics.clear();
+
+    teacherService.updateTeacher(teacher.getId(), update, etag);
+
+    // Read once and flushed from the same persistence context, never merged into a second copy
+    EntityStatistics teachers = statistics.getEntityStatistics(Teacher.class.getName());
+    assertThat(teachers.getLoadCount() + teachers.getCacheHitCount()).isEqualTo(1);
+    assertThat(teachers.getUpdateCount()).isEqualTo(1);
+    assertThatThrownBy(() -> teacherService.updateTeacher(teacher.getId(), update, etag))
+        .isInstanceOf(PreconditionFailedException.class);
+  }
+
+  @Test
+  void unlistedSortFieldsAreRejected() {
+    PageRequest byPhone = PageRequest.of(0, TEACHERS, Sort.by("phone"));
+    assertThatThrownBy(() -> teacherService.getAllTeachers(byPhone, RosterView.IDS))
+        .isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> teacherService.getTeacherSlice(byPhone, RosterView.IDS))
+        .isInstanceOf(BadRequestException.class);
+    assertThatThrownBy(() -> teacherService.searchTeacherByName("teacher", byPhone, RosterView.IDS))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void deletingTeacherDetachesStudentsWithoutLoadingThem() {
+    Long teacherId = teacherRepository.findAll(Sort.by("id")).get(0).getId();
+    statistics.clear();
+
+    teacherService.deleteTeacher(teacherId);
+
+    assertThat(statistics.getCollectionLoadCount()).isZero();
+    assertThat(statistics.getEntityStatistics(Student.class.getName()).getLoadCount()).isZero();
+
+    assertThat(teacherRepository.existsById(teacherId)).isFalse();
+    assertThat(studentRepository.count()).isEqualTo(TEACHERS * STUDENTS_PER_TEACHER);
+    assertThat(studentRepository.findAll())
+        .filteredOn(s -> s.getTeacher() == null)
+        .hasSize(STUDENTS_PER_TEACHER);
+  }
+
+  @Test
+  void teacherSearchLoadsStudentIdsWithConstantStatementCount() {
+    Page<TeacherResponseDTO> page =
+        teacherService.searchTeacherByName(
+            "teacher", PageRequest.of(0, TEACHERS, Sort.by("id")), RosterView.IDS);
+
+    assertThat(page.getContent()).hasSize(TEACHERS);
+    assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    assertThat(statistics.getCollectionFetchCount()).isZero();
+  }
+}
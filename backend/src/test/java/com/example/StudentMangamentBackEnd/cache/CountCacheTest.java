@@ -0,0 +1,149 @@
+package com.example.StudentMangamentBackEnd.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentFilterDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentRequestDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentResponseDTO;
+import com.example.StudentMangamentBackEnd.Services.student.StudentService;
+import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+@SpringBootTest(properties = "cache.counts.ttl=5m")
+class CountCacheTest {
+
+  private static final int STUDENTS = 25;
+
+  @Autowired private StudentService studentService;
+  @Autowired private StudentRepository studentRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private CountCache countCache;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    List<Student> students = new ArrayList<>();
+    for (int i = 0; i < STUDENTS; i++) {
+      Student student = new Student();
+      student.setName("Student " + i);
+      student.setEmail("student" + i + "@school.test");
+      student.setStudentId("S" + i);
+      student.setDepartment(i % 5 == 0 ? "Arts" : "Science");
+      students.add(student);
+    }
+    studentRepository.saveAll(students);
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    studentRepository.deleteAllInBatch();
+    countCache.invalidateAll();
+  }
+
+  @Test
+  void pageFlipsCountOnce() {
+    assertThat(page(null, 0).getTotalElements()).isEqualTo(STUDENTS);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+    statistics.clear();
+    assertThat(page(null, 1).getTotalElements()).isEqualTo(STUDENTS);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void createdAndDeletedStudentsAdjustTheCountsTheyMatch() {
+    page(null, 0);
+    page("Science", 0);
+    page("Arts", 0);
+
+    StudentResponseDTO created = studentService.createStudent(student("Science"));
+    statistics.clear();
+
+    assertThat(page(null, 0).getTotalElements()).isEqualTo(STUDENTS + 1);
+    assertThat(page("Science", 0).getTotalElements()).isEqualTo(STUDENTS * 4 / 5 + 1);
+    assertThat(page("Arts", 0).getTotalElements()).isEqualTo(STUDENTS / 5);
+    // Only the three pages themselves; none of them counted again
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+    studentService.deleteStudent(created.getId());
+    assertThat(page("Science", 0).getTotalElements()).isEqualTo(STUDENTS * 4 / 5);
+  }
+
+  @Test
+  void updatesRecountFilteredTotalsOnly() {
+    page(null, 0);
+    page("Science", 0);
+    Long id = studentRepository.findAll(Sort.by("id")).get(1).getId();
+
+    StudentRequestDTO moved = student("Arts");
+    moved.setEmail("student1@school.test");
+    moved.setStudentId("S1");
+    studentService.updateStudent(id, moved);
+    statistics.clear();
+
+    assertThat(page(null, 0).getTotalElements()).isEqualTo(STUDENTS);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(page("Science", 0).getTotalElements()).isEqualTo(STUDENTS * 4 / 5 - 1);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+  }
+
+  @Test
+  void lastPageCorrectsADriftedTotal() {
+    page(null, 0);
+    // Deleted behind the service's back, like a write on another instance
+    studentRepository.deleteAllByIdInBatch(
+        studentRepository.findAll(Sort.by("id")).stream().limit(5).map(Student::getId).toList());
+
+    assertThat(page(null, 1).getTotalElements()).isEqualTo(STUDENTS - 5);
+    statistics.clear();
+    assertThat(page(null, 0).getTotalElements()).isEqualTo(STUDENTS - 5);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void slicesNeverCount() {
+    Slice<StudentResponseDTO> first =
+        studentService.getStudentSlice(new StudentFilterDTO(), PageRequest.of(0, 10));
+    Slice<StudentResponseDTO> last =
+        studentService.getStudentSlice(new StudentFilterDTO(), PageRequest.of(2, 10));
+
+    assertThat(first.hasNext()).isTrue();
+    assertThat(first.getContent()).hasSize(10);
+    assertThat(last.hasNext()).isFalse();
+    assertThat(last.getContent()).hasSize(STUDENTS - 20);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  private Page<StudentResponseDTO> page(String department, int page) {
+    StudentFilterDTO filter = new StudentFilterDTO();
+    filter.setDepartment(department);
+    return studentService.getAllStudents(filter, PageRequest.of(page, 10, Sort.by("id")));
+  }
+
+  private StudentRequestDTO student(String department) {
+    StudentRequestDTO dto = new StudentRequestDTO();
+    dto.setName("New Student");
+    dto.setEmail("new@school.test");
+    dto.setStudentId("S-new");
+    dto.setDepartment(department);
+    return dto;
+  }
+}
@@ -0,0 +1,193 @@
+package com.example.StudentMangamentBackEnd.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherRequestDTO;
+import com.example.StudentMangamentBackEnd.Services.student.StudentService;
+import com.example.StudentMangamentBackEnd.Services.teacher.TeacherService;
+import com.example.StudentMangamentBackEnd.datasource.RecentWrites;
+import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.model.Teacher;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class DetailCacheTest {
+
+  @Autowired private StudentService studentService;
+  @Autowired private TeacherService teacherService;
+  @Autowired private TeacherRepository teacherRepository;
+  @Autowired private StudentRepository studentRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private MeterRegistry meterRegistry;
+
+  private Statistics statistics;
+  private Teacher ada;
+  private Teacher alan;
+  private Student student;
+
+  @BeforeEach
+  void setUp() {
+    ada = teacherRepository.save(teacher("Ada Lovelace", "ada@school.test"));
+    alan = teacherRepository.save(teacher("Alan Turing", "alan@school.test"));
+
+    Student s = new Student();
+    s.setName("Grace Hopper");
+    s.setEmail("grace@school.test");
+    s.setStudentId("S1");
+    s.setDepartment("Science");
+    s.setTeacher(ada);
+    student = studentRepository.save(s);
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    studentRepository.deleteAllInBatch();
+    teacherRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void repeatedGetsAreServedFromTheCache() {
+    studentService.getStudentById(student.getId());
+    teacherService.getTeacherById(ada.getId());
+    long afterFirst = statistics.getPrepareStatementCount();
+
+    studentService.getStudentById(student.getId());
+    teacherService.getTeacherById(ada.getId());
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(afterFirst);
+    assertThat(
+            meterRegistry
+                .get("cache.gets")
+                .tag("cache", "student.details")
+                .tag("result", "hit")
+                .functionCounter()
+                .count())
+        .isGreaterThanOrEqualTo(1);
+  }
+
+  @Test
+  void updatingTeacherRefreshesItsStudentsTeacherName() {
+    assertThat(studentService.getStudentById(student.getId()).getTeacherName())
+        .isEqualTo("Ada Lovelace");
+    assertThat(teacherService.getTeacherById(ada.getId()).getName()).isEqualTo("Ada Lovelace");
+
+    TeacherRequestDTO update = new TeacherRequestDTO();
+    update.setName("Ada King");
+    update.setEmail("ada@school.test");
+    update.setSubject("Math");
+    teacherService.updateTeacher(ada.getId(), update);
+
+    assertThat(studentService.getStudentById(student.getId()).getTeacherName())
+        .isEqualTo("Ada King");
+    assertThat(teacherService.getTeacherById(ada.getId()).getName()).isEqualTo("Ada King");
+  }
+
+  @Test
+  void movingStudentRefreshesStudentAndBothTeachers() {
+    assertThat(studentService.getStudentById(student.getId()).getTeacherId())
+        .isEqualTo(ada.getId());
+    assertThat(teacherService.getTeacherById(ada.getId()).getStudentIds())
+        .containsExactly(student.getId());
+    assertThat(teacherService.getTeacherById(alan.getId()).getStudentIds()).isEmpty();
+
+    studentService.assignTeacher(student.getId(), alan.getId());
+
+    assertThat(studentService.getStudentById(student.getId()).getTeacherId())
+        .isEqualTo(alan.getId());
+    assertThat(teacherService.getTeacherById(ada.getId()).getStudentIds()).isEmpty();
+    assertThat(teacherService.getTeacherById(alan.getId()).getStudentIds())
+        .containsExactly(student.getId());
+
+    studentService.removeTeacher(student.getId());
+
+    assertThat(studentService.getStudentById(student.getId()).getTeacherId()).isNull();
+    assertThat(teacherService.getTeacherById(alan.getId()).getStudentIds()).isEmpty();
+  }
+
+  @Test
+  void concurrentMissesShareOneLoad() throws Exception {
+    DetailCache<String> cache =
+        new DetailCache<>(
+            "test",
+            10,
+            Duration.ofMinutes(1),
+            new RecentWrites(Duration.ZERO),
+            new SimpleMeterRegistry());
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<CompletableFuture<String>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(
+            CompletableFuture.supplyAsync(
+                () -> {
+                  await(start);
+                  return cache.get(
+                      1L,
+                      id -> {
+                        loads.incrementAndGet();
+                        sleep(100);
+                        return "loaded";
+                      });
+                },
+                executor));
+      }
+      start.countDown();
+
+      for (CompletableFuture<String> result : results) {
+        assertThat(result.get()).isEqualTo("loaded");
+      }
+      assertThat(loads).hasValue(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static Teacher teacher(String name, String email) {
+    Teacher teacher = new Teacher();
+    teacher.setName(name);
+    teacher.setEmail(email);
+    teacher.setSubject("Math");
+    teacher.setPassword("secret");
+    return teacher;
+  }
+}
@@ -0,0 +1,139 @@
+package com.example.StudentMangamentBackEnd.cache;
+
+import static com.example.StudentMangamentBackEnd.metrics.QueryCount.assertQueryCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentRequestDTO;
+import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherRequestDTO;
+import com.example.StudentMangamentBackEnd.Services.student.StudentService;
+import com.example.StudentMangamentBackEnd.Services.teacher.TeacherService;
+import com.example.StudentMangamentBackEnd.model.Admin;
+import com.example.StudentMangamentBackEnd.repository.AdminRepository;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import com.example.StudentMangamentBackEnd.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ResponseCacheTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private JwtUtil jwtUtil;
+  @Autowired private StudentService studentService;
+  @Autowired private TeacherService teacherService;
+  @Autowired private AdminRepository adminRepository;
+  @Autowired private StudentRepository studentRepository;
+  @Autowired private TeacherRepository teacherRepository;
+
+  private String token;
+  private Long teacherId;
+
+  @BeforeEach
+  void setUp() {
+    Admin admin = new Admin();
+    admin.setName("Admin");
+    admin.setEmail("admin@school.test");
+    admin.setPassword("secret");
+    adminRepository.save(admin);
+    token = jwtUtil.generateToken(admin.getEmail(), "ADMIN", admin.getTokenVersion());
+    TeacherRequestDTO teacher = new TeacherRequestDTO();
+    teacher.setName("Ada Lovelace");
+    teacher.setEmail("ada@school.test");
+    teacher.setSubject("Math");
+    teacher.setDepartment("Science");
+    teacher.setPassword("secret");
+    teacherId = teacherService.createTeacher(teacher).getId();
+    studentService.createStudent(student("Grace Hopper", "S1"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    studentRepository.deleteAllInBatch();
+    teacherRepository.deleteAllInBatch();
+    adminRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void repeatedPagesAreServedWithoutQueries() throws Exception {
+    MvcResult first = perform(get("/api/students")).andExpect(status().isOk()).andReturn();
+
+    MvcResult second =
+        perform(get("/api/students"))
+            .andExpect(status().isOk())
+            .andExpect(assertQueryCount(0))
+            .andExpect(
+                header().string(HttpHeaders.ETAG, first.getResponse().getHeader(HttpHeaders.ETAG)))
+            .andExpect(jsonPath("$.data.content[0].name").value("Grace Hopper"))
+            .andReturn();
+
+    assertThat(second.getResponse().getContentAsByteArray())
+        .isEqualTo(first.getResponse().getContentAsByteArray());
+  }
+
+  @Test
+  void cachedPagesAnswerConditionalRequests() throws Exception {
+    String etag =
+        perform(get("/api/teachers")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    perform(get("/api/teachers").header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(assertQueryCount(0));
+  }
+
+  @Test
+  void writesInvalidateCachedPages() throws Exception {
+    perform(get("/api/students/search").param("name", "grace")).andExpect(status().isOk());
+
+    studentService.createStudent(student("Grace Kelly", "S2"));
+
+    perform(get("/api/students/search").param("name", "Grace"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.totalElements").value(2));
+  }
+
+  @Test
+  void teacherWritesInvalidateStudentPages() throws Exception {
+    perform(get("/api/students"))
+        .andExpect(jsonPath("$.data.content[0].teacherName").value("Ada Lovelace"));
+
+    TeacherRequestDTO renamed = new TeacherRequestDTO();
+    renamed.setName("Ada King");
+    renamed.setEmail("ada@school.test");
+    renamed.setSubject("Math");
+    renamed.setDepartment("Science");
+    renamed.setPassword("secret");
+    teacherService.updateTeacher(teacherId, renamed);
+
+    perform(get("/api/students"))
+        .andExpect(jsonPath("$.data.content[0].teacherName").value("Ada King"));
+  }
+
+  private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+    return mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+  }
+
+  private StudentRequestDTO student(String name, String studentId) {
+    StudentRequestDTO dto = new StudentRequestDTO();
+    dto.setName(name);
+    dto.setEmail(studentId.toLowerCase() + "@school.test");
+    dto.setStudentId(studentId);
+    dto.setDepartment("Science");
+    dto.setTeacherId(teacherId);
+    return dto;
+  }
+}
@@ -0,0 +1,122 @@
+package com.example.StudentMangamentBackEnd.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.StudentMangamentBackEnd.Services.student.StudentService;
+import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.model.Teacher;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class SecondLevelCacheTest {
+
+  private static final int STUDENTS = 5;
+
+  @Autowired private StudentService studentService;
+  @Autowired private TeacherRepository teacherRepository;
+  @Autowired private StudentRepository studentRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  private Statistics statistics;
+  private Teacher ada;
+  private Teacher alan;
+  private List<Student> students;
+
+  @BeforeEach
+  void setUp() {
+    ada = teacherRepository.save(teacher("Ada Lovelace", "ada@school.test"));
+    alan = teacherRepository.save(teacher("Alan Turing", "alan@school.test"));
+
+    students = new ArrayList<>();
+    for (int i = 0; i < STUDENTS; i++) {
+      Student student = new Student();
+      student.setName("Student " + i);
+      student.setEmail("student" + i + "@school.test");
+      student.setStudentId("S" + i);
+      student.setDepartment("Science");
+      students.add(student);
+    }
+    students = studentRepository.saveAll(students);
+
+    // Identity inserts skip the cache, so warm it with a read
+    studentRepository.findAll();
+    teacherRepository.findAll();
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    studentRepository.deleteAllInBatch();
+    teacherRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void assigningTeachersReadsStudentAndTeacherFromCache() {
+    for (Student student : students) {
+      studentService.assignTeacher(student.getId(), ada.getId());
+    }
+
+    // Only the updates reach the database
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(STUDENTS);
+    assertThat(statistics.getDomainDataRegionStatistics("teacher").getHitCount())
+        .isEqualTo(STUDENTS);
+    assertThat(statistics.getDomainDataRegionStatistics("student").getHitCount())
+        .isEqualTo(STUDENTS);
+  }
+
+  @Test
+  void findByEmailIsServedFromQueryCache() {
+    teacherRepository.findByEmail("ada@school.test").orElseThrow();
+    long afterFirst = statistics.getPrepareStatementCount();
+    teacherRepository.findByEmail("ada@school.test").orElseThrow();
+
+    assertThat(afterFirst).isEqualTo(1);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void cachedRostersFollowStudentsBetweenTeachers() {
+    Long studentId = students.get(0).getId();
+    studentService.assignTeacher(studentId, ada.getId());
+    assertThat(rosterOf(ada)).containsExactly(studentId);
+    assertThat(rosterOf(alan)).isEmpty();
+
+    studentService.assignTeacher(studentId, alan.getId());
+
+    assertThat(rosterOf(ada)).isEmpty();
+    assertThat(rosterOf(alan)).containsExactly(studentId);
+  }
+
+  private List<Long> rosterOf(Teacher teacher) {
+    return transactionTemplate.execute(
+        status ->
+            teacherRepository.findById(teacher.getId()).orElseThrow().getStudents().stream()
+                .map(Student::getId)
+                .toList());
+  }
+
+  private static Teacher teacher(String name, String email) {
+    Teacher teacher = new Teacher();
+    teacher.setName(name);
+    teacher.setEmail(email);
+    teacher.setSubject("Math");
+    teacher.setPassword("secret");
+    return teacher;
+  }
+}
@@ -0,0 +1,43 @@
+package com.example.StudentMangamentBackEnd.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(
+    properties = {
+      "spring.threads.virtual.enabled=true",
+      "vthreads.pinning.enabled=true",
+      "vthreads.pinning.threshold=5ms"
+    })
+class VirtualThreadPinningMonitorTest {
+
+  private static final Object LOCK = new Object();
+
+  @Autowired private VirtualThreadPinningMonitor monitor;
+
+  @Test
+  void blockingInsideSynchronizedIsReported() throws Exception {
+    Thread.ofVirtual()
+        .start(
+            () -> {
+              synchronized (LOCK) {
+                try {
+                  Thread.sleep(50);
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              }
+            })
+        .join();
+
+    // JFR streams events in roughly one-second chunks
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (monitor.getPinnedCount() == 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(100);
+    }
+    assertThat(monitor.getPinnedCount()).isPositive();
+  }
+}
@@ -0,0 +1,33 @@
+package com.example.StudentMangamentBackEnd.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class RecentWritesTest {
+
+  @Test
+  void missesReadAReplicaUntilAWriteOpensTheWindow() {
+    RecentWrites recentWrites = new RecentWrites(Duration.ofMillis(200));
+
+    assertThat(recentWrites.isOpen()).isFalse();
+    assertThat(recentWrites.read(DataSourceRouting::isPrimaryRequired)).isFalse();
+
+    recentWrites.written();
+
+    assertThat(recentWrites.isOpen()).isTrue();
+    assertThat(recentWrites.read(DataSourceRouting::isPrimaryRequired)).isTrue();
+  }
+
+  @Test
+  void windowClosesOnceReplicasCaughtUp() throws InterruptedException {
+    RecentWrites recentWrites = new RecentWrites(Duration.ofMillis(50));
+    recentWrites.written();
+
+    Thread.sleep(100);
+
+    assertThat(recentWrites.isOpen()).isFalse();
+    assertThat(recentWrites.read(DataSourceRouting::isPrimaryRequired)).isFalse();
+  }
+}
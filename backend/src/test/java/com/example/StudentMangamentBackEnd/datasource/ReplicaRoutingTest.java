@@ -0,0 +1,130 @@
+package com.example.StudentMangamentBackEnd.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentRequestDTO;
+import com.example.StudentMangamentBackEnd.Services.student.StudentService;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+// Two embedded databases; the replica only catches up when the test replicates, so every read
+// shows which database served it
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+      "spring.datasource.hikari.connection-timeout=500",
+      "datasource.replicas.urls=" + ReplicaRoutingTest.REPLICA_URL + ";IFEXISTS=TRUE",
+      "datasource.replicas.read-your-writes-window=1h",
+      "datasource.replicas.health-check-interval=PT1H"
+    })
+class ReplicaRoutingTest {
+
+  static final String PRIMARY_URL =
+      "jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+  static final String REPLICA_URL =
+      "jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+  @Autowired private StudentService studentService;
+  @Autowired private StudentRepository studentRepository;
+  @Autowired private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+  private static final JdbcTemplate primary =
+      new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+  private static final JdbcTemplate replica =
+      new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+  // The replica is up before the application starts, like a real one
+  @BeforeAll
+  static void startReplica() {
+    replica.execute("SELECT 1");
+  }
+
+  @BeforeEach
+  void setUp() {
+    replicate();
+    replicaRoutingDataSource.checkReplicas();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+    studentRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void readOnlyTransactionsReadTheReplica() {
+    actAs("writer@school.test");
+    Long id = studentService.createStudent(student("S1")).getId();
+
+    actAs("reader@school.test");
+    assertThat(studentCount()).isZero();
+    // Inside the window after a write, cached details are loaded from the primary
+    assertThat(studentService.getStudentById(id).getStudentId()).isEqualTo("S1");
+
+    replicate();
+    assertThat(studentCount()).isEqualTo(1);
+  }
+
+  @Test
+  void writersReadTheirOwnWritesFromThePrimary() {
+    actAs("writer@school.test");
+    studentService.createStudent(student("S1"));
+
+    assertThat(studentCount()).isEqualTo(1);
+  }
+
+  @Test
+  void unhealthyReplicaIsSkipped() {
+    actAs("writer@school.test");
+    studentService.createStudent(student("S1"));
+    replica.execute("SHUTDOWN");
+    replicaRoutingDataSource.checkReplicas();
+
+    actAs("reader@school.test");
+    assertThat(studentCount()).isEqualTo(1);
+
+    // Back in rotation once the health check sees it again
+    replicate();
+    replicaRoutingDataSource.checkReplicas();
+    actAs("writer@school.test");
+    studentService.createStudent(student("S2"));
+    actAs("reader@school.test");
+    assertThat(studentCount()).isEqualTo(1);
+  }
+
+  private long studentCount() {
+    return studentService.getAllStudents(PageRequest.of(0, 10)).getTotalElements();
+  }
+
+  // Stands in for replication: copies the primary into the replica, which lags until then
+  private void replicate() {
+    List<String> script = primary.queryForList("SCRIPT", String.class);
+    replica.execute("DROP ALL OBJECTS");
+    script.forEach(replica::execute);
+  }
+
+  private static void actAs(String email) {
+    SecurityContextHolder.getContext()
+        .setAuthentication(new UsernamePasswordAuthenticationToken(email, null, List.of()));
+  }
+
+  private static StudentRequestDTO student(String studentId) {
+    StudentRequestDTO dto = new StudentRequestDTO();
+    dto.setName("Student " + studentId);
+    dto.setEmail(studentId.toLowerCase() + "@school.test");
+    dto.setStudentId(studentId);
+    dto.setDepartment("Science");
+    return dto;
+  }
+}
@@ -0,0 +1,45 @@
+package com.example.StudentMangamentBackEnd.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+// Actuator on its own loopback port, as in the main configuration
+@SpringBootTest(
+    webEnvironment = WebEnvironment.RANDOM_PORT,
+    properties = {"management.server.port=0", "management.server.address=127.0.0.1"})
+@AutoConfigureObservability
+class ManagementPortTest {
+
+  @Autowired private TestRestTemplate restTemplate;
+  @LocalServerPort private int serverPort;
+  @LocalManagementPort private int managementPort;
+
+  @Test
+  void prometheusScrapesTheManagementPortAnonymously() {
+    ResponseEntity<String> response = scrape(managementPort);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody()).contains("hikaricp_connections_active");
+  }
+
+  @Test
+  void theApplicationPortDoesNotServeAnonymousScrapes() {
+    assertThat(managementPort).isNotEqualTo(serverPort);
+    assertThat(scrape(serverPort).getStatusCode().is4xxClientError()).isTrue();
+  }
+
+  private ResponseEntity<String> scrape(int port) {
+    return restTemplate.getForEntity(
+        "http://127.0.0.1:" + port + "/actuator/prometheus", String.class);
+  }
+}
@@ -0,0 +1,110 @@
+package com.example.StudentMangamentBackEnd.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.StudentMangamentBackEnd.Services.student.StudentService;
+import com.example.StudentMangamentBackEnd.exception.ResourceNotFoundException;
+import com.example.StudentMangamentBackEnd.model.Admin;
+import com.example.StudentMangamentBackEnd.repository.AdminRepository;
+import com.example.StudentMangamentBackEnd.security.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+// Metrics export (the Prometheus registry) is off in tests unless observability is requested
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private StudentService studentService;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private AdminRepository adminRepository;
+  @Autowired private JwtUtil jwtUtil;
+
+  @AfterEach
+  void tearDown() {
+    adminRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void serviceCallsAreTimedAndFailuresCounted() {
+    studentService.getAllStudents(PageRequest.of(0, 10));
+    assertThatThrownBy(() -> studentService.getStudentById(-1L))
+        .isInstanceOf(ResourceNotFoundException.class);
+
+    assertThat(
+            meterRegistry
+                .get("service.calls")
+                .tags("service", "StudentService", "method", "getAllStudents")
+                .timer()
+                .count())
+        .isPositive();
+    assertThat(
+            meterRegistry
+                .get("service.errors")
+                .tags("method", "getStudentById", "exception", "ResourceNotFoundException")
+                .counter()
+                .count())
+        .isPositive();
+  }
+
+  @Test
+  void prometheusEndpointCanBeScrapedByAnAdmin() throws Exception {
+    studentService.getAllStudents(PageRequest.of(0, 10));
+    Admin admin = new Admin();
+    admin.setName("Admin");
+    admin.setEmail("admin@school.test");
+    admin.setPassword("secret");
+    adminRepository.save(admin);
+    String token = jwtUtil.generateToken(admin.getEmail(), "ADMIN", admin.getTokenVersion());
+
+    mockMvc
+        .perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(content().string(Matchers.containsString("service_calls_seconds_bucket")))
+        .andExpect(content().string(Matchers.containsString("hikaricp_connections_active")))
+        .andExpect(content().string(Matchers.containsString("hibernate_statements_total")))
+        .andExpect(content().string(Matchers.containsString("spring_data_repository_invocations")));
+  }
+
+  @Test
+  void prometheusEndpointRejectsAnonymousScrapesOnTheApplicationPort() throws Exception {
+    mockMvc
+        .perform(
+            get("/actuator/prometheus")
+                .with(
+                    request -> {
+                      request.setRemoteAddr("10.1.2.3");
+                      return request;
+                    }))
+        .andExpect(status().is4xxClientError());
+  }
+
+  @Test
+  void loopbackAddressesAreNotTrusted() throws Exception {
+    // A reverse proxy on the same host forwards every request from the loopback address
+    mockMvc
+        .perform(
+            get("/actuator/prometheus")
+                .with(
+                    request -> {
+                      request.setRemoteAddr("127.0.0.1");
+                      return request;
+                    }))
+        .andExpect(status().is4xxClientError());
+  }
+}
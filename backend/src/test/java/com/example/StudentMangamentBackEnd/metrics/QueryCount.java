@@ -0,0 +1,43 @@
+package com.example.StudentMangamentBackEnd.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+// MockMvc matchers over the SqlStatistics that SqlStatisticsFilter leaves on the request, e.g.
+// mockMvc.perform(get("/api/students/1")).andExpect(assertQueryCount(1))
+public final class QueryCount {
+
+  private QueryCount() {}
+
+  // Fails when the request ran more than budget statements
+  public static ResultMatcher assertQueryCount(int budget) {
+    return result -> {
+      SqlStatistics statistics = statisticsOf(result);
+      assertThat(statistics.getStatements())
+          .as(
+              "SQL statements of %s %s, by shape: %s",
+              result.getRequest().getMethod(),
+              result.getRequest().getRequestURI(),
+              statistics.getExecutionsByShape())
+          .isLessThanOrEqualTo(budget);
+    };
+  }
+
+  // Fails when any statement shape ran more than maxExecutions times (an N+1)
+  public static ResultMatcher assertNoRepeatedStatements(int maxExecutions) {
+    return result ->
+        assertThat(statisticsOf(result).getExecutionsByShape())
+            .as("SQL statements of %s", result.getRequest().getRequestURI())
+            .allSatisfy(
+                (shape, executions) -> assertThat(executions).isLessThanOrEqualTo(maxExecutions));
+  }
+
+  private static SqlStatistics statisticsOf(MvcResult result) {
+    SqlStatistics statistics =
+        (SqlStatistics) result.getRequest().getAttribute(SqlStatistics.REQUEST_ATTRIBUTE);
+    assertThat(statistics).as("SQL statistics of the request").isNotNull();
+    return statistics;
+  }
+}
@@ -0,0 +1,136 @@
+package com.example.StudentMangamentBackEnd.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.StudentMangamentBackEnd.model.Student;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ContextConfiguration;
+
+// Starts the application on a database that ddl-auto=update created before the migrations
+// existed: Flyway must baseline it at V1, the later versions must bring the schema up to the
+// mappings Hibernate validates, and the existing rows must survive. Flyway also records the
+// schema it created with a row of its own, which has no version.
+@SpringBootTest(properties = "spring.datasource.url=" + SchemaMigrationTest.URL)
+@ContextConfiguration(initializers = SchemaMigrationTest.LegacySchema.class)
+class SchemaMigrationTest {
+
+  static final String URL =
+      "jdbc:h2:mem:legacy-schema;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+  // A database the in-house migrator had brought to V3
+  private static final String IN_HOUSE_URL =
+      "jdbc:h2:mem:in-house-history;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+  @Autowired private StudentRepository studentRepository;
+  @Autowired private TeacherRepository teacherRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private Flyway flyway;
+
+  static class LegacySchema
+      implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+      try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+        ScriptUtils.executeSqlScript(
+            connection, new ClassPathResource("db/legacy/update-created-schema.sql"));
+      } catch (SQLException e) {
+        throw new IllegalStateException("Could not create the legacy schema", e);
+      }
+    }
+  }
+
+  @Test
+  void legacySchemaIsMigratedToTheMappedOne() {
+    assertThat(
+            jdbcTemplate.queryForList(
+                "select version from flyway_schema_history where version is not null"
+                    + " order by installed_rank",
+                String.class))
+        .containsExactly("1", "2", "3", "4");
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "select type from flyway_schema_history where version = '1'", String.class))
+        .isEqualTo("BASELINE");
+
+    Student student = studentRepository.findAll().get(0);
+    assertThat(student.getName()).isEqualTo("Grace Hopper");
+    assertThat(student.getVersion()).isZero();
+    assertThat(teacherRepository.findAll().get(0).getVersion()).isZero();
+    assertThat(teacherRepository.findAll().get(0).getTokenVersion()).isZero();
+
+    assertThat(
+            jdbcTemplate.queryForList(
+                "select index_name from information_schema.indexes"
+                    + " where table_schema = 'public'",
+                String.class))
+        .contains(
+            "idx_students_name",
+            "idx_teachers_name",
+            "idx_students_department_name",
+            "idx_students_grade",
+            "idx_students_enrollment_date");
+  }
+
+  @Test
+  void migratingAgainChangesNothing() {
+    assertThat(flyway.migrate().migrationsExecuted).isZero();
+
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "select count(*) from flyway_schema_history where version is not null",
+                Integer.class))
+        .isEqualTo(4);
+  }
+
+  @Test
+  void inHouseHistoryIsBaselinedAtItsNewestVersion() throws SQLException {
+    try (Connection connection = DriverManager.getConnection(IN_HOUSE_URL, "sa", "")) {
+      for (String script :
+          List.of(
+              "V1__baseline.sql",
+              "V2__student_filter_indexes.sql",
+              "V3__version_columns_and_name_indexes.sql")) {
+        ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/" + script));
+      }
+    }
+    JdbcTemplate inHouse = new JdbcTemplate(new DriverManagerDataSource(IN_HOUSE_URL, "sa", ""));
+    inHouse.execute(
+        "create table schema_history (version integer not null, description varchar(200) not"
+            + " null, checksum bigint not null, installed_on timestamp not null,"
+            + " primary key (version))");
+    for (int version = 1; version <= 3; version++) {
+      inHouse.update(
+          "insert into schema_history values (?, 'applied', 0, current_timestamp)", version);
+    }
+
+    new LegacySchemaHistory()
+        .migrate(
+            Flyway.configure().dataSource(IN_HOUSE_URL, "sa", "").baselineOnMigrate(true).load());
+
+    assertThat(
+            inHouse.queryForList(
+                "select version from flyway_schema_history where version is not null"
+                    + " order by installed_rank",
+                String.class))
+        .containsExactly("3", "4");
+    // V4's column exists only if V4 ran
+    assertThat(inHouse.queryForObject("select count(token_version) from teachers", Integer.class))
+        .isZero();
+  }
+}
@@ -0,0 +1,129 @@
+package com.example.StudentMangamentBackEnd.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.StudentMangamentBackEnd.DTO.student.StudentSuggestionDTO;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.projection.StudentNameRow;
+import com.example.StudentMangamentBackEnd.search.StudentNameIndex.Matches;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class StudentNameIndexTest {
+
+  private StudentRepository studentRepository;
+  private StudentNameIndex index;
+
+  @BeforeEach
+  void setUp() {
+    studentRepository = mock(StudentRepository.class);
+    when(studentRepository.findAllNames())
+        .thenReturn(
+            List.of(
+                new StudentNameRow(1L, "Anna Smith"),
+                new StudentNameRow(2L, "Hannah Anders"),
+                new StudentNameRow(3L, "Joanna Brown"),
+                new StudentNameRow(4L, "Ann"),
+                new StudentNameRow(5L, "Bob Annandale")));
+    index = new StudentNameIndex(studentRepository, true, Duration.ofMinutes(5));
+    index.rebuild();
+  }
+
+  @Test
+  void substringSearchMatchesLikeContainingIgnoreCase() {
+    assertThat(index.search("ANN", Sort.by("id"))).containsExactly(1L, 2L, 3L, 4L, 5L);
+    assertThat(index.search("nna", Sort.by("id"))).containsExactly(1L, 2L, 3L, 5L);
+    assertThat(index.search("xyz", Sort.by("id"))).isEmpty();
+    assertThat(index.search("a", Sort.by(Sort.Direction.DESC, "id"))).startsWith(5L, 4L);
+  }
+
+  @Test
+  void relevanceRanksExactThenPrefixThenWordPrefixThenSubstring() {
+    assertThat(index.search("ann", Sort.by("relevance"))).containsExactly(4L, 1L, 5L, 2L, 3L);
+  }
+
+  @Test
+  void pagesAreCutFromTheMatchesWithTheirTotal() {
+    // Up to three characters the gram postings are the matches, longer queries are verified
+    assertThat(index.search("an", Sort.by("id"), 1, 2)).isEqualTo(new Matches(List.of(2L, 3L), 5));
+    assertThat(index.search("AN", Sort.by(Sort.Direction.DESC, "id"), 1, 2))
+        .isEqualTo(new Matches(List.of(4L, 3L), 5));
+    assertThat(index.search("anna", Sort.by("id"), 2, 2))
+        .isEqualTo(new Matches(List.of(3L, 5L), 4));
+    assertThat(index.search("ann", Sort.by("name"), 1, 2))
+        .isEqualTo(new Matches(List.of(1L, 5L), 5));
+    assertThat(index.search("ann", Sort.by("relevance"), 3, 5))
+        .isEqualTo(new Matches(List.of(2L, 3L), 5));
+    // Read off the names in order: the exact and prefix matches, and a dense match by name
+    assertThat(index.search("ann", Sort.by("relevance"), 0, 2))
+        .isEqualTo(new Matches(List.of(4L, 1L), 5));
+    assertThat(index.search("n", Sort.by(Sort.Direction.DESC, "name"), 0, 2))
+        .isEqualTo(new Matches(List.of(3L, 2L), 5));
+    assertThat(index.search("ann", Sort.by("id"), 10, 2)).isEqualTo(new Matches(List.of(), 5));
+    assertThat(index.search("q", Sort.by("id"), 0, 2)).isEqualTo(new Matches(List.of(), 0));
+  }
+
+  @Test
+  void unsupportedSortIsLeftToTheDatabase() {
+    assertThat(index.search("ann", Sort.by("department"))).isNull();
+  }
+
+  @Test
+  void updatesAndRemovalsAreReflected() {
+    index.put(1, "Zoe Smith");
+    index.remove(3);
+
+    assertThat(index.search("ann", Sort.by("id"))).containsExactly(2L, 4L, 5L);
+    assertThat(index.search("zoe", Sort.by("id"))).containsExactly(1L);
+    assertThat(index.search("z", Sort.by("id"))).containsExactly(1L);
+    assertThat(index.search("jo", Sort.by("id"))).isEmpty();
+  }
+
+  @Test
+  void reconcileAppliesWritesMadeElsewhereButKeepsConcurrentLocalOnes() {
+    when(studentRepository.findAllNames())
+        .thenAnswer(
+            invocation -> {
+              // Committed here while the table is being read, so the rows below predate it
+              index.put(7, "Anne Lee");
+              return List.of(
+                  new StudentNameRow(1L, "Zoe Smith"),
+                  new StudentNameRow(2L, "Hannah Anders"),
+                  new StudentNameRow(4L, "Ann"),
+                  new StudentNameRow(5L, "Bob Annandale"),
+                  new StudentNameRow(6L, "Annika Berg"));
+            });
+
+    index.reconcile();
+
+    assertThat(index.search("ann", Sort.by("id"))).containsExactly(2L, 4L, 5L, 6L, 7L);
+    assertThat(index.search("zoe", Sort.by("id"))).containsExactly(1L);
+    assertThat(index.isReady()).isTrue();
+  }
+
+  @Test
+  void indexOlderThanMaxAgeIsNotUsed() {
+    StudentNameIndex stale = new StudentNameIndex(studentRepository, true, Duration.ZERO);
+    assertThat(stale.isReady()).isFalse();
+
+    stale.rebuild();
+
+    assertThat(stale.isReady()).isFalse();
+    assertThat(index.isReady()).isTrue();
+  }
+
+  @Test
+  void suggestReturnsNamePrefixesBeforeWordPrefixes() {
+    assertThat(index.suggest("an", 10))
+        .extracting(StudentSuggestionDTO::getId)
+        .containsExactly(4L, 1L, 5L, 2L);
+    assertThat(index.suggest("anna s", 10))
+        .extracting(StudentSuggestionDTO::getName)
+        .containsExactly("Anna Smith");
+  }
+}
@@ -0,0 +1,123 @@
+package com.example.StudentMangamentBackEnd.security;
+
+import static com.example.StudentMangamentBackEnd.metrics.QueryCount.assertQueryCount;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherRequestDTO;
+import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherResponseDTO;
+import com.example.StudentMangamentBackEnd.Services.teacher.TeacherService;
+import com.example.StudentMangamentBackEnd.model.Admin;
+import com.example.StudentMangamentBackEnd.repository.AdminRepository;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class JwtAuthenticationFilterTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private JwtUtil jwtUtil;
+  @Autowired private TeacherService teacherService;
+  @Autowired private TeacherRepository teacherRepository;
+  @Autowired private AdminRepository adminRepository;
+
+  private TeacherResponseDTO teacher;
+
+  @BeforeEach
+  void setUp() {
+    teacher = teacherService.createTeacher(teacher("ada@school.test"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    teacherRepository.deleteAllInBatch();
+    adminRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void tokensIssuedBeforeAPasswordChangeAreRejected() throws Exception {
+    String token = jwtUtil.generateToken(teacher.getEmail(), "TEACHER", 0);
+    getTeacher(token).andExpect(status().isOk());
+
+    TeacherRequestDTO update = teacher(teacher.getEmail());
+    update.setPassword("changed");
+    teacherService.updateTeacher(teacher.getId(), update);
+
+    getTeacher(token).andExpect(status().isForbidden());
+    getTeacher(jwtUtil.generateToken(teacher.getEmail(), "TEACHER", 1)).andExpect(status().isOk());
+  }
+
+  @Test
+  void rolledBackUpdateRevokesNothing() throws Exception {
+    String token = jwtUtil.generateToken(teacher.getEmail(), "TEACHER", 0);
+    getTeacher(token).andExpect(status().isOk());
+    teacherService.createTeacher(teacher("taken@school.test"));
+
+    // The duplicate email fails the transaction after the version was bumped
+    assertThatThrownBy(
+            () -> teacherService.updateTeacher(teacher.getId(), teacher("taken@school.test")))
+        .isInstanceOf(DataIntegrityViolationException.class);
+
+    getTeacher(token).andExpect(status().isOk());
+  }
+
+  @Test
+  void tokensOfADeletedTeacherAreRejected() throws Exception {
+    String token = jwtUtil.generateToken(teacher.getEmail(), "TEACHER", 0);
+    getTeacher(token).andExpect(status().isOk());
+
+    teacherService.deleteTeacher(teacher.getId());
+
+    mockMvc
+        .perform(get("/api/students").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void authenticatedRequestsRunNoAuthQueries() throws Exception {
+    Admin admin = new Admin();
+    admin.setName("Admin");
+    admin.setEmail("admin@school.test");
+    admin.setPassword("secret");
+    adminRepository.save(admin);
+    String token = jwtUtil.generateToken(admin.getEmail(), "ADMIN", 0);
+
+    suggest(token).andExpect(status().isOk());
+    // Suggestions are served from the name index, so any statement would be authentication's
+    suggest(token).andExpect(status().isOk()).andExpect(assertQueryCount(0));
+  }
+
+  private ResultActions getTeacher(String token) throws Exception {
+    return mockMvc.perform(
+        get("/api/teachers/" + teacher.getId())
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+  }
+
+  private ResultActions suggest(String token) throws Exception {
+    return mockMvc.perform(
+        get("/api/students/suggest")
+            .param("prefix", "gra")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+  }
+
+  private static TeacherRequestDTO teacher(String email) {
+    TeacherRequestDTO dto = new TeacherRequestDTO();
+    dto.setName("Ada Lovelace");
+    dto.setEmail(email);
+    dto.setSubject("Math");
+    dto.setDepartment("Science");
+    dto.setPassword("secret");
+    return dto;
+  }
+}
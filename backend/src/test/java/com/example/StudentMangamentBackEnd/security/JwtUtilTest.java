@@ -0,0 +1,103 @@
+package com.example.StudentMangamentBackEnd.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.jsonwebtoken.ExpiredJwtException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class JwtUtilTest {
+
+  // The clock and the cache's ticker both read this time, so advancing it moves both
+  private final AtomicLong nanos = new AtomicLong();
+  private final Ticker ticker = nanos::get;
+  private final Clock clock = new TickerClock(Instant.now());
+
+  @Test
+  void repeatedTokensAreServedFromTheCacheWithoutVerifying() {
+    JwtUtil jwtUtil = new JwtUtil(100, clock, ticker);
+    String token = jwtUtil.generateToken("ada@school.test", "TEACHER", 2);
+
+    JwtClaims first = jwtUtil.parse(token);
+    JwtClaims second = jwtUtil.parse(token);
+
+    // Verifying builds new claims; a hit hands back the ones verified first
+    assertThat(second).isSameAs(first);
+    assertThat(first.email()).isEqualTo("ada@school.test");
+    assertThat(first.role()).isEqualTo("TEACHER");
+    assertThat(first.version()).isEqualTo(2);
+    assertThat(jwtUtil.getCacheMissCount()).isEqualTo(1);
+    assertThat(jwtUtil.getCacheHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void withoutTheCacheEveryParseVerifies() {
+    JwtUtil jwtUtil = new JwtUtil(0, clock, ticker);
+    String token = jwtUtil.generateToken("ada@school.test", "TEACHER", 0);
+
+    assertThat(jwtUtil.parse(token)).isNotSameAs(jwtUtil.parse(token));
+    assertThat(jwtUtil.getCacheHitCount()).isZero();
+  }
+
+  @Test
+  void cachedTokensExpireWithTheToken() {
+    JwtUtil jwtUtil = new JwtUtil(100, clock, ticker);
+    String token = jwtUtil.generateToken("ada@school.test", "TEACHER", 0);
+    jwtUtil.parse(token);
+
+    nanos.addAndGet(Duration.ofHours(23).toNanos());
+    jwtUtil.parse(token);
+    assertThat(jwtUtil.getCacheHitCount()).isEqualTo(1);
+
+    // Tokens are valid for a day; past that the entry is gone and verifying rejects the token
+    nanos.addAndGet(Duration.ofHours(2).toNanos());
+    assertThatThrownBy(() -> jwtUtil.parse(token)).isInstanceOf(ExpiredJwtException.class);
+    assertThat(jwtUtil.getCacheHitCount()).isEqualTo(1);
+    assertThat(jwtUtil.getCacheMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  void tokensFirstSeenLateStayCachedOnlyUntilTheyExpire() {
+    JwtUtil jwtUtil = new JwtUtil(100, clock, ticker);
+    String token = jwtUtil.generateToken("ada@school.test", "TEACHER", 0);
+
+    nanos.addAndGet(Duration.ofHours(20).toNanos());
+    jwtUtil.parse(token);
+
+    // Four hours of the day were left when it was cached, not another day
+    nanos.addAndGet(Duration.ofHours(5).toNanos());
+    assertThatThrownBy(() -> jwtUtil.parse(token)).isInstanceOf(ExpiredJwtException.class);
+    assertThat(jwtUtil.getCacheHitCount()).isZero();
+  }
+
+  private class TickerClock extends Clock {
+
+    private final Instant start;
+
+    TickerClock(Instant start) {
+      this.start = start;
+    }
+
+    @Override
+    public Instant instant() {
+      return start.plusNanos(nanos.get());
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+  }
+}
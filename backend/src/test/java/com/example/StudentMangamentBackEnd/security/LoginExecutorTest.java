@@ -0,0 +1,70 @@
+package com.example.StudentMangamentBackEnd.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.StudentMangamentBackEnd.exception.ServiceUnavailableException;
+import com.example.StudentMangamentBackEnd.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class LoginExecutorTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CountDownLatch release = new CountDownLatch(1);
+  private LoginExecutor loginExecutor;
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    loginExecutor.shutdown();
+  }
+
+  @Test
+  void fullQueueIsRejectedImmediately() throws Exception {
+    loginExecutor = new LoginExecutor(meterRegistry, 1, 1, Duration.ofSeconds(5));
+    CompletableFuture<String> running = loginExecutor.submit(this::blockUntilReleased);
+    CompletableFuture<String> queued = loginExecutor.submit(() -> "queued");
+
+    assertThatThrownBy(() -> loginExecutor.submit(() -> "rejected"))
+        .isInstanceOf(TooManyRequestsException.class);
+    assertThat(meterRegistry.get("security.login.queued").gauge().value()).isEqualTo(1);
+
+    release.countDown();
+    assertThat(running.get()).isEqualTo("released");
+    assertThat(queued.get()).isEqualTo("queued");
+    assertThat(
+            meterRegistry
+                .get("security.login.rejected")
+                .tag("reason", "saturated")
+                .counter()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void loginWaitingPastTheTimeoutIsDropped() {
+    loginExecutor = new LoginExecutor(meterRegistry, 1, 1, Duration.ofMillis(100));
+    loginExecutor.submit(this::blockUntilReleased);
+    CompletableFuture<String> queued = loginExecutor.submit(() -> "queued");
+
+    assertThatThrownBy(queued::get)
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(ServiceUnavailableException.class);
+    assertThat(meterRegistry.get("security.login.queued").gauge().value()).isZero();
+  }
+
+  private String blockUntilReleased() {
+    try {
+      release.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return "released";
+  }
+}
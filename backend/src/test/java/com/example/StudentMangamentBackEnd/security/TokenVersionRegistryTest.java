@@ -0,0 +1,35 @@
+package com.example.StudentMangamentBackEnd.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.StudentMangamentBackEnd.model.Teacher;
+import com.example.StudentMangamentBackEnd.repository.AdminRepository;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class TokenVersionRegistryTest {
+
+  @Test
+  void changesInvalidateEveryCasingOfTheEmail() {
+    Teacher teacher = new Teacher();
+    TeacherRepository teacherRepository = mock(TeacherRepository.class);
+    // Like MySQL's case-insensitive collation
+    when(teacherRepository.findByEmail(anyString())).thenReturn(Optional.of(teacher));
+    TokenVersionRegistry registry =
+        new TokenVersionRegistry(
+            mock(AdminRepository.class), teacherRepository, 100, Duration.ofMinutes(1));
+
+    assertThat(registry.isCurrent("TEACHER", "Ada@School.test", 0)).isTrue();
+
+    teacher.setTokenVersion(1);
+    registry.changed("TEACHER", "ada@school.test");
+
+    assertThat(registry.isCurrent("TEACHER", "Ada@School.test", 0)).isFalse();
+    assertThat(registry.isCurrent("TEACHER", "ADA@SCHOOL.TEST", 1)).isTrue();
+  }
+}
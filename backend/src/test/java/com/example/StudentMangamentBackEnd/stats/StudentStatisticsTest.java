@@ -0,0 +1,131 @@
+package com.example.StudentMangamentBackEnd.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.StudentMangamentBackEnd.DTO.stats.StatsResponseDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentRequestDTO;
+import com.example.StudentMangamentBackEnd.DTO.student.StudentSelectionDTO;
+import com.example.StudentMangamentBackEnd.DTO.teacher.TeacherRequestDTO;
+import com.example.StudentMangamentBackEnd.Services.stats.StatsService;
+import com.example.StudentMangamentBackEnd.Services.student.StudentService;
+import com.example.StudentMangamentBackEnd.Services.teacher.TeacherService;
+import com.example.StudentMangamentBackEnd.repository.StudentRepository;
+import com.example.StudentMangamentBackEnd.repository.TeacherRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class StudentStatisticsTest {
+
+  @Autowired private StudentService studentService;
+  @Autowired private TeacherService teacherService;
+  @Autowired private StatsService statsService;
+  @Autowired private StudentStatistics studentStatistics;
+  @Autowired private StudentRepository studentRepository;
+  @Autowired private TeacherRepository teacherRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @BeforeEach
+  void setUp() {
+    // Other tests clean up with bulk deletes the counters never see
+    studentStatistics.reconcile();
+  }
+
+  @AfterEach
+  void tearDown() {
+    studentRepository.deleteAllInBatch();
+    teacherRepository.deleteAllInBatch();
+    studentStatistics.reconcile();
+  }
+
+  @Test
+  void countersFollowWritesAndMatchReconciliation() {
+    Long ada = teacherService.createTeacher(teacher("Ada", "ada@school.test")).getId();
+    Long alan = teacherService.createTeacher(teacher("Alan", "alan@school.test")).getId();
+    Long s1 = studentService.createStudent(student("S1", "Science", "A", ada)).getId();
+    Long s2 = studentService.createStudent(student("S2", "Science", "B", null)).getId();
+    Long s3 = studentService.createStudent(student("S3", "Arts", "A", alan)).getId();
+
+    studentService.updateStudent(s2, student("S2", "Arts", "B", alan));
+    studentService.removeTeacher(s1);
+    studentService.assignTeacher(s1, alan);
+    StudentSelectionDTO selection = new StudentSelectionDTO();
+    selection.setStudentIds(List.of(s1, s3));
+    studentService.assignTeacherToStudents(ada, selection);
+    teacherService.deleteTeacher(alan);
+    studentService.deleteStudent(s3);
+
+    StatsResponseDTO stats = statsService.getStats();
+    assertThat(stats.getStudents()).isEqualTo(2);
+    assertThat(stats.getTeachers()).isEqualTo(1);
+    assertThat(stats.getUnassignedStudents()).isEqualTo(1);
+    assertThat(stats.getStudentsByDepartment()).isEqualTo(Map.of("Science", 1L, "Arts", 1L));
+    assertThat(stats.getStudentsByGrade()).isEqualTo(Map.of("A", 1L, "B", 1L));
+    assertThat(stats.getStudentsByTeacher()).isEqualTo(Map.of(ada, 1L));
+
+    studentStatistics.reconcile();
+    StatsResponseDTO reconciled = statsService.getStats();
+    assertThat(reconciled.getStudentsByDepartment()).isEqualTo(stats.getStudentsByDepartment());
+    assertThat(reconciled.getStudentsByGrade()).isEqualTo(stats.getStudentsByGrade());
+    assertThat(reconciled.getStudentsByTeacher()).isEqualTo(stats.getStudentsByTeacher());
+    assertThat(reconciled.getUnassignedStudents()).isEqualTo(stats.getUnassignedStudents());
+  }
+
+  @Test
+  void bulkDeleteRebuildsTheCounters() {
+    studentService.createStudent(student("S1", "Science", "A", null));
+    studentService.createStudent(student("S2", "Science", "B", null));
+    studentService.createStudent(student("S3", "Arts", "A", null));
+
+    StudentSelectionDTO selection = new StudentSelectionDTO();
+    selection.setDepartment("Science");
+    studentService.deleteStudents(selection);
+
+    StatsResponseDTO stats = statsService.getStats();
+    assertThat(stats.getStudents()).isEqualTo(1);
+    assertThat(stats.getStudentsByDepartment()).isEqualTo(Map.of("Arts", 1L));
+  }
+
+  @Test
+  void readsDoNotQueryTheDatabase() {
+    studentService.createStudent(student("S1", "Science", "A", null));
+    statsService.getStats();
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    for (int i = 0; i < 100; i++) {
+      statsService.getStats();
+    }
+
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  private static TeacherRequestDTO teacher(String name, String email) {
+    TeacherRequestDTO dto = new TeacherRequestDTO();
+    dto.setName(name);
+    dto.setEmail(email);
+    dto.setSubject("Math");
+    dto.setPassword("secret");
+    return dto;
+  }
+
+  private static StudentRequestDTO student(
+      String studentId, String department, String grade, Long teacherId) {
+    StudentRequestDTO dto = new StudentRequestDTO();
+    dto.setName("Student " + studentId);
+    dto.setEmail(studentId.toLowerCase() + "@school.test");
+    dto.setStudentId(studentId);
+    dto.setDepartment(department);
+    dto.setGrade(grade);
+    dto.setTeacherId(teacherId);
+    return dto;
+  }
+}
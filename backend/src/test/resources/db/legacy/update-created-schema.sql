@@ -0,0 +1,55 @@
+-- The schema ddl-auto=update created before the versioned migrations (commit 984bec5), in the
+-- shape Hibernate emits it. Constraint names are left to the database, like Hibernate's generated
+-- ones they differ from the V1 names.
+
+create table admins (
+  id bigint not null auto_increment,
+  email varchar(255) not null,
+  name varchar(255),
+  password varchar(255) not null,
+  primary key (id)
+);
+
+create table teachers (
+  id bigint not null auto_increment,
+  address varchar(255),
+  age integer,
+  department varchar(255),
+  email varchar(255),
+  name varchar(255),
+  password varchar(255) not null,
+  phone varchar(255),
+  subject varchar(255),
+  primary key (id)
+);
+
+create table students (
+  id bigint not null auto_increment,
+  address varchar(255),
+  age integer,
+  department varchar(255),
+  email varchar(255),
+  enrollment_date date,
+  grade varchar(255),
+  name varchar(255),
+  phone varchar(255),
+  student_id varchar(255),
+  teacher_id bigint,
+  primary key (id)
+);
+
+alter table admins add unique (email);
+
+alter table teachers add unique (email);
+
+alter table students add unique (email);
+
+alter table students add unique (student_id);
+
+alter table students add foreign key (teacher_id) references teachers (id);
+
+insert into teachers (id, email, name, password, subject)
+values (1, 'ada@school.test', 'Ada Lovelace', 'secret', 'Math');
+
+insert into students (id, department, email, name, student_id, teacher_id)
+values (1, 'Science', 'grace@school.test', 'Grace Hopper', 'S1', 1);